@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.benchmarks;
+
+import org.commonjava.maven.ext.common.ManipulationException;
+import org.commonjava.maven.ext.common.model.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing of a reactor by {@link org.commonjava.maven.ext.io.PomIO}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class PomIOBenchmark
+    extends ReactorState
+{
+    @Benchmark
+    public List<Project> parseProject() throws ManipulationException
+    {
+        return pomIO.parseProject( pom );
+    }
+
+    /**
+     * Writing of every project of the reactor, which is parsed again before each invocation.
+     */
+    @State( Scope.Benchmark )
+    @BenchmarkMode( Mode.AverageTime )
+    @OutputTimeUnit( TimeUnit.MILLISECONDS )
+    @Warmup( iterations = 5 )
+    @Measurement( iterations = 10 )
+    @Fork( 1 )
+    public static class Rewrite
+        extends ReactorState
+    {
+        private Set<Project> changed;
+
+        @Setup( Level.Invocation )
+        public void resetReactor() throws ManipulationException
+        {
+            changed = new HashSet<>( parse() );
+        }
+
+        @Benchmark
+        public void rewritePOMs() throws ManipulationException
+        {
+            pomIO.rewritePOMs( changed );
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.benchmarks;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.ext.common.ManipulationException;
+import org.commonjava.maven.ext.common.json.PME;
+import org.commonjava.maven.ext.common.model.Project;
+import org.commonjava.maven.ext.common.util.ProjectComparator;
+import org.commonjava.maven.ext.common.util.WildcardMap;
+import org.commonjava.maven.ext.integrationtest.ReactorGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparison of a reactor before and after alignment to produce the report. Every project version, version property
+ * and explicit dependency version is aligned.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class ProjectComparatorBenchmark
+    extends ReactorState
+{
+    private final WildcardMap<ProjectVersionRef> relocations = new WildcardMap<>();
+
+    private List<Project> original;
+
+    private List<Project> aligned;
+
+    @Override
+    protected void prepare() throws ManipulationException
+    {
+        original = pomIO.parseProject( pom );
+        aligned = parse();
+
+        for ( Project project : aligned )
+        {
+            final Model model = project.getModel();
+            final List<Dependency> declared = new ArrayList<>( model.getDependencies() );
+            if ( model.getDependencyManagement() != null )
+            {
+                declared.addAll( model.getDependencyManagement().getDependencies() );
+            }
+
+            model.setVersion( align( project.getVersion() ) );
+            model.getProperties().replaceAll( ( k, v ) -> align( (String) v ) );
+            declared.stream()
+                    .filter( d -> d.getVersion() != null && !d.getVersion().startsWith( "$" ) )
+                    .forEach( d -> d.setVersion( align( d.getVersion() ) ) );
+        }
+    }
+
+    @Benchmark
+    public String compareProjects() throws ManipulationException
+    {
+        return ProjectComparator.compareProjects( session, new PME(), relocations, original, aligned );
+    }
+
+    private static String align( String version )
+    {
+        return version + '.' + ReactorGenerator.SUFFIX;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.benchmarks;
+
+import org.apache.commons.io.FileUtils;
+import org.commonjava.maven.ext.common.ManipulationException;
+import org.commonjava.maven.ext.common.model.Project;
+import org.commonjava.maven.ext.core.ManipulationSession;
+import org.commonjava.maven.ext.core.fixture.TestUtils;
+import org.commonjava.maven.ext.core.state.DependencyState;
+import org.commonjava.maven.ext.core.state.VersioningState;
+import org.commonjava.maven.ext.integrationtest.ReactorGenerator;
+import org.commonjava.maven.ext.io.PomIO;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Base state for the benchmarks that operate upon a reactor. The reactor is generated by {@link ReactorGenerator}
+ * once per trial into a temporary directory, together with a session configured for REST alignment. Subclasses
+ * prepare their own state in {@link #prepare()} rather than in another trial setup, as the order of the setup methods
+ * of a class hierarchy is unspecified.
+ */
+@State( Scope.Benchmark )
+public abstract class ReactorState
+{
+    @Param( { "10", "100" } )
+    public int modules;
+
+    @Param( { "500" } )
+    public int dependencies;
+
+    @Param( { "50" } )
+    public int dependenciesPerModule;
+
+    @Param( { "1" } )
+    public int inheritanceDepth;
+
+    @Param( { "0" } )
+    public int profiles;
+
+    protected ReactorGenerator generator;
+
+    protected File directory;
+
+    protected File pom;
+
+    protected ManipulationSession session;
+
+    protected PomIO pomIO;
+
+    @Setup( Level.Trial )
+    public void createReactor() throws IOException, ManipulationException
+    {
+        directory = Files.createTempDirectory( "pme-benchmark" ).toFile();
+        generator = new ReactorGenerator().modules( modules )
+                                          .managedDependencies( dependencies )
+                                          .dependenciesPerModule( dependenciesPerModule )
+                                          .inheritanceDepth( inheritanceDepth )
+                                          .profiles( profiles );
+        pom = generator.generate( directory );
+
+        final Properties p = new Properties();
+        p.setProperty( DependencyState.DEPENDENCY_SOURCE, "REST" );
+        p.setProperty( VersioningState.INCREMENT_SERIAL_SUFFIX_SYSPROP, "redhat" );
+
+        session = TestUtils.createSession( p, pom );
+        pomIO = new PomIO();
+
+        prepare();
+    }
+
+    /**
+     * Called once the reactor has been created to prepare the state of the benchmark.
+     *
+     * @throws ManipulationException if an error occurs
+     */
+    protected void prepare() throws ManipulationException
+    {
+    }
+
+    @TearDown( Level.Trial )
+    public void deleteReactor() throws IOException
+    {
+        FileUtils.deleteDirectory( directory );
+    }
+
+    /**
+     * Parses the reactor and sets it as the projects of the session.
+     *
+     * @return the projects
+     * @throws ManipulationException if an error occurs
+     */
+    protected List<Project> parse() throws ManipulationException
+    {
+        final List<Project> projects = pomIO.parseProject( pom );
+        session.setProjects( projects );
+        return projects;
+    }
+}
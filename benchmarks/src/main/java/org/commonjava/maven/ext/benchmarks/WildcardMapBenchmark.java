@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.benchmarks;
+
+import org.commonjava.maven.atlas.ident.ref.ProjectRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectRef;
+import org.commonjava.maven.ext.common.util.WildcardMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in a {@link WildcardMap} as used for relocations and removals. Half of the lookups miss.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class WildcardMapBenchmark
+{
+    @Param( { "100", "10000" } )
+    public int size;
+
+    @Param( { "0.1" } )
+    public double wildcards;
+
+    private final WildcardMap<String> map = new WildcardMap<>();
+
+    private final List<ProjectRef> lookups = new ArrayList<>();
+
+    @Setup( Level.Trial )
+    public void createMap()
+    {
+        // Ten artifacts per group ; a proportion of the groups are mapped through a wildcard.
+        final int step = (int) Math.max( 1, Math.round( 1 / wildcards ) );
+        for ( int i = 0; i < size; i++ )
+        {
+            final String groupId = "org.benchmark.group" + i / 10;
+            if ( ( i / 10 ) % step != 0 )
+            {
+                map.put( new SimpleProjectRef( groupId, "artifact-" + i ), "relocated" );
+            }
+            else if ( i % 10 == 0 )
+            {
+                map.put( new SimpleProjectRef( groupId, WildcardMap.WILDCARD ), "relocated" );
+            }
+            lookups.add( new SimpleProjectRef( groupId, "artifact-" + i ) );
+            lookups.add( new SimpleProjectRef( "org.benchmark.other" + i / 10, "artifact-" + i ) );
+        }
+    }
+
+    @Benchmark
+    public void get( Blackhole blackhole )
+    {
+        for ( ProjectRef ref : lookups )
+        {
+            blackhole.consume( map.get( ref ) );
+        }
+    }
+
+    @Benchmark
+    public void containsKey( Blackhole blackhole )
+    {
+        for ( ProjectRef ref : lookups )
+        {
+            blackhole.consume( map.containsKey( ref ) );
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package org.commonjava.maven.ext.benchmarks.jmh_generated;
+public class DependencyManipulatorBenchmark_jmhType extends DependencyManipulatorBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.commonjava.maven.ext.benchmarks.jmh_generated;
+public class PomIOBenchmark_Rewrite_jmhType extends PomIOBenchmark_Rewrite_jmhType_B3 {
+}
+
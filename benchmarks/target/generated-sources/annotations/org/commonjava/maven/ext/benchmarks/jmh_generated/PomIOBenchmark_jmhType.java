@@ -0,0 +1,4 @@
+package org.commonjava.maven.ext.benchmarks.jmh_generated;
+public class PomIOBenchmark_jmhType extends PomIOBenchmark_jmhType_B3 {
+}
+
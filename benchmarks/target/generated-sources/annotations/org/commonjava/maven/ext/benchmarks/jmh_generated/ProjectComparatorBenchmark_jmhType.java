@@ -0,0 +1,4 @@
+package org.commonjava.maven.ext.benchmarks.jmh_generated;
+public class ProjectComparatorBenchmark_jmhType extends ProjectComparatorBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.commonjava.maven.ext.benchmarks.jmh_generated;
+public class PropertyBenchmark_jmhType extends PropertyBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.commonjava.maven.ext.benchmarks.jmh_generated;
+public class VersionBenchmark_jmhType extends VersionBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.commonjava.maven.ext.benchmarks.jmh_generated;
+public class WildcardMapBenchmark_jmhType extends WildcardMapBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.benchmarks;
+
+import org.commonjava.maven.atlas.ident.ref.ArtifactRef;
+import org.commonjava.maven.ext.common.ManipulationException;
+import org.commonjava.maven.ext.common.model.Project;
+import org.commonjava.maven.ext.core.impl.DependencyManipulator;
+import org.commonjava.maven.ext.core.state.DependencyState;
+import org.commonjava.maven.ext.io.ModelIO;
+import org.commonjava.maven.ext.io.resolver.GalleyAPIWrapper;
+import org.commonjava.maven.ext.io.resolver.GalleyInfrastructure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alignment of the dependencies of a reactor to a REST override set, through
+ * {@link DependencyManipulator#applyChanges(List)} which applies the overrides to the managed and direct dependencies
+ * of every project. The reactor is parsed again before each invocation as the alignment modifies it.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class DependencyManipulatorBenchmark
+    extends ReactorState
+{
+    @Param( { "0.1", "1" } )
+    public double coverage;
+
+    private DependencyManipulator manipulator;
+
+    private Map<ArtifactRef, String> overrides;
+
+    private List<Project> projects;
+
+    @Override
+    protected void prepare() throws ManipulationException
+    {
+        final GalleyInfrastructure galleyInfra =
+                        new GalleyInfrastructure( session, null ).init( null, null, new File( directory, "cache" ) );
+        final GalleyAPIWrapper wrapper = new GalleyAPIWrapper( galleyInfra );
+
+        manipulator = new DependencyManipulator( new ModelIO( wrapper ), wrapper );
+        manipulator.init( session );
+        overrides = ReactorGenerator.overrides( dependencies, coverage );
+    }
+
+    @Setup( Level.Invocation )
+    public void resetReactor() throws ManipulationException
+    {
+        projects = parse();
+        session.getState( DependencyState.class ).setRemoteRESTOverrides( new LinkedHashMap<>( overrides ) );
+    }
+
+    @Benchmark
+    public Set<Project> applyOverrides() throws ManipulationException
+    {
+        return manipulator.applyChanges( projects );
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.benchmarks;
+
+import org.apache.maven.model.Dependency;
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.ext.common.ManipulationException;
+import org.commonjava.maven.ext.common.model.Project;
+import org.commonjava.maven.ext.common.util.PropertyResolver;
+import org.commonjava.maven.ext.core.util.PropertiesUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of the dependency versions of every project through the inherited properties, and the strict alignment
+ * check of the new versions.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class PropertyBenchmark
+    extends ReactorState
+{
+    private final List<Project> owners = new ArrayList<>();
+
+    private final List<String> values = new ArrayList<>();
+
+    private final List<String[]> changes = new ArrayList<>();
+
+    @Override
+    protected void prepare() throws ManipulationException
+    {
+        for ( Project project : parse() )
+        {
+            final List<Dependency> declared = new ArrayList<>( project.getModel().getDependencies() );
+            if ( project.getModel().getDependencyManagement() != null )
+            {
+                declared.addAll( project.getModel().getDependencyManagement().getDependencies() );
+            }
+            for ( Dependency d : declared )
+            {
+                if ( d.getVersion() != null )
+                {
+                    owners.add( project );
+                    values.add( d.getVersion() );
+                }
+            }
+        }
+        for ( ProjectVersionRef d : ReactorGenerator.dependencies( dependencies ) )
+        {
+            final String version = d.getVersionString();
+            changes.add( new String[] { version, version + '.' + ReactorGenerator.SUFFIX } );
+            changes.add( new String[] { version + ".redhat-00001", version + ".redhat-00002" } );
+            changes.add( new String[] { version, "9.9.9." + ReactorGenerator.SUFFIX } );
+        }
+    }
+
+    @Benchmark
+    public void resolveInheritedProperties( Blackhole blackhole ) throws ManipulationException
+    {
+        for ( int i = 0; i < values.size(); i++ )
+        {
+            blackhole.consume( PropertyResolver.resolveInheritedProperties( session, owners.get( i ), values.get( i ) ) );
+        }
+    }
+
+    @Benchmark
+    public void checkStrictValue( Blackhole blackhole )
+    {
+        for ( String[] change : changes )
+        {
+            blackhole.consume( PropertiesUtils.checkStrictValue( session, change[0], change[1] ) );
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.benchmarks;
+
+import org.commonjava.maven.atlas.ident.ref.ArtifactRef;
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleArtifactRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates reactors and override sets for the benchmarks. The output only depends upon the parameters so that results
+ * are comparable between runs.
+ * <p>
+ * The root POM manages every dependency, half of them through version properties, and each module depends upon a
+ * window of the dependencies, half of them with an explicit version (again half of those through the inherited
+ * properties) and the rest through the dependency management.
+ */
+public final class ReactorGenerator
+{
+    public static final String GROUP_ID = "org.benchmark";
+
+    public static final String SUFFIX = "redhat-00001";
+
+    private ReactorGenerator()
+    {
+    }
+
+    /**
+     * @param count the number of dependencies
+     * @return the dependencies used by a generated reactor
+     */
+    public static List<ProjectVersionRef> dependencies( int count )
+    {
+        final List<ProjectVersionRef> result = new ArrayList<>( count );
+        for ( int i = 0; i < count; i++ )
+        {
+            result.add( new SimpleProjectVersionRef( GROUP_ID + ".dep" + ( i % 17 ), "dep-" + i,
+                                                     ( i % 5 + 1 ) + "." + ( i % 7 ) + ".0" ) );
+        }
+        return result;
+    }
+
+    /**
+     * Creates an override set that aligns a proportion of the dependencies to the {@link #SUFFIX}.
+     *
+     * @param count the number of dependencies
+     * @param coverage the proportion of the dependencies to align, between 0 and 1
+     * @return the overrides
+     */
+    public static Map<ArtifactRef, String> overrides( int count, double coverage )
+    {
+        final Map<ArtifactRef, String> result = new LinkedHashMap<>();
+        final int step = coverage <= 0 ? Integer.MAX_VALUE : (int) Math.max( 1, Math.round( 1 / coverage ) );
+        final List<ProjectVersionRef> dependencies = dependencies( count );
+
+        for ( int i = 0; i < count; i += step )
+        {
+            final ProjectVersionRef d = dependencies.get( i );
+            result.put( new SimpleArtifactRef( d, "jar", null ), d.getVersionString() + '.' + SUFFIX );
+        }
+        return result;
+    }
+
+    /**
+     * Writes a reactor.
+     *
+     * @param directory the directory to write the reactor into
+     * @param modules the number of modules
+     * @param dependencies the number of managed dependencies
+     * @param dependenciesPerModule the number of dependencies of each module
+     * @return the root POM
+     * @throws IOException if an error occurs
+     */
+    public static File generate( File directory, int modules, int dependencies, int dependenciesPerModule )
+                    throws IOException
+    {
+        final List<ProjectVersionRef> deps = dependencies( dependencies );
+        final StringBuilder root = new StringBuilder();
+
+        header( root, "<packaging>pom</packaging>", "reactor", null );
+        root.append( "  <modules>\n" );
+        for ( int m = 0; m < modules; m++ )
+        {
+            root.append( "    <module>module-" ).append( m ).append( "</module>\n" );
+        }
+        root.append( "  </modules>\n  <properties>\n" );
+        for ( int i = 0; i < deps.size(); i += 2 )
+        {
+            root.append( "    <version." ).append( deps.get( i ).getArtifactId() ).append( '>' )
+                .append( deps.get( i ).getVersionString() )
+                .append( "</version." ).append( deps.get( i ).getArtifactId() ).append( ">\n" );
+        }
+        root.append( "  </properties>\n  <dependencyManagement>\n    <dependencies>\n" );
+        for ( int i = 0; i < deps.size(); i++ )
+        {
+            dependency( root, deps.get( i ), version( deps.get( i ), i ), "      " );
+        }
+        root.append( "    </dependencies>\n  </dependencyManagement>\n</project>\n" );
+        write( new File( directory, "pom.xml" ), root );
+
+        for ( int m = 0; m < modules; m++ )
+        {
+            final StringBuilder module = new StringBuilder();
+            final String parent = "  <parent>\n    <groupId>" + GROUP_ID + "</groupId>\n"
+                            + "    <artifactId>reactor</artifactId>\n    <version>1.0</version>\n  </parent>\n";
+
+            header( module, "", "module-" + m, parent );
+            module.append( "  <dependencies>\n" );
+            for ( int j = 0; j < Math.min( dependenciesPerModule, deps.size() ); j++ )
+            {
+                final int i = ( m * 7 + j ) % deps.size();
+                // Modules with an odd index declare the version rather than using the managed one.
+                dependency( module, deps.get( i ), m % 2 == 1 ? version( deps.get( i ), i ) : null, "    " );
+            }
+            module.append( "  </dependencies>\n</project>\n" );
+
+            final File moduleDirectory = new File( directory, "module-" + m );
+            Files.createDirectories( moduleDirectory.toPath() );
+            write( new File( moduleDirectory, "pom.xml" ), module );
+        }
+        return new File( directory, "pom.xml" );
+    }
+
+    private static String version( ProjectVersionRef d, int i )
+    {
+        return i % 2 == 0 ? "${version." + d.getArtifactId() + '}' : d.getVersionString();
+    }
+
+    private static void header( StringBuilder pom, String packaging, String artifactId, String parent )
+    {
+        pom.append( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" )
+           .append( "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" )
+           .append( "  <modelVersion>4.0.0</modelVersion>\n" );
+        if ( parent != null )
+        {
+            pom.append( parent );
+        }
+        pom.append( "  <groupId>" ).append( GROUP_ID ).append( "</groupId>\n" )
+           .append( "  <artifactId>" ).append( artifactId ).append( "</artifactId>\n" )
+           .append( "  <version>1.0</version>\n" );
+        if ( !packaging.isEmpty() )
+        {
+            pom.append( "  " ).append( packaging ).append( '\n' );
+        }
+    }
+
+    private static void dependency( StringBuilder pom, ProjectVersionRef d, String version, String indent )
+    {
+        pom.append( indent ).append( "<dependency>\n" )
+           .append( indent ).append( "  <groupId>" ).append( d.getGroupId() ).append( "</groupId>\n" )
+           .append( indent ).append( "  <artifactId>" ).append( d.getArtifactId() ).append( "</artifactId>\n" );
+        if ( version != null )
+        {
+            pom.append( indent ).append( "  <version>" ).append( version ).append( "</version>\n" );
+        }
+        pom.append( indent ).append( "</dependency>\n" );
+    }
+
+    private static void write( File file, StringBuilder content ) throws IOException
+    {
+        Files.write( file.toPath(), content.toString().getBytes( StandardCharsets.UTF_8 ) );
+    }
+}
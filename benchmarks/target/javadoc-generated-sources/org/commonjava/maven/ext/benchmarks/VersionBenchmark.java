@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.benchmarks;
+
+import org.commonjava.maven.ext.core.impl.Version;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the version components and appending of the qualifier suffix, which are performed for every
+ * project and dependency version.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class VersionBenchmark
+{
+    @Param( { "1.0", "1.2.3.Final", "2.3.4-SNAPSHOT", "1.0.0.redhat-00001", "3.2.1.Final-temporary-redhat-00005" } )
+    public String version;
+
+    @Param( { "redhat-00002" } )
+    public String suffix;
+
+    @Benchmark
+    public void parse( Blackhole blackhole )
+    {
+        blackhole.consume( Version.getMMM( version ) );
+        blackhole.consume( Version.getQualifier( version ) );
+        blackhole.consume( Version.getBuildNumber( version ) );
+        blackhole.consume( Version.isSnapshot( version ) );
+    }
+
+    @Benchmark
+    public String appendQualifierSuffix()
+    {
+        return Version.appendQualifierSuffix( version, suffix );
+    }
+}
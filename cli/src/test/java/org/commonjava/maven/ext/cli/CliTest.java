@@ -296,7 +296,7 @@ public class CliTest
         String cliOutput = systemOutRule.getLogWithNormalizedLineSeparator().replaceAll( "org.commonjava.maven.ext:pom-manipulation-.*\\n", "" );
         System.out.println(cliOutput);
 
-        assertTrue( cliOutput.contains( "Found 83" ) );
+        assertTrue( cliOutput.contains( "Found 85" ) );
         assertTrue( cliOutput.matches( "(?s).*"
                 + "ch.qos.logback:logback-classic:1.[.\\d+]+\\s+                                   jar                                     compile             \n"
                 + "ch.qos.logback:logback-core:1.[.\\d+]+\\s+                                      jar                                     compile             \n"
@@ -363,6 +363,8 @@ public class CliTest
                 + "org.jboss.byteman:byteman-bmunit:4[.\\d+]+\\s+                                  jar                                     test                \n"
                 + "org.jboss.da:reports-model:2.[.\\d+]+\\s+                                       jar                                     compile             \n"
                 + "org.jdom:jdom2:2.[.\\d+]+\\s+                                                   jar                                     compile             \n"
+                + "org.openjdk.jmh:jmh-core:1.[.\\d+]+\\s+                                         jar                                     compile             \n"
+                + "org.openjdk.jmh:jmh-generator-annprocess:1.[.\\d+]+\\s+                         jar                                     provided            \n"
                 + "org.projectlombok:lombok:1.[.\\d+]+\\s+                                         jar                                     provided            \n"
                 + "org.projectlombok:lombok-maven-plugin:1.[.\\d+]+\\s+                            maven-plugin                                                \n"
                 + "org.slf4j:slf4j-api:2.[.\\d+]+\\s+                                              jar                                     compile             \n"
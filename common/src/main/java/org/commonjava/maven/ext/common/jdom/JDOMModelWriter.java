@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.common.jdom;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.maven.model.Model;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.xml.XmlStreamReader;
+import org.codehaus.plexus.util.xml.XmlStreamWriter;
+import org.jdom2.CDATA;
+import org.jdom2.Comment;
+import org.jdom2.Document;
+import org.jdom2.JDOMException;
+import org.jdom2.filter.Filters;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Format preserving POM writer. The POM is parsed into a JDOM {@link Document}, the {@link Model} is applied to it via
+ * {@link JDOMModelConverter} and the result is serialised along with the original content before (intro) and after
+ * (outtro) the root element.
+ * <p>
+ * This follows the approach of the maven-release-manager JDomModelETL without requiring a MavenProject or
+ * ReleaseDescriptor, or reflective access to its private document and outtro.
+ */
+public class JDOMModelWriter
+{
+    private static final Pattern EOL = Pattern.compile( "(\r\n)|(\n)|(\r)" );
+
+    private static final String WHITESPACE = "\\s++";
+
+    private static final String PROCESSING_INSTRUCTION = "<\\?(?:(?:[^\"'>]++)|(?:\"[^\"]*+\")|(?:'[^']*+'))*+>";
+
+    private static final String INTERNAL_SUBSET = "\\[(?:(?:[^\"'\\]]++)|(?:\"[^\"]*+\")|(?:'[^']*+'))*+\\]";
+
+    private static final String DOCTYPE =
+                    "<!DOCTYPE(?:(?:[^\"'\\[>]++)|(?:\"[^\"]*+\")|(?:'[^']*+')|(?:" + INTERNAL_SUBSET + "))*+>";
+
+    private static final String COMMENT = "<!--(?:[^-]|(?:-[^-]))*+-->";
+
+    private static final String INTRO = "(?:(?:" + WHITESPACE + ")|(?:" + PROCESSING_INSTRUCTION + ")|(?:" + DOCTYPE
+                    + ")|(?:" + COMMENT + ")|(?:" + PROCESSING_INSTRUCTION + "))*";
+
+    private static final String OUTTRO =
+                    "(?:(?:" + WHITESPACE + ")|(?:" + COMMENT + ")|(?:" + PROCESSING_INSTRUCTION + "))*";
+
+    private static final Pattern SPLIT = Pattern.compile( "(?s)(" + INTRO + ")(.*?)(" + OUTTRO + ")" );
+
+    private final JDOMModelConverter converter = new JDOMModelConverter();
+
+    private final String ls;
+
+    @Getter
+    private final Document document;
+
+    @Getter
+    private String intro;
+
+    @Getter
+    @Setter
+    private String outtro;
+
+    /**
+     * @param content the current POM content.
+     * @param ls the line separator to use.
+     * @throws IOException if an error occurs reading the content.
+     * @throws JDOMException if the content could not be parsed.
+     */
+    public JDOMModelWriter( final byte[] content, final String ls ) throws IOException, JDOMException
+    {
+        this.ls = ls;
+
+        String text;
+        try ( Reader reader = new XmlStreamReader( new ByteArrayInputStream( content ) ) )
+        {
+            text = normaliseLineEndings( IOUtil.toString( reader ) );
+        }
+        // Normalise whitespace within tags so that the serialised root element may be located within the text.
+        text = text.replaceAll( "<([^!][^>]*?)\\s{2,}([^>]*?)>", "<$1 $2>" );
+        text = text.replaceAll( "(\\s{2,})/>", "$1 />" );
+
+        document = new SAXBuilder().build( new StringReader( text ) );
+        normaliseLineEndings();
+
+        final String root = outputRoot( new StringWriter() ).toString();
+        final int index = text.indexOf( root );
+
+        if ( index >= 0 )
+        {
+            intro = text.substring( 0, index );
+            outtro = text.substring( index + root.length() );
+        }
+        else
+        {
+            final Matcher matcher = SPLIT.matcher( text );
+            if ( matcher.matches() )
+            {
+                intro = matcher.group( 1 );
+                outtro = matcher.group( matcher.groupCount() );
+            }
+        }
+    }
+
+    /**
+     * Applies the model to the document.
+     *
+     * @param model the model to write.
+     */
+    public void update( final Model model )
+    {
+        converter.convertModelToJDOM( model, document );
+    }
+
+    /**
+     * @return the serialised POM, in the encoding declared by the POM.
+     * @throws IOException if an error occurs.
+     */
+    public byte[] toByteArray() throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try ( Writer writer = new XmlStreamWriter( out ) )
+        {
+            if ( intro != null )
+            {
+                writer.write( intro );
+            }
+            outputRoot( writer );
+            if ( outtro != null )
+            {
+                writer.write( outtro );
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private <T extends Writer> T outputRoot( final T writer ) throws IOException
+    {
+        final Format format = Format.getRawFormat();
+        format.setLineSeparator( ls );
+        new XMLOutputter( format ).output( document.getRootElement(), writer );
+        return writer;
+    }
+
+    private void normaliseLineEndings()
+    {
+        for ( Comment comment : document.getDescendants( Filters.comment() ) )
+        {
+            comment.setText( normaliseLineEndings( comment.getText() ) );
+        }
+        for ( CDATA cdata : document.getDescendants( Filters.cdata() ) )
+        {
+            cdata.setText( normaliseLineEndings( cdata.getText() ) );
+        }
+    }
+
+    private String normaliseLineEndings( final String text )
+    {
+        return EOL.matcher( text ).replaceAll( Matcher.quoteReplacement( ls ) );
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.common.json;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@JsonPropertyOrder( { "phases", "counters" } )
+public class MetricsItem
+{
+    /**
+     * The phases of the manipulation in the order they completed, with the time taken and the memory allocated by
+     * each.
+     */
+    @JsonProperty( "phases" )
+    private List<PhaseItem> phases = new ArrayList<>();
+
+    /**
+     * Counters of the work done during the manipulation, such as the number of GAVs sent to the REST endpoint.
+     */
+    @JsonProperty( "counters" )
+    private Map<String, Long> counters = new LinkedHashMap<>();
+}
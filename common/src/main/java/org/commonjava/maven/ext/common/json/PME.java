@@ -29,7 +29,7 @@ import java.util.List;
 
 @Setter
 @Getter
-@JsonPropertyOrder( {"executionRoot", "modules" } )
+@JsonPropertyOrder( {"executionRoot", "modules", "metrics" } )
 public class PME
 {
     /**
@@ -43,4 +43,10 @@ public class PME
      */
     @JsonProperty
     private List<ModulesItem> modules = new ArrayList<>();
+
+    /**
+     * The time taken and the work done by the phases of the manipulation.
+     */
+    @JsonProperty
+    private MetricsItem metrics;
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.common.json;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder( { "name", "durationMillis", "allocatedBytes" } )
+public class PhaseItem
+{
+    /**
+     * The phase, e.g. parse, or the simple class name of a manipulator.
+     */
+    @JsonProperty( "name" )
+    private String name;
+
+    /**
+     * The wall clock time taken by the phase.
+     */
+    @JsonProperty( "durationMillis" )
+    private long durationMillis;
+
+    /**
+     * The memory allocated by the thread running the phase ; not present if the JVM does not support measuring it.
+     */
+    @JsonProperty( "allocatedBytes" )
+    private Long allocatedBytes;
+}
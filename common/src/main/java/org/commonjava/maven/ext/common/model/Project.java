@@ -30,8 +30,10 @@ import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
 import org.commonjava.maven.atlas.ident.util.VersionUtils;
 import org.commonjava.maven.ext.common.ManipulationException;
 import org.commonjava.maven.ext.common.session.MavenSessionHandler;
+import org.commonjava.maven.ext.common.util.LineSeparator;
 import org.commonjava.maven.ext.common.util.ProfileUtils;
 import org.commonjava.maven.ext.common.util.PropertyResolver;
+import org.commonjava.maven.ext.common.util.PropertyScope;
 import org.commonjava.maven.galley.maven.internal.defaults.StandardMaven350PluginDefaults;
 import org.commonjava.maven.galley.maven.spi.defaults.MavenPluginDefaults;
 import org.slf4j.Logger;
@@ -87,11 +89,30 @@ public class Project
 
     private boolean incrementalPME;
 
+    /**
+     * The original content of the POM file, if this Project was read from disk.
+     */
+    private byte[] pomContent;
+
+    /**
+     * The end-of-line marker of the original POM file, if known.
+     */
+    private LineSeparator lineSeparator;
+
     /**
      * Tracking inheritance across the project.
      */
     private Project projectParent;
 
+    /**
+     * Lazily created cache of the properties used by {@link PropertyResolver}.
+     */
+    private PropertyScope propertyScope;
+
+    /**
+     * Lazily created cache of the resolved dependency and plugin views.
+     */
+    private ResolvedViewCache resolvedViewCache;
 
     public Project( final File pom, final Model model ) throws ManipulationException
     {
@@ -132,6 +153,8 @@ public class Project
         this.inheritanceRoot = original.inheritanceRoot;
         this.executionRoot = original.executionRoot;
         this.incrementalPME = original.incrementalPME;
+        this.pomContent = original.pomContent;
+        this.lineSeparator = original.lineSeparator;
         if ( original.projectParent != null )
         {
             this.projectParent = new Project( original.projectParent );
@@ -638,6 +661,17 @@ public class Project
     private void resolveDeps( MavenSessionHandler session, List<Dependency> deps, boolean includeManagedDependencies,
                               Map<ArtifactRef, Dependency> resolvedDependencies )
                     throws ManipulationException
+    {
+        resolvedDependencies.putAll( getResolvedViewCache().get( session, deps, includeManagedDependencies,
+                                                                 r -> resolveDepsUncached( session, deps,
+                                                                                           includeManagedDependencies,
+                                                                                           r ) ) );
+    }
+
+    private void resolveDepsUncached( MavenSessionHandler session, List<Dependency> deps,
+                                      boolean includeManagedDependencies,
+                                      Map<ArtifactRef, Dependency> resolvedDependencies )
+                    throws ManipulationException
     {
         ListIterator<Dependency> iterator = deps.listIterator( deps.size() );
 
@@ -696,6 +730,16 @@ public class Project
     private void resolvePlugins( MavenSessionHandler session, List<Plugin> plugins, PluginResolver includeManagedPlugins,
                                  Map<ProjectVersionRef, Plugin> resolvedPlugins )
                     throws ManipulationException
+    {
+        resolvedPlugins.putAll( getResolvedViewCache().get( session, plugins, includeManagedPlugins,
+                                                            r -> resolvePluginsUncached( session, plugins,
+                                                                                         includeManagedPlugins, r ) ) );
+    }
+
+    private void resolvePluginsUncached( MavenSessionHandler session, List<Plugin> plugins,
+                                         PluginResolver includeManagedPlugins,
+                                         Map<ProjectVersionRef, Plugin> resolvedPlugins )
+                    throws ManipulationException
     {
         ListIterator<Plugin> iterator = plugins.listIterator( plugins.size() );
 
@@ -802,6 +846,32 @@ public class Project
         return incrementalPME;
     }
 
+    /**
+     * @return the original content of the POM file or null if it was not recorded when the POM was read.
+     */
+    public byte[] getPomContent()
+    {
+        return pomContent;
+    }
+
+    public void setPomContent( byte[] pomContent )
+    {
+        this.pomContent = pomContent;
+    }
+
+    /**
+     * @return the end-of-line marker of the original POM file or null if it is not known.
+     */
+    public LineSeparator getLineSeparator()
+    {
+        return lineSeparator;
+    }
+
+    public void setLineSeparator( LineSeparator lineSeparator )
+    {
+        this.lineSeparator = lineSeparator;
+    }
+
     public void setProjectParent( Project parent )
     {
         this.projectParent = parent;
@@ -812,6 +882,27 @@ public class Project
         return projectParent;
     }
 
+    /**
+     * @return the property scope of this project, which chains to the scope of the parent project.
+     */
+    public PropertyScope getPropertyScope()
+    {
+        if ( propertyScope == null )
+        {
+            propertyScope = new PropertyScope( this );
+        }
+        return propertyScope;
+    }
+
+    ResolvedViewCache getResolvedViewCache()
+    {
+        if ( resolvedViewCache == null )
+        {
+            resolvedViewCache = new ResolvedViewCache( this );
+        }
+        return resolvedViewCache;
+    }
+
     /**
      * @return inherited projects. Returned with order of root project first, down to this project.
      */
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.common.model;
+
+import org.commonjava.maven.atlas.ident.ref.ProjectRef;
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectRef;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed index of the projects within the reactor, so that reactor membership may be established without scanning
+ * every project. Projects are indexed by groupId:artifactId and by groupId:artifactId:version ; where several projects
+ * share a key the first in reactor order is returned, as a scan of the project list would.
+ * <p>
+ * The index is built once after parsing and reflects the coordinates of the projects at that point ; lookups by
+ * version therefore use the original version.
+ */
+public class ReactorIndex
+{
+    private final Map<ProjectRef, List<Project>> byGA = new HashMap<>();
+
+    private final Map<ProjectVersionRef, Project> byGAV = new HashMap<>();
+
+    public ReactorIndex( final List<Project> projects )
+    {
+        for ( Project p : projects )
+        {
+            byGA.computeIfAbsent( new SimpleProjectRef( p.getGroupId(), p.getArtifactId() ), k -> new ArrayList<>( 1 ) )
+                .add( p );
+            byGAV.putIfAbsent( p.getKey(), p );
+        }
+    }
+
+    /**
+     * @param gav the groupId:artifactId:version to look up.
+     * @return the project, or null if it is not within the reactor.
+     */
+    public Project getProject( final ProjectVersionRef gav )
+    {
+        final Project result = byGAV.get( gav );
+        if ( result != null )
+        {
+            return result;
+        }
+        // Versions are compared by their parsed form (e.g. 1.0 and 1.0.0 are equal) whereas they are hashed by their
+        // string form, so check any other versions of this groupId:artifactId.
+        for ( Project p : getProjectsByGA( gav.getGroupId(), gav.getArtifactId() ) )
+        {
+            if ( p.getKey().equals( gav ) )
+            {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param groupId the groupId
+     * @param artifactId the artifactId
+     * @return whether a project with this groupId:artifactId is within the reactor.
+     */
+    public boolean contains( final String groupId, final String artifactId )
+    {
+        return byGA.containsKey( new SimpleProjectRef( groupId, artifactId ) );
+    }
+
+    private List<Project> getProjectsByGA( final String groupId, final String artifactId )
+    {
+        return byGA.getOrDefault( new SimpleProjectRef( groupId, artifactId ), Collections.emptyList() );
+    }
+}
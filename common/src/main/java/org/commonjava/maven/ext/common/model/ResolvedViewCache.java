@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.common.model;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Profile;
+import org.commonjava.maven.ext.common.ManipulationException;
+import org.commonjava.maven.ext.common.session.MavenSessionHandler;
+import org.commonjava.maven.ext.common.util.ProfileUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of the resolved dependency and plugin views of a {@link Project}, so that repeated calls to the
+ * <code>getResolved*</code> methods do not resolve the properties of every entry again.
+ * <p>
+ * Each view is keyed by the list it was resolved from and is only reused while that list holds the same elements with
+ * the same (unresolved) coordinates. Resolution also depends upon the properties and coordinates of the project and its
+ * parents ; each project therefore maintains a modification counter that is incremented whenever those differ from
+ * when they were last seen. All views are discarded if the counter of the project, or of any parent, or the session
+ * changes.
+ * <p>
+ * The Maven model offers no notification of modifications so changes are detected by comparison with a snapshot, which
+ * is considerably cheaper than resolution. Note that the cache is not thread safe.
+ */
+class ResolvedViewCache
+{
+    @FunctionalInterface
+    interface Resolver<K, V>
+    {
+        void resolve( Map<K, V> result ) throws ManipulationException;
+    }
+
+    private final Project project;
+
+    private List<Object> localState;
+
+    private long modificationCount;
+
+    private List<Object> context;
+
+    private final Map<List<?>, List<View>> views = new IdentityHashMap<>();
+
+    ResolvedViewCache( Project project )
+    {
+        this.project = project;
+    }
+
+    /**
+     * Return the view of the list, resolving it if required.
+     *
+     * @param session the current session.
+     * @param source the dependencies or plugins to resolve.
+     * @param mode distinguishes the different views of the same list.
+     * @param resolver resolves the view.
+     * @param <K> the key type of the view
+     * @param <V> the value type of the view
+     * @return the resolved view, which must not be modified.
+     * @throws ManipulationException if an error occurs
+     */
+    @SuppressWarnings( "unchecked" )
+    <K, V> Map<K, V> get( MavenSessionHandler session, List<V> source, Object mode, Resolver<K, V> resolver )
+                    throws ManipulationException
+    {
+        final List<Object> current = context( session );
+        if ( !current.equals( context ) )
+        {
+            views.clear();
+            context = snapshot( current );
+        }
+
+        final List<View> candidates = views.computeIfAbsent( source, k -> new ArrayList<>( 1 ) );
+        for ( View view : candidates )
+        {
+            if ( view.mode == mode )
+            {
+                if ( view.elements.equals( elements( source ) ) )
+                {
+                    return (Map<K, V>) view.result;
+                }
+                candidates.remove( view );
+                break;
+            }
+        }
+
+        final Map<K, V> result = new HashMap<>();
+        resolver.resolve( result );
+        // Resolution may remove duplicate entries so record the elements afterwards.
+        candidates.add( new View( mode, elements( source ), result ) );
+
+        return result;
+    }
+
+    /**
+     * @return the modification counter of the local state of this project.
+     */
+    private long modificationCount()
+    {
+        final List<Object> current = localState();
+        if ( !current.equals( localState ) )
+        {
+            localState = snapshot( current );
+            modificationCount++;
+        }
+        return modificationCount;
+    }
+
+    private List<Object> context( MavenSessionHandler session )
+    {
+        final List<Object> result = new ArrayList<>();
+        result.add( session );
+        result.add( session.getActiveProfiles() );
+        result.add( session.getExcludedScopes() );
+        result.add( session.getUserProperties()
+                           .getProperty( ProfileUtils.PROFILE_SCANNING, ProfileUtils.PROFILE_SCANNING_DEFAULT ) );
+
+        for ( Project p = project; p != null; p = p.getProjectParent() )
+        {
+            result.add( p.getResolvedViewCache() );
+            result.add( p.getResolvedViewCache().modificationCount() );
+        }
+        return result;
+    }
+
+    private List<Object> localState()
+    {
+        final Model model = project.getModel();
+        final List<Object> result = new ArrayList<>();
+
+        result.add( project.getGroupId() );
+        result.add( project.getArtifactId() );
+        result.add( project.getVersion() );
+        result.add( model.getProperties() );
+        for ( Profile profile : model.getProfiles() )
+        {
+            result.add( profile );
+            result.add( profile.getId() );
+            result.add( profile.getProperties() );
+        }
+        return result;
+    }
+
+    private static List<Object> elements( List<?> source )
+    {
+        final List<Object> result = new ArrayList<>( source.size() * 4 );
+
+        for ( Object o : source )
+        {
+            result.add( o );
+            if ( o instanceof Dependency )
+            {
+                final Dependency d = (Dependency) o;
+                result.add( d.getGroupId() );
+                result.add( d.getArtifactId() );
+                result.add( d.getVersion() );
+                result.add( d.getType() );
+                result.add( d.getClassifier() );
+                result.add( d.getScope() );
+            }
+            else if ( o instanceof Plugin )
+            {
+                final Plugin p = (Plugin) o;
+                result.add( p.getGroupId() );
+                result.add( p.getArtifactId() );
+                result.add( p.getVersion() );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Copies any collections within the state so later modifications to them are detected.
+     */
+    private static List<Object> snapshot( List<Object> state )
+    {
+        final List<Object> result = new ArrayList<>( state.size() );
+
+        for ( Object o : state )
+        {
+            if ( o instanceof Map )
+            {
+                o = new HashMap<>( (Map<?, ?>) o );
+            }
+            else if ( o instanceof Set )
+            {
+                o = new HashSet<>( (Set<?>) o );
+            }
+            else if ( o instanceof Collection )
+            {
+                o = new ArrayList<>( (Collection<?>) o );
+            }
+            result.add( o );
+        }
+        return result;
+    }
+
+    private static final class View
+    {
+        private final Object mode;
+
+        private final List<Object> elements;
+
+        private final Map<?, ?> result;
+
+        private View( Object mode, List<Object> elements, Map<?, ?> result )
+        {
+            this.mode = mode;
+            this.elements = elements;
+            this.result = result;
+        }
+    }
+}
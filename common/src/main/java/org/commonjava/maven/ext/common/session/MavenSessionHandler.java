@@ -18,6 +18,7 @@ package org.commonjava.maven.ext.common.session;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.settings.Settings;
 import org.commonjava.maven.ext.common.ManipulationException;
+import org.commonjava.maven.ext.common.util.Instrumentation;
 
 import java.io.File;
 import java.util.List;
@@ -40,4 +41,6 @@ public interface MavenSessionHandler
     Settings getSettings();
 
     List<String> getExcludedScopes();
+
+    Instrumentation getInstrumentation();
 }
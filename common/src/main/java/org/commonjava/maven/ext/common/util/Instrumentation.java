@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.common.util;
+
+import org.commonjava.maven.ext.common.json.MetricsItem;
+import org.commonjava.maven.ext.common.json.PhaseItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the wall clock time and the memory allocated by each phase of a manipulation, together with counters of the
+ * work done, for the alignment report. Allocation is measured for the thread that runs a phase, so the allocation by
+ * any threads it starts (such as for concurrent REST lookups) is not included, though their time is.
+ */
+public class Instrumentation
+{
+    public enum Counter
+    {
+        PROPERTIES_INTERPOLATED( "propertiesInterpolated" ),
+        REST_REQUESTS( "restRequests" ),
+        REST_GAVS( "restGAVs" ),
+        REMOTE_POMS_RESOLVED( "remotePomsResolved" ),
+        METADATA_RESOLVED( "metadataResolved" ),
+        POMS_REWRITTEN( "pomsRewritten" ),
+        BYTES_WRITTEN( "bytesWritten" );
+
+        private final String name;
+
+        Counter( String name )
+        {
+            this.name = name;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+    }
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final Logger logger = LoggerFactory.getLogger( getClass() );
+
+    private final LongAdder[] counters = new LongAdder[Counter.values().length];
+
+    private final List<PhaseItem> phases = new ArrayList<>();
+
+    public Instrumentation()
+    {
+        for ( int i = 0; i < counters.length; i++ )
+        {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Starts timing a phase, which is recorded when the returned {@link Phase} is closed.
+     *
+     * @param name the name of the phase
+     * @return the phase
+     */
+    public Phase start( String name )
+    {
+        return new Phase( name );
+    }
+
+    public void increment( Counter counter )
+    {
+        counters[counter.ordinal()].increment();
+    }
+
+    public void add( Counter counter, long value )
+    {
+        counters[counter.ordinal()].add( value );
+    }
+
+    public long get( Counter counter )
+    {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * @return the phases recorded so far, in the order they completed
+     */
+    public synchronized List<PhaseItem> getPhases()
+    {
+        return new ArrayList<>( phases );
+    }
+
+    /**
+     * @return the phases and counters recorded so far for the alignment report
+     */
+    public MetricsItem toMetrics()
+    {
+        final MetricsItem result = new MetricsItem();
+
+        result.setPhases( getPhases() );
+        for ( Counter c : Counter.values() )
+        {
+            result.getCounters().put( c.getName(), get( c ) );
+        }
+        return result;
+    }
+
+    private synchronized void record( PhaseItem phase )
+    {
+        phases.add( phase );
+    }
+
+    /**
+     * @return the memory allocated by the current thread, or -1 if it can not be measured.
+     */
+    private static long allocatedBytes()
+    {
+        if ( THREADS instanceof com.sun.management.ThreadMXBean )
+        {
+            final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if ( threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled() )
+            {
+                return threads.getThreadAllocatedBytes( Thread.currentThread().getId() );
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A phase being timed ; closing it records it.
+     */
+    public final class Phase
+        implements AutoCloseable
+    {
+        private final String name;
+
+        private final long start = System.nanoTime();
+
+        private final long startAllocated = allocatedBytes();
+
+        private Phase( String name )
+        {
+            this.name = name;
+        }
+
+        @Override
+        public void close()
+        {
+            final long duration = TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start );
+            final long allocated = allocatedBytes();
+            final PhaseItem phase = new PhaseItem( name, duration,
+                                                   allocated < 0 || startAllocated < 0 ? null :
+                                                                   allocated - startAllocated );
+            logger.debug( "Phase {} took {} ms and allocated {} bytes", name, duration, phase.getAllocatedBytes() );
+            record( phase );
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.codehaus.plexus.interpolation.PrefixAwareRecursionInterceptor;
 import org.codehaus.plexus.interpolation.PrefixedObjectValueSource;
 import org.codehaus.plexus.interpolation.PropertiesBasedValueSource;
 import org.codehaus.plexus.interpolation.StringSearchInterpolator;
+import org.codehaus.plexus.interpolation.ValueSource;
 import org.commonjava.maven.ext.common.ManipulationException;
 
 import java.util.Arrays;
@@ -33,9 +34,14 @@ public class PropertyInterpolator
 
     public PropertyInterpolator( Properties props, Object objectValueSource )
     {
-        if ( props != null )
+        this( props == null ? null : new PropertiesBasedValueSource( props ), objectValueSource );
+    }
+
+    public PropertyInterpolator( ValueSource valueSource, Object objectValueSource )
+    {
+        if ( valueSource != null )
         {
-            interp.addValueSource( new PropertiesBasedValueSource( props ) );
+            interp.addValueSource( valueSource );
         }
 
         // According to https://maven.apache.org/guides/introduction/introduction-to-the-pom.html
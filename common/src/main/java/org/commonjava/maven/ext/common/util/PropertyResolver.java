@@ -31,7 +31,9 @@ import java.util.Properties;
 public final class PropertyResolver
 {
     /**
-     * This recursively checks the supplied value and recursively resolves it if its a property.
+     * This recursively checks the supplied value and recursively resolves it if its a property. This is
+     * equivalent to calling {@link #resolveProperties(MavenSessionHandler, List, String)} with
+     * {@link Project#getInheritedList()} but uses the cached {@link PropertyScope} of the project.
      *
      * @param session the manipulation session.
      * @param start the {@link Project} to start resolving from.
@@ -41,7 +43,37 @@ public final class PropertyResolver
      */
     public static String resolveInheritedProperties( MavenSessionHandler session, Project start, String value ) throws ManipulationException
     {
-        return resolveProperties( session, start.getInheritedList(), value );
+        countInterpolation( session, value );
+        return start.getPropertyScope().interp( session, value );
+    }
+
+    /**
+     * This is a wrapper around {@link #resolveInheritedProperties(MavenSessionHandler, Project, String)}. It simply
+     * wraps any checked exception inside an unchecked exception.
+     *
+     * @param session the current session
+     * @param start the {@link Project} to start resolving from.
+     * @param value value to check
+     * @return the version string
+     */
+    public static String resolveInheritedPropertiesUnchecked( MavenSessionHandler session, Project start, String value )
+    {
+        try
+        {
+            return resolveInheritedProperties( session, start, value );
+        }
+        catch ( ManipulationException e )
+        {
+            throw new ManipulationUncheckedException( e );
+        }
+    }
+
+    private static void countInterpolation( MavenSessionHandler session, String value )
+    {
+        if ( value != null && value.contains( "${" ) )
+        {
+            session.getInstrumentation().increment( Instrumentation.Counter.PROPERTIES_INTERPOLATED );
+        }
     }
 
     private static Properties searchProfiles( MavenSessionHandler session, Project p )
@@ -94,6 +126,7 @@ public final class PropertyResolver
             amalgamated.putAll( p.getModel().getProperties() );
             amalgamated.putAll( searchProfiles( session, p ) );
         }
+        countInterpolation( session, value );
         PropertyInterpolator pi = new PropertyInterpolator( amalgamated, projects.get( 0 ) );
         return pi.interp( value );
     }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.common.util;
+
+import org.apache.maven.model.Profile;
+import org.codehaus.plexus.interpolation.AbstractValueSource;
+import org.commonjava.maven.ext.common.ManipulationException;
+import org.commonjava.maven.ext.common.model.Project;
+import org.commonjava.maven.ext.common.session.MavenSessionHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * A layered, per {@link Project} view of the properties used for interpolation. Each scope holds the properties of
+ * its own model and active profiles and chains to the scope of the parent project ; therefore a lookup is a hash
+ * lookup per inheritance level rather than a copy of every property in the inheritance chain.
+ * <p>
+ * The model and profile {@link Properties} are read directly so any modification to them is immediately visible. The
+ * set of active profiles is cached and is recalculated whenever the profiles of the model or the active profiles of the
+ * session change. The {@link PropertyInterpolator} is reused until the inheritance root changes.
+ * <p>
+ * Note that a scope is not thread safe.
+ */
+public class PropertyScope
+                extends AbstractValueSource
+{
+    private final Project project;
+
+    private MavenSessionHandler session;
+
+    /**
+     * Snapshot of the model profiles (by reference) used to calculate {@link #activeProfiles}.
+     */
+    private List<Profile> profilesSnapshot = Collections.emptyList();
+
+    /**
+     * Snapshot of the session active profiles used to calculate {@link #activeProfiles}.
+     */
+    private List<String> activeIdsSnapshot = Collections.emptyList();
+
+    private String scanActiveSnapshot;
+
+    private List<Profile> activeProfiles;
+
+    private Project interpolatorRoot;
+
+    private PropertyInterpolator interpolator;
+
+    public PropertyScope( Project project )
+    {
+        super( false );
+        this.project = project;
+    }
+
+    /**
+     * Interpolate the value using the properties of this project and all of its ancestors.
+     *
+     * @param session the current session
+     * @param value value to resolve
+     * @return the resolved value
+     * @throws ManipulationException if an error occurs
+     */
+    public String interp( MavenSessionHandler session, String value ) throws ManipulationException
+    {
+        Project root = project;
+        for ( Project p = project; p != null; p = p.getProjectParent() )
+        {
+            p.getPropertyScope().refresh( session );
+            root = p;
+        }
+        // Matches PropertyResolver::resolveProperties where the inheritance root is the object value source.
+        if ( interpolator == null || interpolatorRoot != root )
+        {
+            interpolator = new PropertyInterpolator( this, root );
+            interpolatorRoot = root;
+        }
+        return interpolator.interp( value );
+    }
+
+    /**
+     * Look up the property within this scope and then the parent scopes. A project's active profile properties take
+     * precedence over its model properties, which take precedence over any inherited properties.
+     *
+     * @param expression the property key
+     * @return the value or null
+     */
+    @Override
+    public Object getValue( String expression )
+    {
+        for ( Project p = project; p != null; p = p.getProjectParent() )
+        {
+            final PropertyScope scope = p.getPropertyScope();
+
+            // The scope may not have been refreshed if the parent was updated outside of interp.
+            if ( scope.activeProfiles == null )
+            {
+                scope.refresh( session );
+            }
+            for ( int i = scope.activeProfiles.size() - 1; i >= 0; i-- )
+            {
+                final Properties properties = scope.activeProfiles.get( i ).getProperties();
+                if ( properties.containsKey( expression ) )
+                {
+                    return properties.getProperty( expression );
+                }
+            }
+            final Properties properties = p.getModel().getProperties();
+            if ( properties.containsKey( expression ) )
+            {
+                return properties.getProperty( expression );
+            }
+        }
+        return null;
+    }
+
+    private void refresh( MavenSessionHandler session )
+    {
+        final List<Profile> profiles = project.getModel().getProfiles();
+        final List<String> activeIds = session.getActiveProfiles();
+        final String scanActive = session.getUserProperties()
+                                         .getProperty( ProfileUtils.PROFILE_SCANNING,
+                                                       ProfileUtils.PROFILE_SCANNING_DEFAULT );
+
+        if ( activeProfiles == null || this.session != session || !scanActive.equals( scanActiveSnapshot )
+                        || !sameReferences( profiles, profilesSnapshot ) || !activeIds.equals( activeIdsSnapshot ) )
+        {
+            this.session = session;
+            activeProfiles = ProfileUtils.getProfiles( session, project.getModel() );
+            profilesSnapshot = profiles == null ? Collections.emptyList() : new ArrayList<>( profiles );
+            activeIdsSnapshot = new ArrayList<>( activeIds );
+            scanActiveSnapshot = scanActive;
+        }
+    }
+
+    private static boolean sameReferences( List<Profile> current, List<Profile> snapshot )
+    {
+        if ( current == null )
+        {
+            return snapshot.isEmpty();
+        }
+        if ( current.size() != snapshot.size() )
+        {
+            return false;
+        }
+        for ( int i = 0; i < current.size(); i++ )
+        {
+            if ( current.get( i ) != snapshot.get( i ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.common.jdom;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+public class JDOMModelWriterTest
+{
+    private static final String POM = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n"
+                    + "<!-- intro -->\r\n"
+                    + "<project   xmlns=\"http://maven.apache.org/POM/4.0.0\">\r\n"
+                    + "  <modelVersion>4.0.0</modelVersion>\r\n"
+                    + "  <groupId>org.foo</groupId>\r\n"
+                    + "  <artifactId>bar</artifactId>\r\n"
+                    + "  <version>1.0</version>\r\n"
+                    + "  <!-- a comment -->\r\n"
+                    + "</project>\r\n"
+                    + "<!-- outtro -->\r\n";
+
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        final byte[] content = POM.getBytes( StandardCharsets.UTF_8 );
+        final Model model = new MavenXpp3Reader().read( new ByteArrayInputStream( content ) );
+
+        JDOMModelWriter writer = new JDOMModelWriter( content, "\r\n" );
+        assertEquals( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n<!-- intro -->\r\n", writer.getIntro() );
+        assertEquals( "\r\n<!-- outtro -->\r\n", writer.getOuttro() );
+
+        writer.update( model );
+        assertEquals( POM.replace( "<project   xmlns", "<project xmlns" ),
+                      new String( writer.toByteArray(), StandardCharsets.UTF_8 ) );
+
+        model.setVersion( "1.0.redhat-00001" );
+        writer = new JDOMModelWriter( content, "\r\n" );
+        writer.update( model );
+        writer.setOuttro( "\r\n" );
+        assertEquals( POM.replace( "<project   xmlns", "<project xmlns" )
+                         .replace( "<version>1.0<", "<version>1.0.redhat-00001<" )
+                         .replace( "\r\n<!-- outtro -->\r\n", "\r\n" ),
+                      new String( writer.toByteArray(), StandardCharsets.UTF_8 ) );
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.common.model;
+
+import org.apache.maven.model.Model;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+import org.commonjava.maven.ext.common.ManipulationException;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ReactorIndexTest
+{
+    @Test
+    public void verifyLookups() throws ManipulationException
+    {
+        Project root = project( "root", "1.0", "pom.xml" );
+        Project child = project( "child", "1.0.0", "child/pom.xml" );
+        Project duplicate = project( "child", "2.0", "duplicate/pom.xml" );
+
+        ReactorIndex index = new ReactorIndex( Arrays.asList( root, child, duplicate ) );
+
+        assertSame( duplicate, index.getProject( new SimpleProjectVersionRef( "org.foo", "child", "2.0" ) ) );
+        // Versions match by their parsed form as ProjectVersionRef.equals does.
+        assertSame( child, index.getProject( new SimpleProjectVersionRef( "org.foo", "child", "1.0" ) ) );
+        assertNull( index.getProject( new SimpleProjectVersionRef( "org.foo", "child", "3.0" ) ) );
+
+        assertTrue( index.contains( "org.foo", "root" ) );
+        assertFalse( index.contains( "org.foo", "other" ) );
+    }
+
+    private static Project project( String artifactId, String version, String pom ) throws ManipulationException
+    {
+        Model m = new Model();
+        m.setGroupId( "org.foo" );
+        m.setArtifactId( artifactId );
+        m.setVersion( version );
+        return new Project( new File( pom ), m );
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.common.util;
+
+import org.commonjava.maven.ext.common.json.MetricsItem;
+import org.commonjava.maven.ext.common.json.PME;
+import org.commonjava.maven.ext.common.json.PhaseItem;
+import org.commonjava.maven.ext.common.util.Instrumentation.Counter;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InstrumentationTest
+{
+    @Test
+    public void testPhasesAreRecordedInOrder()
+    {
+        final Instrumentation instrumentation = new Instrumentation();
+
+        try ( Instrumentation.Phase ignored = instrumentation.start( "outer" ) )
+        {
+            try ( Instrumentation.Phase ignored2 = instrumentation.start( "inner" ) )
+            {
+                assertTrue( instrumentation.getPhases().isEmpty() );
+            }
+        }
+
+        final List<PhaseItem> phases = instrumentation.getPhases();
+        assertEquals( 2, phases.size() );
+        assertEquals( "inner", phases.get( 0 ).getName() );
+        assertEquals( "outer", phases.get( 1 ).getName() );
+        assertTrue( phases.get( 1 ).getDurationMillis() >= phases.get( 0 ).getDurationMillis() );
+    }
+
+    @Test
+    public void testCounters()
+    {
+        final Instrumentation instrumentation = new Instrumentation();
+
+        instrumentation.increment( Counter.REST_REQUESTS );
+        instrumentation.increment( Counter.REST_REQUESTS );
+        instrumentation.add( Counter.REST_GAVS, 150 );
+
+        assertEquals( 2, instrumentation.get( Counter.REST_REQUESTS ) );
+        assertEquals( 150, instrumentation.get( Counter.REST_GAVS ) );
+        assertEquals( 0, instrumentation.get( Counter.BYTES_WRITTEN ) );
+
+        final MetricsItem metrics = instrumentation.toMetrics();
+        assertEquals( Counter.values().length, metrics.getCounters().size() );
+        assertEquals( 150, (long) metrics.getCounters().get( "restGAVs" ) );
+    }
+
+    @Test
+    public void testMetricsInReport() throws IOException
+    {
+        final Instrumentation instrumentation = new Instrumentation();
+        instrumentation.start( "parse" ).close();
+        instrumentation.increment( Counter.POMS_REWRITTEN );
+
+        final PME report = new PME();
+        report.setMetrics( instrumentation.toMetrics() );
+
+        final String json = JSONUtils.jsonToString( report );
+        assertTrue( json.contains( "\"metrics\"" ) );
+        assertTrue( json.contains( "\"name\" : \"parse\"" ) );
+        assertTrue( json.contains( "\"pomsRewritten\" : 1" ) );
+    }
+}
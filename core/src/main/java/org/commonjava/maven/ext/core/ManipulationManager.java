@@ -15,26 +15,43 @@
  */
 package org.commonjava.maven.ext.core;
 
+import com.redhat.resilience.otel.OTelCLIHelper;
+import io.opentelemetry.api.trace.Span;
 import lombok.Getter;
 import org.apache.commons.io.FileUtils;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.apache.maven.profiles.DefaultProfileManager;
 import org.apache.maven.profiles.activation.ProfileActivationException;
 import org.apache.maven.project.ProjectBuilder;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
 import org.commonjava.maven.ext.annotation.ConfigValue;
 import org.commonjava.maven.ext.common.ManipulationException;
 import org.commonjava.maven.ext.common.json.PME;
+import org.commonjava.maven.ext.common.json.PhaseItem;
 import org.commonjava.maven.ext.common.model.Project;
+import org.commonjava.maven.ext.common.util.Instrumentation;
+import org.commonjava.maven.ext.common.util.Instrumentation.Counter;
+import org.commonjava.maven.ext.common.util.Instrumentation.Phase;
 import org.commonjava.maven.ext.common.util.JSONUtils;
 import org.commonjava.maven.ext.common.util.ProjectComparator;
 import org.commonjava.maven.ext.common.util.WildcardMap;
 import org.commonjava.maven.ext.core.impl.Manipulator;
 import org.commonjava.maven.ext.core.impl.PreparseGroovyManipulator;
+import org.commonjava.maven.ext.core.impl.RESTCollector;
 import org.commonjava.maven.ext.core.state.CommonState;
 import org.commonjava.maven.ext.core.state.DependencyState;
+import org.commonjava.maven.ext.core.state.PluginState;
+import org.commonjava.maven.ext.core.state.ProfileInjectionState;
+import org.commonjava.maven.ext.core.state.PropertyState;
+import org.commonjava.maven.ext.core.state.RESTState;
 import org.commonjava.maven.ext.core.state.RelocationState;
+import org.commonjava.maven.ext.core.state.RepositoryInjectionState;
 import org.commonjava.maven.ext.core.util.ManipulatorPriorityComparator;
+import org.commonjava.maven.ext.io.ModelIO;
 import org.commonjava.maven.ext.io.PomIO;
 import org.commonjava.maven.ext.io.resolver.ExtensionInfrastructure;
 import org.slf4j.Logger;
@@ -43,14 +60,22 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -105,18 +130,21 @@ public class ManipulationManager
 
     private final PomIO pomIO;
 
+    private final ModelIO modelIO;
+
     private final PreparseGroovyManipulator preparseGroovyManipulator;
 
     private final PME jsonReport = new PME();
 
     @Inject
     public ManipulationManager( Map<String, Manipulator> manipulators,
-                                Map<String, ExtensionInfrastructure> infrastructure, PomIO pomIO,
+                                Map<String, ExtensionInfrastructure> infrastructure, PomIO pomIO, ModelIO modelIO,
                                 PreparseGroovyManipulator preparseGroovyManipulator )
     {
         this.manipulators = manipulators;
         this.infrastructure = infrastructure;
         this.pomIO = pomIO;
+        this.modelIO = modelIO;
         this.preparseGroovyManipulator = preparseGroovyManipulator;
     }
 
@@ -138,68 +166,120 @@ public class ManipulationManager
     public void init( final ManipulationSession session )
         throws ManipulationException {
         logger.debug( "Initialising ManipulationManager with user properties {}", session.getUserProperties() );
+        try ( Phase ignored = session.getInstrumentation().start( "init" ) )
+        {
+            // We invert it as the property is to _enable_ deprecated properties - which is off by default.
+            final boolean deprecatedDisabled = !Boolean.parseBoolean(session.getUserProperties().getProperty(DEPRECATED_PROPERTIES,
+                    "false"));
+            final HashMap<String, String> deprecatedUsage = new HashMap<>();
+
+            session.getUserProperties().stringPropertyNames().forEach(
+                    p -> {
+                        if ( !p.equals("maven.repo.local") && ConfigList.allConfigValues.keySet().stream().noneMatch( p::startsWith ) )
+                        {
+                            logger.warn( "Unknown configuration value {}", p );
+                        }
+                        // Track deprecated properties. We have to do a rather ugly starts with instead of direct keying as
+                        // some properties operate upon a prefix basis.
+                        logger.debug( "Examining for deprecated properties for {}", p );
+                        ConfigList.allConfigValues.entrySet().stream().
+                                filter(e -> p.startsWith( e.getKey() ) ).
+                                filter( Map.Entry::getValue ).
+                                forEach( up -> deprecatedUsage.put(p, up.getKey() ) );
+                    });
+
+            if ( deprecatedUsage.size() > 0 )
+            {
+                deprecatedUsage.forEach( (k,v) -> logger.warn ("Located deprecated property {} in user properties (with matcher of {})", k, v) );
+                if ( deprecatedDisabled )
+                {
+                    throw new ManipulationException("Deprecated properties are being used. Either remove them or set enabledDeprecatedProperties=true");
+                }
+            }
+
+            for ( final ExtensionInfrastructure infra : infrastructure.values() )
+            {
+                infra.init( );
+            }
 
-        // We invert it as the property is to _enable_ deprecated properties - which is off by default.
-        final boolean deprecatedDisabled = !Boolean.parseBoolean(session.getUserProperties().getProperty(DEPRECATED_PROPERTIES,
-                "false"));
-        final HashMap<String, String> deprecatedUsage = new HashMap<>();
+            orderedManipulators = new ArrayList<>( manipulators.values() );
+            // The RESTState depends upon the VersionState being initialised. Therefore initialise in reverse order
+            // and do a final sort to run in the correct order. See the Manipulator interface for detailed discussion
+            // on ordered.
+            orderedManipulators.sort( Collections.reverseOrder( new ManipulatorPriorityComparator() ) );
 
-        session.getUserProperties().stringPropertyNames().forEach(
-                p -> {
-                    if ( !p.equals("maven.repo.local") && ConfigList.allConfigValues.keySet().stream().noneMatch( p::startsWith ) )
-                    {
-                        logger.warn( "Unknown configuration value {}", p );
-                    }
-                    // Track deprecated properties. We have to do a rather ugly starts with instead of direct keying as
-                    // some properties operate upon a prefix basis.
-                    logger.debug( "Examining for deprecated properties for {}", p );
-                    ConfigList.allConfigValues.entrySet().stream().
-                            filter(e -> p.startsWith( e.getKey() ) ).
-                            filter( Map.Entry::getValue ).
-                            forEach( up -> deprecatedUsage.put(p, up.getKey() ) );
-                });
-
-        if ( deprecatedUsage.size() > 0 )
-        {
-            deprecatedUsage.forEach( (k,v) -> logger.warn ("Located deprecated property {} in user properties (with matcher of {})", k, v) );
-            if ( deprecatedDisabled )
+            for ( final Manipulator manipulator : orderedManipulators )
             {
-                throw new ManipulationException("Deprecated properties are being used. Either remove them or set enabledDeprecatedProperties=true");
+                logger.debug( "Initialising manipulator " + manipulator.getClass()
+                                                                       .getSimpleName() );
+                manipulator.init( session );
             }
-        }
+            orderedManipulators.sort( new ManipulatorPriorityComparator() );
 
-        for ( final ExtensionInfrastructure infra : infrastructure.values() )
-        {
-            infra.init( );
+            // Now init the common state
+            CommonState cState = new CommonState( session.getUserProperties() );
+            DependencyState dState = session.getState( DependencyState.class );
+            if (!dState.getDependencyOverrides().isEmpty() && cState.getStrictDependencyPluginPropertyValidation() != 0)
+            {
+                logger.warn( "Disabling strictPropertyValidation as dependencyOverrides are enabled" );
+                cState.setStrictDependencyPluginPropertyValidation( 0 );
+            }
+            session.setState( cState );
+
+            // Start downloading the remote POMs now so that they are resolved concurrently, and overlap with parsing.
+            modelIO.init( session.getUserProperties() );
+            modelIO.prefetch( session.isEnabled() ? establishRemotePoms( session ) : Collections.emptySet() );
         }
+    }
 
-        orderedManipulators = new ArrayList<>( manipulators.values() );
-        // The RESTState depends upon the VersionState being initialised. Therefore initialise in reverse order
-        // and do a final sort to run in the correct order. See the Manipulator interface for detailed discussion
-        // on ordered.
-        orderedManipulators.sort( Collections.reverseOrder( new ManipulatorPriorityComparator() ) );
+    /**
+     * @param session the container session for manipulation.
+     * @return the remote POMs (such as BOMs) named by the configuration of the enabled manipulators.
+     */
+    private static Set<ProjectVersionRef> establishRemotePoms( final ManipulationSession session )
+    {
+        final Set<ProjectVersionRef> result = new LinkedHashSet<>();
 
-        for ( final Manipulator manipulator : orderedManipulators )
+        final DependencyState dState = session.getState( DependencyState.class );
+        if ( dState != null && dState.isEnabled() )
+        {
+            addAll( result, dState.getRemoteBOMDepMgmt() );
+            result.addAll( dState.getExtraBOMs().values() );
+        }
+        final PluginState pState = session.getState( PluginState.class );
+        if ( pState != null && pState.isEnabled() )
+        {
+            addAll( result, pState.getRemotePluginMgmt() );
+        }
+        final PropertyState propertyState = session.getState( PropertyState.class );
+        if ( propertyState != null && propertyState.isEnabled() )
+        {
+            addAll( result, propertyState.getRemotePropertyMgmt() );
+        }
+        final ProfileInjectionState profileState = session.getState( ProfileInjectionState.class );
+        if ( profileState != null && profileState.isEnabled() )
+        {
+            addAll( result, profileState.getRemoteProfileInjectionMgmt() );
+        }
+        final RepositoryInjectionState repositoryState = session.getState( RepositoryInjectionState.class );
+        if ( repositoryState != null && repositoryState.isEnabled() )
         {
-            logger.debug( "Initialising manipulator " + manipulator.getClass()
-                                                                   .getSimpleName() );
-            manipulator.init( session );
+            result.add( repositoryState.getRemoteRepositoryInjectionMgmt() );
         }
-        orderedManipulators.sort( new ManipulatorPriorityComparator() );
+        return result;
+    }
 
-        // Now init the common state
-        CommonState cState = new CommonState( session.getUserProperties() );
-        DependencyState dState = session.getState( DependencyState.class );
-        if (!dState.getDependencyOverrides().isEmpty() && cState.getStrictDependencyPluginPropertyValidation() != 0)
+    private static void addAll( final Set<ProjectVersionRef> result, final List<ProjectVersionRef> refs )
+    {
+        if ( refs != null )
         {
-            logger.warn( "Disabling strictPropertyValidation as dependencyOverrides are enabled" );
-            cState.setStrictDependencyPluginPropertyValidation( 0 );
+            result.addAll( refs );
         }
-        session.setState( cState );
     }
 
     /**
-     * Encapsulates {@link #applyManipulations(List)}
+     * Encapsulates {@link #applyManipulations(List, Instrumentation)}, recording the time taken by each phase in the
+     * alignment report and, if enabled, the current OpenTelemetry span.
      *
      * @param session the container session for manipulation.
      * @throws ManipulationException if an error occurs.
@@ -208,27 +288,43 @@ public class ManipulationManager
     public void scanAndApply( final ManipulationSession session )
                     throws ManipulationException
     {
-        preparseGroovyManipulator.applyChanges( session );
+        final Instrumentation instrumentation = session.getInstrumentation();
+
+        try ( Phase ignored = instrumentation.start( "preparseGroovy" ) )
+        {
+            preparseGroovyManipulator.applyChanges( session );
+        }
 
         if ( !session.getPom().exists() )
         {
             throw new ManipulationException( "Manipulation engine disabled. Project {} cannot be found.", session.getPom() );
         }
 
-        final List<Project> currentProjects = pomIO.parseProject( session.getPom() );
-        final List<Project> originalProjects = new ArrayList<>(  );
-        currentProjects.forEach( p -> originalProjects.add( new Project( p ) ) );
+        final List<Project> currentProjects;
+        try ( Phase ignored = instrumentation.start( "parse" ) )
+        {
+            currentProjects = pomIO.parseProject( session.getPom() );
+        }
 
-        final Project originalExecutionRoot = originalProjects.get( 0 );
-        if ( ! originalExecutionRoot.isExecutionRoot() )
+        if ( ! currentProjects.get( 0 ).isExecutionRoot() )
         {
-            throw new ManipulationException( "First project is not execution root : {}", originalProjects );
+            throw new ManipulationException( "First project is not execution root : {}", currentProjects );
         }
+        final String originalExecutionRoot = currentProjects.get( 0 ).getKey().toString();
 
         session.getActiveProfiles().addAll( parseActiveProfiles( session, currentProjects ) );
         session.setProjects( currentProjects );
 
-        Set<Project> changed = applyManipulations( currentProjects );
+        // If pipelined, start the REST lookups now so that they overlap with the remaining work.
+        RESTCollector.prefetch( session, currentProjects );
+
+        final Map<Project, byte[]> fingerprints = new IdentityHashMap<>();
+        for ( Project p : currentProjects )
+        {
+            fingerprints.put( p, fingerprint( p ) );
+        }
+
+        Set<Project> changed = applyManipulations( currentProjects, instrumentation );
 
         // Create a marker file if we made some changes to prevent duplicate runs.
         if ( !changed.isEmpty() )
@@ -237,14 +333,18 @@ public class ManipulationManager
 
             Optional<Project> newExecutionRoot = changed.stream().filter( Project::isExecutionRoot ).findFirst();
             newExecutionRoot.ifPresent( project -> jsonReport.getGav().setPVR( project.getKey() ) );
-            jsonReport.getGav().setOriginalGAV( originalExecutionRoot.getKey().toString() );
+            jsonReport.getGav().setOriginalGAV( originalExecutionRoot );
 
-            WildcardMap<ProjectVersionRef> map = ( session.getState( RelocationState.class ) == null ?
-                            new WildcardMap<>() :
-                            session.getState( RelocationState.class ).getDependencyRelocations() );
-            String report = ProjectComparator.compareProjects( session, jsonReport, map, originalProjects,
-                                                               currentProjects );
-            logger.info( "{}{}", System.lineSeparator(), report );
+            final String report;
+            try ( Phase ignored = instrumentation.start( "report" ) )
+            {
+                WildcardMap<ProjectVersionRef> map = ( session.getState( RelocationState.class ) == null ?
+                                new WildcardMap<>() :
+                                session.getState( RelocationState.class ).getDependencyRelocations() );
+                report = ProjectComparator.compareProjects( session, jsonReport, map,
+                                                            originalProjects( currentProjects ), currentProjects );
+                logger.info( "{}{}", System.lineSeparator(), report );
+            }
 
             final String reportTxtOutputFile = session.getUserProperties().getProperty( REPORT_TXT_OUTPUT_FILE, "" );
 
@@ -256,20 +356,39 @@ public class ManipulationManager
                     File reportFile = new File( reportTxtOutputFile );
                     FileUtils.writeStringToFile( reportFile, report, StandardCharsets.UTF_8 );
                 }
-                final String reportJsonOutputFile = session.getUserProperties()
-                                                           .getProperty( REPORT_JSON_OUTPUT_FILE,
-                                                                         session.getTargetDir() + File.separator + REPORT_JSON_DEFAULT );
 
-                try (FileWriter writer = new FileWriter( reportJsonOutputFile ))
-                {
-                    writer.write( JSONUtils.jsonToString( jsonReport ) );
-                }
+                // Written before the rewrite so that it is available should that fail, and again afterwards so
+                // that the metrics include the rewrite.
+                writeJsonReport( session, instrumentation );
 
                 if ( Boolean.parseBoolean( session.getUserProperties().getProperty( REWRITE_CHANGED, "true" ) ) )
                 {
-                    logger.debug( "Maven-Manipulation-Extension: Rewrite changed");
-                    pomIO.rewritePOMs( changed );
+                    try ( Phase ignored = instrumentation.start( "rewrite" ) )
+                    {
+                        // Manipulators may report projects as changed without modifying them so only rewrite those
+                        // whose model actually differs from the one read from disk. The execution root is always
+                        // rewritten if anything is, as it records the PME marker comment.
+                        final Set<Project> modified = new HashSet<>();
+                        for ( Project p : changed )
+                        {
+                            final byte[] original = fingerprints.get( p );
+                            if ( original == null || !Arrays.equals( original, fingerprint( p ) ) )
+                            {
+                                modified.add( p );
+                            }
+                        }
+                        if ( !modified.isEmpty() )
+                        {
+                            changed.stream().filter( Project::isExecutionRoot ).forEach( modified::add );
+                        }
+                        logger.debug( "Maven-Manipulation-Extension: Rewrite changed ({} of {} reported changed POMs differ)",
+                                      modified.size(), changed.size() );
+                        pomIO.rewritePOMs( modified );
+                    }
+
                     new File( session.getTargetDir().getParentFile(), ManipulationManager.MARKER_FILE ).createNewFile();
+
+                    writeJsonReport( session, instrumentation );
                 }
             }
             catch ( IOException e )
@@ -279,15 +398,135 @@ public class ManipulationManager
             }
         }
 
-        // Ensure shutdown of GalleyInfrastructure Executor Service
+        // Ensure shutdown of the GalleyInfrastructure and REST prefetch Executor Services
         for ( ExtensionInfrastructure e : infrastructure.values() )
         {
             e.finish();
         }
+        final RESTState restState = session.getState( RESTState.class );
+        if ( restState != null )
+        {
+            restState.finish();
+        }
+
+        if ( OTelCLIHelper.otelEnabled() )
+        {
+            recordSpanAttributes( instrumentation );
+        }
 
         logger.info( "Maven-Manipulation-Extension: Finished." );
     }
 
+    private void writeJsonReport( final ManipulationSession session, final Instrumentation instrumentation )
+                    throws IOException
+    {
+        final String reportJsonOutputFile = session.getUserProperties()
+                                                   .getProperty( REPORT_JSON_OUTPUT_FILE,
+                                                                 session.getTargetDir() + File.separator + REPORT_JSON_DEFAULT );
+
+        jsonReport.setMetrics( instrumentation.toMetrics() );
+        try (FileWriter writer = new FileWriter( reportJsonOutputFile ))
+        {
+            writer.write( JSONUtils.jsonToString( jsonReport ) );
+        }
+    }
+
+    private static void recordSpanAttributes( final Instrumentation instrumentation )
+    {
+        final Span span = Span.current();
+
+        for ( PhaseItem phase : instrumentation.getPhases() )
+        {
+            span.setAttribute( "pme.phase." + phase.getName() + ".durationMillis", phase.getDurationMillis() );
+            if ( phase.getAllocatedBytes() != null )
+            {
+                span.setAttribute( "pme.phase." + phase.getName() + ".allocatedBytes", phase.getAllocatedBytes() );
+            }
+        }
+        for ( Counter c : Counter.values() )
+        {
+            span.setAttribute( "pme.counter." + c.getName(), instrumentation.get( c ) );
+        }
+    }
+
+
+    /**
+     * Recreates the projects as they were before manipulation from the content recorded when they were parsed. This
+     * avoids holding a deep copy of every model (and of its parents) for the duration of the manipulation.
+     *
+     * @param currentProjects the manipulated projects.
+     * @return the original projects, in the same order and with the same inheritance.
+     * @throws ManipulationException if an error occurs.
+     */
+    private List<Project> originalProjects( final List<Project> currentProjects )
+                    throws ManipulationException
+    {
+        final Map<Project, Project> originals = new IdentityHashMap<>();
+
+        for ( Project current : currentProjects )
+        {
+            if ( current.getPomContent() == null )
+            {
+                originals.put( current, new Project( current ) );
+                continue;
+            }
+
+            final Model model;
+            try ( InputStream in = new ByteArrayInputStream( current.getPomContent() ) )
+            {
+                model = new MavenXpp3Reader().read( in );
+            }
+            catch ( IOException | XmlPullParserException e )
+            {
+                throw new ManipulationException( "Failed to build model for POM: ({}) : {}", current.getPom(),
+                                                 e.getMessage(), e );
+            }
+
+            final Project original = new Project( current.getPom(), model );
+            original.setInheritanceRoot( current.isInheritanceRoot() );
+            original.setIncrementalPME( current.isIncrementalPME() );
+            if ( current.isExecutionRoot() )
+            {
+                original.setExecutionRoot();
+            }
+            originals.put( current, original );
+        }
+
+        final List<Project> result = new ArrayList<>( currentProjects.size() );
+        for ( Project current : currentProjects )
+        {
+            final Project original = originals.get( current );
+
+            if ( current.getPomContent() != null && current.getProjectParent() != null )
+            {
+                original.setProjectParent( originals.computeIfAbsent( current.getProjectParent(), Project::new ) );
+            }
+            result.add( original );
+        }
+        return result;
+    }
+
+    /**
+     * Computes a digest of the serialised model of the project.
+     *
+     * @param project the project.
+     * @return the digest.
+     * @throws ManipulationException if an error occurs.
+     */
+    private static byte[] fingerprint( final Project project )
+                    throws ManipulationException
+    {
+        try
+        {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new MavenXpp3Writer().write( out, project.getModel() );
+            return MessageDigest.getInstance( "SHA-256" ).digest( out.toByteArray() );
+        }
+        catch ( IOException | NoSuchAlgorithmException e )
+        {
+            throw new ManipulationException( "Unable to fingerprint model for {}", project, e );
+        }
+    }
 
     @SuppressWarnings( {"unchecked", "deprecation" } )
     private Set<String> parseActiveProfiles( ManipulationSession session, List<Project> projects ) throws ManipulationException
@@ -338,17 +577,22 @@ public class ManipulationManager
      * </ul>
      *
      * @param projects the list of Projects to apply the changes to.
+     * @param instrumentation records the time taken by each manipulator.
      * @return collection of the changed projects.
      * @throws ManipulationException if an error occurs.
      */
-    private Set<Project> applyManipulations( final List<Project> projects )
+    private Set<Project> applyManipulations( final List<Project> projects, final Instrumentation instrumentation )
         throws ManipulationException
     {
         final Set<Project> changed = new HashSet<>();
         for ( final Manipulator manipulator : orderedManipulators )
         {
             logger.info( "Running manipulator {}", manipulator.getClass().getName() );
-            final Set<Project> mChanged = manipulator.applyChanges( projects );
+            final Set<Project> mChanged;
+            try ( Phase ignored = instrumentation.start( manipulator.getClass().getSimpleName() ) )
+            {
+                mChanged = manipulator.applyChanges( projects );
+            }
 
             if ( mChanged != null )
             {
@@ -21,7 +21,9 @@ import org.apache.maven.settings.Settings;
 import org.commonjava.maven.ext.annotation.ConfigValue;
 import org.commonjava.maven.ext.common.ManipulationException;
 import org.commonjava.maven.ext.common.model.Project;
+import org.commonjava.maven.ext.common.model.ReactorIndex;
 import org.commonjava.maven.ext.common.session.MavenSessionHandler;
+import org.commonjava.maven.ext.common.util.Instrumentation;
 import org.commonjava.maven.ext.common.util.ManifestUtils;
 import org.commonjava.maven.ext.core.impl.Manipulator;
 import org.commonjava.maven.ext.core.state.CommonState;
@@ -62,8 +64,15 @@ public class ManipulationSession
      */
     private List<Project> projects;
 
+    /**
+     * Index of the <code>Project</code> instances, built when they are set.
+     */
+    private ReactorIndex reactorIndex;
+
     private ManipulationException error;
 
+    private final Instrumentation instrumentation = new Instrumentation();
+
     public ManipulationSession()
     {
         System.out.println( "[INFO] Running Maven Manipulation Extension (PME) " + ManifestUtils.getManifestInformation(ManipulationSession.class) );
@@ -122,6 +131,7 @@ public class ManipulationSession
     public void setProjects( final List<Project> projects )
     {
         this.projects = projects;
+        this.reactorIndex = projects == null ? null : new ReactorIndex( projects );
     }
 
     public List<Project> getProjects()
@@ -129,6 +139,14 @@ public class ManipulationSession
         return projects;
     }
 
+    /**
+     * @return an index of the projects, or null if they have not been set.
+     */
+    public ReactorIndex getReactorIndex()
+    {
+        return reactorIndex;
+    }
+
     @Override
     public List<ArtifactRepository> getRemoteRepositories()
     {
@@ -240,6 +258,12 @@ public class ManipulationSession
         return Collections.emptyList();
     }
 
+    @Override
+    public Instrumentation getInstrumentation()
+    {
+        return instrumentation;
+    }
+
     /**
      * @return Returns the current MavenSession
      */
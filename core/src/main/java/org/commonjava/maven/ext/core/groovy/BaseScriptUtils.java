@@ -62,7 +62,7 @@ public abstract class BaseScriptUtils extends Script implements MavenBaseScript
                           .forEach( a -> {
                               logger.debug( "Found managed artifact {} (original dependency {})", a.getKey(), a.getValue() );
                               a.getValue().setVersion(
-                                              PropertyResolver.resolvePropertiesUnchecked( getSession(), currentProject.getInheritedList(), a.getValue().getVersion() ) );
+                                              PropertyResolver.resolveInheritedPropertiesUnchecked( getSession(), currentProject, a.getValue().getVersion() ) );
                           } );
             currentProject.getResolvedDependencies( getSession() )
                           .entrySet().stream()
@@ -71,7 +71,7 @@ public abstract class BaseScriptUtils extends Script implements MavenBaseScript
                           .forEach( a -> {
                               logger.debug( "Found artifact {} (original dependency {})", a.getKey(), a.getValue() );
                               a.getValue().setVersion(
-                                              PropertyResolver.resolvePropertiesUnchecked( getSession(), currentProject.getInheritedList(), a.getValue().getVersion() ) );
+                                              PropertyResolver.resolveInheritedPropertiesUnchecked( getSession(), currentProject, a.getValue().getVersion() ) );
                           } );
             currentProject.getResolvedManagedPlugins( getSession() )
                           .entrySet().stream()
@@ -80,7 +80,7 @@ public abstract class BaseScriptUtils extends Script implements MavenBaseScript
                           .forEach( a -> {
                               logger.debug( "Found managed plugin {} (original dependency {})", a.getKey(), a.getValue() );
                               a.getValue().setVersion(
-                                              PropertyResolver.resolvePropertiesUnchecked( getSession(), currentProject.getInheritedList(), a.getValue().getVersion() ) );
+                                              PropertyResolver.resolveInheritedPropertiesUnchecked( getSession(), currentProject, a.getValue().getVersion() ) );
                           } );
             currentProject.getResolvedPlugins( getSession() )
                           .entrySet().stream()
@@ -89,7 +89,7 @@ public abstract class BaseScriptUtils extends Script implements MavenBaseScript
                           .forEach( a -> {
                               logger.debug( "Found plugin {} (original dependency {})", a.getKey(), a.getValue() );
                               a.getValue().setVersion(
-                                              PropertyResolver.resolvePropertiesUnchecked( getSession(), currentProject.getInheritedList(), a.getValue().getVersion() ) );
+                                              PropertyResolver.resolveInheritedPropertiesUnchecked( getSession(), currentProject, a.getValue().getVersion() ) );
                           } );
         }
         catch (ManipulationUncheckedException e)
@@ -116,7 +116,7 @@ public abstract class BaseScriptUtils extends Script implements MavenBaseScript
                           .forEach( a -> {
                               logger.debug( "Found managed artifact {} (original dependency {})", a.getKey(), a.getValue() );
                               a.getValue().setVersion(
-                                              PropertyResolver.resolvePropertiesUnchecked( getSession(), currentProject.getInheritedList(), a.getValue().getVersion() ) );
+                                              PropertyResolver.resolveInheritedPropertiesUnchecked( getSession(), currentProject, a.getValue().getVersion() ) );
                           } );
             currentProject.getResolvedDependencies( getSession() )
                           .entrySet().stream()
@@ -124,7 +124,7 @@ public abstract class BaseScriptUtils extends Script implements MavenBaseScript
                           .forEach( a -> {
                               logger.debug( "Found artifact {} (original dependency {})", a.getKey(), a.getValue() );
                               a.getValue().setVersion(
-                                              PropertyResolver.resolvePropertiesUnchecked( getSession(), currentProject.getInheritedList(), a.getValue().getVersion() ) );
+                                              PropertyResolver.resolveInheritedPropertiesUnchecked( getSession(), currentProject, a.getValue().getVersion() ) );
                           } );
             currentProject.getResolvedManagedPlugins( getSession() )
                           .entrySet().stream()
@@ -132,7 +132,7 @@ public abstract class BaseScriptUtils extends Script implements MavenBaseScript
                           .forEach( a -> {
                               logger.debug( "Found managed plugin {} (original dependency {})", a.getKey(), a.getValue() );
                               a.getValue().setVersion(
-                                              PropertyResolver.resolvePropertiesUnchecked( getSession(), currentProject.getInheritedList(), a.getValue().getVersion() ) );
+                                              PropertyResolver.resolveInheritedPropertiesUnchecked( getSession(), currentProject, a.getValue().getVersion() ) );
                           } );
             currentProject.getResolvedPlugins( getSession() )
                           .entrySet().stream()
@@ -140,7 +140,7 @@ public abstract class BaseScriptUtils extends Script implements MavenBaseScript
                           .forEach( a -> {
                               logger.debug( "Found plugin {} (original dependency {})", a.getKey(), a.getValue() );
                               a.getValue().setVersion(
-                                              PropertyResolver.resolvePropertiesUnchecked( getSession(), currentProject.getInheritedList(), a.getValue().getVersion() ) );
+                                              PropertyResolver.resolveInheritedPropertiesUnchecked( getSession(), currentProject, a.getValue().getVersion() ) );
                           } );
         }
         catch (ManipulationUncheckedException e)
@@ -26,16 +26,22 @@ import org.commonjava.maven.ext.core.util.DependencyPluginWrapper;
 import org.commonjava.maven.ext.common.model.Project;
 import org.commonjava.maven.ext.common.util.WildcardMap;
 import org.commonjava.maven.ext.core.ManipulationSession;
+import org.commonjava.maven.ext.core.util.OverrideRules;
 import org.commonjava.maven.ext.core.util.PropertiesUtils;
 import org.commonjava.maven.ext.core.util.PropertyMapper;
 import org.commonjava.maven.ext.io.ModelIO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.apache.commons.lang3.StringUtils.join;
@@ -57,186 +63,118 @@ public class CommonManipulator
     protected ManipulationSession session;
 
     /**
-     * Remove module overrides which do not apply to the current module. Searches the full list of version overrides
-     * for any keys which contain the '@' symbol.  Removes these from the version overrides list, and add them back
-     * without the '@' symbol only if they apply to the current module.
+     * Remove module overrides which do not apply to the current module. Uses the module specific rules (keys which
+     * contain the '@' symbol) to remove overrides from the version overrides list, and add them as explicit overrides
+     * only if they apply to the current module.
      *
      * @param projectGA the current project group : artifact
-     * @param moduleOverrides are individual overrides e.g. group:artifact@groupId:artifactId :: value
+     * @param moduleOverrides are the compiled individual overrides e.g. group:artifact@groupId:artifactId :: value
      * @param originalOverrides The full list of version overrides, both global and module specific
      * @param explicitOverrides a custom map to handle wildcard overrides
      * @param extraBOMOverrides a nested map of additional overrides, keyed on a String
-     * @return The map of global and module specific overrides which apply to the given module
+     * @return An unmodifiable view of the global and module specific overrides which apply to the given module
      * @throws ManipulationException if an error occurs
      */
     protected Map<ArtifactRef, String> applyModuleVersionOverrides( final String projectGA,
-                                                                           final Map<String, String> moduleOverrides,
+                                                                           final OverrideRules moduleOverrides,
                                                                            final Map<ArtifactRef, String> originalOverrides,
                                                                            final WildcardMap<String> explicitOverrides,
                                                                            final Map<String, Map<ProjectRef, String>> extraBOMOverrides )
                     throws ManipulationException
     {
-        final Map<ArtifactRef, String> remainingOverrides = new LinkedHashMap<>( originalOverrides );
-
         if (logger.isDebugEnabled())
         {
             logger.debug( "Calculating module-specific version overrides. Starting with:{}  {}", System.lineSeparator(),
-                    join( remainingOverrides.entrySet(), System.lineSeparator() + "  " ) );
+                    join( originalOverrides.entrySet(), System.lineSeparator() + "  " ) );
         }
 
-        // These modes correspond to two different kinds of passes over the available override properties:
-        // 1. Module-specific: Don't process wildcard overrides here, allow module-specific settings to take precedence.
-        // 2. Wildcards: Add these IF there is no corresponding module-specific override.
-        final boolean[] wildcardMode = { false, true };
-        for ( boolean aWildcardMode : wildcardMode )
+        if ( moduleOverrides.isEmpty() )
         {
-            for ( final Entry<String, String> entry : moduleOverrides.entrySet() )
-            {
-                final String currentKey = entry.getKey();
-                final String currentValue = entry.getValue();
-                final boolean isModuleWildcard = currentKey.endsWith( "@*" );
-
-                logger.debug( "Processing key {} for override with value '{}' and is "
-                    + "wildcard {} and in module wildcard {}",
-                    currentKey, currentValue, isModuleWildcard, aWildcardMode );
+            return Collections.unmodifiableMap( originalOverrides );
+        }
 
-                if ( !currentKey.contains( "@" ) )
-                {
-                    logger.trace( "Not an override. Skip." );
-                    continue;
-                }
+        final RemainingOverrides remainingOverrides = new RemainingOverrides( originalOverrides );
 
-                final String artifactGA;
-                boolean replace = false;
-                // process module-specific overrides (first)
-                if ( !aWildcardMode )
-                {
-                    // skip wildcard overrides in this mode
-                    if ( isModuleWildcard )
-                    {
-                        logger.trace( "Not currently in wildcard mode. Skip." );
-                        continue;
-                    }
+        // There are two different kinds of passes over the available override rules:
+        // 1. Module-specific: Don't process wildcard overrides here, allow module-specific settings to take precedence.
+        // 2. Wildcards: Add these IF there is no corresponding module-specific override.
+        for ( final OverrideRules.Rule rule : moduleOverrides.getModuleRules( projectGA ) )
+        {
+            logger.debug( "Processing key {} for override with value '{}' for module {}", rule.getKey(),
+                          rule.getValue(), projectGA );
 
-                    final String[] artifactAndModule = currentKey.split( "@" );
-                    if ( artifactAndModule.length != 2 )
-                    {
-                        throw new ManipulationException( "Invalid format for exclusion key {}", currentKey );
-                    }
-                    artifactGA = artifactAndModule[0];
-                    final ProjectRef moduleGA = SimpleProjectRef.parse( artifactAndModule[1] );
-
-                    logger.debug( "For artifact override: {}, comparing parsed module: {} to current project: {}",
-                                  artifactGA, moduleGA, projectGA );
-
-                    if ( moduleGA.toString().equals( projectGA ) ||
-                                    (
-                                        moduleGA.getArtifactId().equals( "*" ) &&
-                                        SimpleProjectRef.parse( projectGA ).getGroupId().equals( moduleGA.getGroupId()
-                                    )
-                        ) )
-                    {
-                        if ( currentValue != null && !currentValue.isEmpty() )
-                        {
-                            replace = true;
-                            logger.debug( "Overriding module dependency for {} with {} : {}", moduleGA, artifactGA,
-                                          currentValue );
-                        }
-                        else
-                        {
-                            // Override prevention...
-                            removeGA( remainingOverrides, SimpleProjectRef.parse( artifactGA ) );
-                            logger.debug( "For module {}, ignoring dependency override for {}", moduleGA, artifactGA);
-                        }
-                    }
-                }
-                // process wildcard overrides (second)
-                else
-                {
-                    // skip module-specific overrides in this mode i.e. format of groupdId:artifactId@*=
-                    if ( !isModuleWildcard )
-                    {
-                        logger.debug( "Currently in wildcard mode. Skip." );
-                        continue;
-                    }
+            if ( !rule.isExclusion() )
+            {
+                logger.debug( "Overriding module dependency for {} with {} : {}", rule.getModule(),
+                              rule.getArtifact(), rule.getValue() );
+                replace( rule, explicitOverrides, extraBOMOverrides );
+            }
+            else
+            {
+                // Override prevention...
+                remainingOverrides.removeGA( rule.getArtifact() );
+                logger.debug( "For module {}, ignoring dependency override for {}", rule.getModule(),
+                              rule.getArtifact() );
+            }
+        }
 
-                    artifactGA = currentKey.substring( 0, currentKey.length() - 2 );
-                    logger.debug( "For artifact override: {}, checking if current overrides already contain a module-specific version.",
-                                  artifactGA );
+        for ( final OverrideRules.Rule rule : moduleOverrides.getWildcardRules() )
+        {
+            final ProjectRef artifactGA = rule.getArtifact();
 
-                    if ( explicitOverrides.containsKey( SimpleProjectRef.parse( artifactGA ) ) )
-                    {
-                        logger.debug( "For artifact override: {}, current overrides already contain a module-specific version. Skip.",
-                                      artifactGA );
-                        continue;
-                    }
+            logger.debug( "Processing key {} for override with value '{}' in module wildcard mode", rule.getKey(),
+                          rule.getValue() );
 
-                    // I think this is only used for e.g. dependencyExclusion.groupId:artifactId@*=<explicitVersion>
-                    if ( currentValue != null && !currentValue.isEmpty() )
-                    {
-                        logger.debug( "Overriding module dependency for {} with {} : {}", projectGA, artifactGA,
-                                      currentValue );
-                        replace = true;
-                    }
-                    else
-                    {
-                        // If we have a wildcard artifact we want to replace any prior explicit overrides
-                        // with this one i.e. this takes precedence.
-                        removeGA( remainingOverrides, SimpleProjectRef.parse( artifactGA ) );
-                        logger.debug( "Removing artifactGA {} from overrides", artifactGA );
-                    }
-                }
+            if ( explicitOverrides.containsKey( artifactGA ) )
+            {
+                logger.debug( "For artifact override: {}, current overrides already contain a module-specific version. Skip.",
+                              artifactGA );
+                continue;
+            }
 
-                if ( replace )
-                {
-                    final ProjectRef projectRef = SimpleProjectRef.parse( artifactGA );
-                    final String newArtifactValue;
-                    // Expand values that reference an extra BOM
-                    final Map<ProjectRef, String> extraBOM = extraBOMOverrides.get( currentValue );
-                    if ( extraBOM == null )
-                    {
-                        newArtifactValue = currentValue;
-                    }
-                    else
-                    {
-                        newArtifactValue = extraBOM.get( projectRef );
-                        if ( newArtifactValue == null )
-                        {
-                            throw new ManipulationException( "Extra BOM {} does not define a version for artifact {} targeted by {}",
-                                                             currentValue, artifactGA, currentKey );
-                        }
-                        logger.debug( "Dereferenced value {} for {} from extra BOM {}", newArtifactValue, artifactGA,
-                                      currentValue );
-                    }
-                    explicitOverrides.put( projectRef, newArtifactValue );
-                }
+            // I think this is only used for e.g. dependencyExclusion.groupId:artifactId@*=<explicitVersion>
+            if ( !rule.isExclusion() )
+            {
+                logger.debug( "Overriding module dependency for {} with {} : {}", projectGA, artifactGA,
+                              rule.getValue() );
+                replace( rule, explicitOverrides, extraBOMOverrides );
+            }
+            else
+            {
+                // If we have a wildcard artifact we want to replace any prior explicit overrides
+                // with this one i.e. this takes precedence.
+                remainingOverrides.removeGA( artifactGA );
+                logger.debug( "Removing artifactGA {} from overrides", artifactGA );
             }
         }
 
         return remainingOverrides;
     }
 
-    private void removeGA( Map<ArtifactRef, String> overrides, ProjectRef ref )
+    private void replace( final OverrideRules.Rule rule, final WildcardMap<String> explicitOverrides,
+                          final Map<String, Map<ProjectRef, String>> extraBOMOverrides ) throws ManipulationException
     {
-        Iterator<ArtifactRef> it = overrides.keySet().iterator();
-
-        while ( it.hasNext() )
+        final ProjectRef projectRef = rule.getArtifact();
+        final String currentValue = rule.getValue();
+        final String newArtifactValue;
+        // Expand values that reference an extra BOM
+        final Map<ProjectRef, String> extraBOM = extraBOMOverrides.get( currentValue );
+        if ( extraBOM == null )
         {
-            ArtifactRef a = it.next();
-
-            if ( a.asProjectRef().equals( ref ) ||
-                ( ref.getArtifactId().equals( "*" ) && a.getGroupId().equals( ref.getGroupId() ) ) ||
-                ( ref.getGroupId().equals( "*" ) && a.getArtifactId().equals( ref.getArtifactId() ) ) )
-            {
-                it.remove();
-            }
-            else if ( ref.getArtifactId().equals( "*" ) && ref.getGroupId().equals( "*" ) )
+            newArtifactValue = currentValue;
+        }
+        else
+        {
+            newArtifactValue = extraBOM.get( projectRef );
+            if ( newArtifactValue == null )
             {
-                // For complete wildcard also cache the ignored module as we need the list later during
-                // property processing.
-                it.remove();
+                throw new ManipulationException( "Extra BOM {} does not define a version for artifact {} targeted by {}",
+                                                 currentValue, projectRef, rule.getKey() );
             }
+            logger.debug( "Dereferenced value {} for {} from extra BOM {}", newArtifactValue, projectRef,
+                          currentValue );
         }
+        explicitOverrides.put( projectRef, newArtifactValue );
     }
 
     /**
@@ -354,4 +292,95 @@ public class CommonManipulator
         result.setArtifactId( target.split( ":" )[1] );
         return result;
     }
+
+    /**
+     * View of the overrides with those removed for a module filtered out, rather than a copy of the overrides for
+     * every module. Removals are recorded by groupId:artifactId, groupId or artifactId wildcard so that each is
+     * constant time rather than a scan of the overrides.
+     */
+    private static final class RemainingOverrides
+                    extends AbstractMap<ArtifactRef, String>
+    {
+        private final Map<ArtifactRef, String> overrides;
+
+        private final Set<ProjectRef> removedGAs = new HashSet<>();
+
+        private final Set<String> removedGroupIds = new HashSet<>();
+
+        private final Set<String> removedArtifactIds = new HashSet<>();
+
+        private boolean removedAll;
+
+        private RemainingOverrides( final Map<ArtifactRef, String> overrides )
+        {
+            this.overrides = overrides;
+        }
+
+        private void removeGA( final ProjectRef ref )
+        {
+            final boolean groupWildcard = ref.getGroupId().equals( "*" );
+            final boolean artifactWildcard = ref.getArtifactId().equals( "*" );
+
+            if ( groupWildcard && artifactWildcard )
+            {
+                // For complete wildcard also cache the ignored module as we need the list later during
+                // property processing.
+                removedAll = true;
+            }
+            else if ( artifactWildcard )
+            {
+                removedGroupIds.add( ref.getGroupId() );
+            }
+            else if ( groupWildcard )
+            {
+                removedArtifactIds.add( ref.getArtifactId() );
+            }
+            else
+            {
+                removedGAs.add( ref );
+            }
+        }
+
+        private boolean isRemoved( final ArtifactRef a )
+        {
+            return removedAll || removedGroupIds.contains( a.getGroupId() ) || removedArtifactIds.contains(
+                            a.getArtifactId() ) || removedGAs.contains(
+                            new SimpleProjectRef( a.getGroupId(), a.getArtifactId() ) );
+        }
+
+        @Override
+        public boolean containsKey( final Object key )
+        {
+            return key instanceof ArtifactRef && overrides.containsKey( key ) && !isRemoved( (ArtifactRef) key );
+        }
+
+        @Override
+        public String get( final Object key )
+        {
+            return containsKey( key ) ? overrides.get( key ) : null;
+        }
+
+        @Override
+        public Set<Entry<ArtifactRef, String>> entrySet()
+        {
+            return new AbstractSet<Entry<ArtifactRef, String>>()
+            {
+                @Override
+                public Iterator<Entry<ArtifactRef, String>> iterator()
+                {
+                    return overrides.entrySet()
+                                    .stream()
+                                    .filter( e -> !isRemoved( e.getKey() ) )
+                                    .map( e -> (Entry<ArtifactRef, String>) new SimpleImmutableEntry<>( e ) )
+                                    .iterator();
+                }
+
+                @Override
+                public int size()
+                {
+                    return (int) overrides.keySet().stream().filter( a -> !isRemoved( a ) ).count();
+                }
+            };
+        }
+    }
 }
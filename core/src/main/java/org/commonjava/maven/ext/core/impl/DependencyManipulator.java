@@ -32,6 +32,7 @@ import org.commonjava.maven.ext.common.ManipulationException;
 import org.commonjava.maven.ext.core.util.PluginReference;
 import org.commonjava.maven.ext.core.util.DependencyPluginWrapper;
 import org.commonjava.maven.ext.common.model.Project;
+import org.commonjava.maven.ext.common.model.ReactorIndex;
 import org.commonjava.maven.ext.common.model.SimpleScopedArtifactRef;
 import org.commonjava.maven.ext.common.util.PropertyResolver;
 import org.commonjava.maven.ext.common.util.WildcardMap;
@@ -41,6 +42,7 @@ import org.commonjava.maven.ext.core.state.DependencyState;
 import org.commonjava.maven.ext.core.state.DependencyState.DependencyPrecedence;
 import org.commonjava.maven.ext.core.state.RESTState;
 import org.commonjava.maven.ext.core.util.DependencyPluginUtils;
+import org.commonjava.maven.ext.core.util.OverrideIndex;
 import org.commonjava.maven.ext.core.util.PropertiesUtils;
 import org.commonjava.maven.ext.core.util.PropertyMapper;
 import org.commonjava.maven.ext.io.ModelIO;
@@ -206,24 +208,20 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
 
     private void removeDuplicateArtifacts( Map<ArtifactRef, String> mergedOverrides, Map<ArtifactRef, String> targetOverrides )
     {
+        final OverrideIndex<ArtifactRef> targetIndex = OverrideIndex.forArtifacts( targetOverrides );
         final Iterator<Entry<ArtifactRef, String>> it = mergedOverrides.entrySet().iterator();
         while ( it.hasNext() )
         {
             final Entry<ArtifactRef, String> mergedOverridesEntry = it.next();
             final ArtifactRef key = mergedOverridesEntry.getKey();
-            final ProjectRef pRef = key.asProjectRef();
+            final List<ArtifactRef> targets = targetIndex.get( key.asProjectRef() );
 
-            for ( final Entry<ArtifactRef, String> tatgetOverridesEntry : targetOverrides.entrySet() )
+            if ( !targets.isEmpty() )
             {
-                final ArtifactRef target = tatgetOverridesEntry.getKey();
-
-                if ( pRef.equals( target.asProjectRef() ) )
-                {
-                    logger.debug( "Merging sources ; entry {}={} clashes (and will be removed) with precedence given to {}={}",
-                                  key, mergedOverridesEntry.getValue(), target, tatgetOverridesEntry.getValue() );
-                    it.remove();
-                    break;
-                }
+                final ArtifactRef target = targets.get( 0 );
+                logger.debug( "Merging sources ; entry {}={} clashes (and will be removed) with precedence given to {}={}",
+                              key, mergedOverridesEntry.getValue(), target, targetOverrides.get( target ) );
+                it.remove();
             }
         }
     }
@@ -241,13 +239,18 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
         final CommonState cState = session.getState( CommonState.class );
         final Set<Project> result = new HashSet<>( projects.size() );
 
+        // The reactor is the same for every project so only remove its GAs once, and index what remains
+        // by groupId:artifactId so each dependency can look up its overrides directly.
+        final Map<ArtifactRef, String> nonReactorOverrides = removeReactorGAs( overrides );
+        final OverrideIndex<ArtifactRef> overrideIndex = OverrideIndex.forArtifacts( nonReactorOverrides );
+
         for ( final Project project : projects )
         {
             final Model model = project.getModel();
 
             if ( !overrides.isEmpty() || !state.getDependencyOverrides().isEmpty() )
             {
-                apply( project, model, overrides );
+                apply( project, model, overrides, nonReactorOverrides, overrideIndex );
 
                 result.add( project );
             }
@@ -307,7 +310,8 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
     /**
      * Applies dependency overrides to the project.
      */
-    private void apply( final Project project, final Model model, final Map<ArtifactRef, String> overrides )
+    private void apply( final Project project, final Model model, final Map<ArtifactRef, String> overrides,
+                        final Map<ArtifactRef, String> nonReactorOverrides, final OverrideIndex<ArtifactRef> overrideIndex )
                     throws ManipulationException
     {
         // Map of Group : Map of artifactId [ may be wildcard ] : value
@@ -318,13 +322,12 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
 
         logger.debug( "Processing project {}", projectGA );
 
-        Map<ArtifactRef, String> originalOverrides = new LinkedHashMap<>( overrides );
-        originalOverrides = removeReactorGAs( originalOverrides );
+        Map<ArtifactRef, String> originalOverrides = nonReactorOverrides;
 
         logger.debug( "Using dependencyOverride of {}", dependencyState.getDependencyOverrides() );
         try
         {
-            originalOverrides = applyModuleVersionOverrides( projectGA, dependencyState.getDependencyOverrides(),
+            originalOverrides = applyModuleVersionOverrides( projectGA, dependencyState.getDependencyOverrideRules(),
                                                            originalOverrides, explicitOverrides,
                                                            dependencyState.getExtraBOMDepMgmts() );
             logger.debug( "Module overrides are:{}{}", System.lineSeparator(), originalOverrides );
@@ -394,9 +397,9 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
             // Apply overrides to project dependency management
             logger.debug( "Applying overrides to managed dependencies for: {}", projectGA );
 
-            final Map<ArtifactRef, String> nonMatchingVersionOverrides =
+            final Set<ArtifactRef> matchedVersionOverrides =
                             applyOverrides( project, project.getResolvedManagedDependencies( session ),
-                                            explicitOverrides, originalOverrides );
+                                            explicitOverrides, originalOverrides, overrideIndex );
 
             applyExplicitOverrides( project, project.getResolvedManagedDependencies( session ), explicitOverrides,
                                     explicitVersionPropertyUpdateMap );
@@ -409,7 +412,7 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
                 // Add dependencies to Dependency Management which did not match any existing dependency
                 for ( final ArtifactRef pvr : overrideRefs )
                 {
-                    if ( !nonMatchingVersionOverrides.containsKey( pvr ) )
+                    if ( !originalOverrides.containsKey( pvr ) || matchedVersionOverrides.contains( pvr ) )
                     {
                         // This one in the remote pom was already dealt with ; continue.
                         continue;
@@ -457,14 +460,15 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
         {
             logger.debug( "Applying overrides to managed dependencies for: {}", projectGA );
             applyOverrides( project, project.getResolvedManagedDependencies( session ), explicitOverrides,
-                            originalOverrides );
+                            originalOverrides, overrideIndex );
             applyExplicitOverrides( project, project.getResolvedManagedDependencies( session ), explicitOverrides,
                                     explicitVersionPropertyUpdateMap );
         }
 
         logger.debug( "Applying overrides to concrete dependencies for: {}", projectGA );
         // Apply overrides to project direct dependencies
-        applyOverrides( project, project.getResolvedDependencies( session ), explicitOverrides, originalOverrides );
+        applyOverrides( project, project.getResolvedDependencies( session ), explicitOverrides, originalOverrides,
+                        overrideIndex );
         applyExplicitOverrides( project, project.getResolvedDependencies( session ), explicitOverrides,
                                 explicitVersionPropertyUpdateMap );
 
@@ -473,33 +477,33 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
 
         for ( final Map<ArtifactRef, Dependency> dependencies : pd.values() )
         {
-            applyOverrides( project, dependencies, explicitOverrides, originalOverrides );
+            applyOverrides( project, dependencies, explicitOverrides, originalOverrides, overrideIndex );
             applyExplicitOverrides( project, dependencies, explicitOverrides, explicitVersionPropertyUpdateMap );
         }
 
         for ( final Map<ArtifactRef, Dependency> dependencies : pmd.values() )
         {
-            applyOverrides( project, dependencies, explicitOverrides, originalOverrides );
+            applyOverrides( project, dependencies, explicitOverrides, originalOverrides, overrideIndex );
             applyExplicitOverrides( project, dependencies, explicitOverrides, explicitVersionPropertyUpdateMap );
         }
 
         // Apply dependency changes to dependencies that occur within plugins.
         final  Map<ProjectVersionRef, Plugin> resolvedPlugins = project.getAllResolvedPlugins( session );
-        applyPlugins( project, resolvedPlugins, explicitOverrides, originalOverrides);
+        applyPlugins( project, resolvedPlugins, explicitOverrides, originalOverrides, overrideIndex );
         applyExplicitOverrides( project, resolvedPlugins, explicitOverrides, explicitVersionPropertyUpdateMap );
 
         final  Map<ProjectVersionRef, Plugin> resolvedManagedPlugins = project.getResolvedManagedPlugins( session );
-        applyPlugins( project, resolvedManagedPlugins, explicitOverrides, originalOverrides);
+        applyPlugins( project, resolvedManagedPlugins, explicitOverrides, originalOverrides, overrideIndex );
         applyExplicitOverrides( project, resolvedManagedPlugins, explicitOverrides, explicitVersionPropertyUpdateMap );
 
         for (Map<ProjectVersionRef, Plugin> resolvedProfilePlugins : project.getAllResolvedProfilePlugins( session ).values() )
         {
-            applyPlugins( project, resolvedProfilePlugins, explicitOverrides, originalOverrides);
+            applyPlugins( project, resolvedProfilePlugins, explicitOverrides, originalOverrides, overrideIndex );
             applyExplicitOverrides( project, resolvedProfilePlugins, explicitOverrides, explicitVersionPropertyUpdateMap );
         }
         for (Map<ProjectVersionRef, Plugin> resolvedManagedProfilePlugins : project.getResolvedProfileManagedPlugins( session ).values() )
         {
-            applyPlugins( project, resolvedManagedProfilePlugins, explicitOverrides, originalOverrides);
+            applyPlugins( project, resolvedManagedProfilePlugins, explicitOverrides, originalOverrides, overrideIndex );
             applyExplicitOverrides( project, resolvedManagedProfilePlugins, explicitOverrides, explicitVersionPropertyUpdateMap );
         }
 
@@ -507,13 +511,14 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
         final List<Map<ArtifactRef, Dependency>> pluginDependencies = project.getAllResolvedPluginDependencies( session );
         for (Map<ArtifactRef, Dependency> depMap : pluginDependencies)
         {
-            applyOverrides( project, depMap, explicitOverrides, originalOverrides );
+            applyOverrides( project, depMap, explicitOverrides, originalOverrides, overrideIndex );
             applyExplicitOverrides( project, depMap, explicitOverrides, explicitVersionPropertyUpdateMap );
         }
     }
 
     private void applyPlugins( Project project, Map<ProjectVersionRef, Plugin> plugins,
-                               WildcardMap<String> explicitOverrides, Map<ArtifactRef, String> overrides )
+                               WildcardMap<String> explicitOverrides, Map<ArtifactRef, String> overrides,
+                               OverrideIndex<ArtifactRef> overrideIndex )
                     throws ManipulationException
     {
         // Handles plugin configurations
@@ -536,31 +541,33 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
         logger.debug( "Located plugins with resolved artifact references: {}", pluginsWithDeps );
 
         // Reuse prior apply* to handle plugin with dependencies as well.
-        applyOverrides( project, pluginsWithDeps, explicitOverrides, overrides );
+        applyOverrides( project, pluginsWithDeps, explicitOverrides, overrides, overrideIndex );
         applyExplicitOverrides( project, pluginsWithDeps, explicitOverrides, explicitVersionPropertyUpdateMap );
     }
 
     /**
-     * Apply a set of version overrides to a list of dependencies. Return a set of the overrides which were not applied.
+     * Apply a set of version overrides to a list of dependencies. Return a set of the overrides which were applied.
      *
      * @param project The current Project
      * @param dependencies The list of dependencies
      * @param explicitOverrides Any explicitOverrides to track for ignoring
      * @param overrides The map of dependency version overrides
-     * @return The map of overrides that were not matched in the dependencies
+     * @param overrideIndex An index by groupId:artifactId of (at least) every key within overrides
+     * @return The set of overrides that were matched in the dependencies
      * @throws ManipulationException if an error occurs
      */
-    private Map<ArtifactRef, String> applyOverrides( final Project project,
-                                                     final Map<? extends ProjectVersionRef, ? extends InputLocationTracker> dependencies,
-                                                     final WildcardMap<String> explicitOverrides, final Map<ArtifactRef, String> overrides )
+    private Set<ArtifactRef> applyOverrides( final Project project,
+                                             final Map<? extends ProjectVersionRef, ? extends InputLocationTracker> dependencies,
+                                             final WildcardMap<String> explicitOverrides, final Map<ArtifactRef, String> overrides,
+                                             final OverrideIndex<ArtifactRef> overrideIndex )
                     throws ManipulationException
     {
-        // Duplicate the override map so unused overrides can be easily recorded
-        final Map<ArtifactRef, String> unmatchedVersionOverrides = new LinkedHashMap<>( overrides );
+        // Record the used overrides so the caller may determine those that were unused.
+        final Set<ArtifactRef> matchedVersionOverrides = new HashSet<>();
 
         if ( dependencies == null || dependencies.isEmpty() )
         {
-            return unmatchedVersionOverrides;
+            return matchedVersionOverrides;
         }
 
         final CommonState commonState = session.getState( CommonState.class );
@@ -577,14 +584,15 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
             // different modules. It is currently undefined what will happen if non-strict mode is enabled and
             // multiple versions are in the remote override list (be it from a bom or rest call). Actually, what
             // will most likely happen is last-wins.
-            for ( final Entry<ArtifactRef, String> entry : overrides.entrySet() )
+            for ( final ArtifactRef override : overrideIndex.get( depPr ) )
             {
-                ProjectRef groupIdArtifactId = entry.getKey().asProjectRef();
-                if ( depPr.equals( groupIdArtifactId ) )
+                // The index is shared by all projects, so skip any overrides that have been removed for this project.
+                if ( overrides.containsKey( override ) )
                 {
+                    final ProjectRef groupIdArtifactId = override.asProjectRef();
                     final DependencyPluginWrapper wrapper = new DependencyPluginWrapper( e.getValue() );
                     final String oldVersion = wrapper.getVersion();
-                    final String overrideVersion = entry.getValue();
+                    final String overrideVersion = overrides.get( override );
                     final String resolvedValue = dependency.getVersionString();
 
                     if ( isEmpty( overrideVersion ) )
@@ -605,7 +613,7 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
                     else if ( explicitOverrides.containsKey( depPr ) )
                     {
                         logger.debug ("Dependency {} matches known explicit override so not performing initial override pass.", depPr);
-                        unmatchedVersionOverrides.remove( entry.getKey() );
+                        matchedVersionOverrides.add( override );
                     }
                     // If we're doing strict matching with properties, then the original parts should match.
                     // i.e. assuming original resolved value is 1.2 and potential new value is 1.2.rebuild-1
@@ -619,12 +627,12 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
                                     ! PropertiesUtils.checkStrictValue( session, resolvedValue, overrideVersion) )
                     {
                         logger.debug ("Original fully resolved version {} for {} does not match override version {} -> {} so ignoring",
-                                      resolvedValue, dependency, entry.getKey(), overrideVersion);
+                                      resolvedValue, dependency, override, overrideVersion);
                         if ( commonState.isFailOnStrictViolation() )
                         {
                             throw new ManipulationException(
                                             "For {} replacing original property version {} (fully resolved: {} ) with new version {} for {} violates the strict version-alignment rule!",
-                                            depPr.toString(), wrapper.getVersion(), resolvedValue, entry.getKey().getVersionString(), entry.getKey().asProjectRef().toString());
+                                            depPr.toString(), wrapper.getVersion(), resolvedValue, override.getVersionString(), override.asProjectRef().toString());
                         }
                         else
                         {
@@ -634,7 +642,7 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
                     }
                     else
                     {
-                        if ( ! PropertiesUtils.cacheProperty( session, project, versionPropertyUpdateMap, oldVersion, overrideVersion, entry.getKey(), false ))
+                        if ( ! PropertiesUtils.cacheProperty( session, project, versionPropertyUpdateMap, oldVersion, overrideVersion, override, false ))
                         {
                             if ( strict && ! PropertiesUtils.checkStrictValue( session, resolvedValue, overrideVersion) )
                             {
@@ -687,13 +695,13 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
                                 }
                             }
                         }
-                        unmatchedVersionOverrides.remove( entry.getKey() );
+                        matchedVersionOverrides.add( override );
                     }
                 }
             }
         }
 
-        return unmatchedVersionOverrides;
+        return matchedVersionOverrides;
     }
 
     /**
@@ -707,18 +715,9 @@ public class DependencyManipulator extends CommonManipulator implements Manipula
     private Map<ArtifactRef, String> removeReactorGAs( final Map<ArtifactRef, String> versionOverrides )
     {
         final Map<ArtifactRef, String> reducedVersionOverrides = new LinkedHashMap<>( versionOverrides );
-        final Iterator<Entry<ArtifactRef, String>> it = reducedVersionOverrides.entrySet().iterator();
-        while ( it.hasNext() )
-        {
-            final Entry<ArtifactRef, String> e = it.next();
-            // Rather than iterating through all projects we find the first match to remove from the list. This then
-            // handles the scenario where there is a badly defined project with duplicate GA in the list.
-            if (session.getProjects().stream().anyMatch((p ->
-                e.getKey().getGroupId().equals( p.getGroupId() )
-                        && e.getKey().getArtifactId().equals( p.getArtifactId() )))) {
-                it.remove();
-            }
-        }
+        final ReactorIndex reactor = session.getReactorIndex();
+
+        reducedVersionOverrides.keySet().removeIf( a -> reactor.contains( a.getGroupId(), a.getArtifactId() ) );
         return reducedVersionOverrides;
     }
 
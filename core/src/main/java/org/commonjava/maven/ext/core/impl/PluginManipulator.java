@@ -36,6 +36,7 @@ import org.commonjava.maven.ext.core.state.PluginState;
 import org.commonjava.maven.ext.core.state.PluginState.PluginPrecedence;
 import org.commonjava.maven.ext.core.state.PluginState.Precedence;
 import org.commonjava.maven.ext.core.state.RESTState;
+import org.commonjava.maven.ext.core.util.OverrideIndex;
 import org.commonjava.maven.ext.core.util.PropertiesUtils;
 import org.commonjava.maven.ext.core.util.PropertyMapper;
 import org.commonjava.maven.ext.io.ModelIO;
@@ -44,6 +45,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -132,6 +134,7 @@ public class PluginManipulator extends CommonManipulator implements Manipulator
 
         final Set<Project> changed = new HashSet<>();
         final Set<Plugin> mgmtOverrides = loadRemoteBOM();
+        final OverrideIndex<Plugin> overrideIndex = OverrideIndex.forPlugins( mgmtOverrides );
 
         for ( final Project project : projects )
         {
@@ -139,7 +142,7 @@ public class PluginManipulator extends CommonManipulator implements Manipulator
 
             if (!mgmtOverrides.isEmpty() || !state.getPluginOverride().isEmpty())
             {
-                apply( project, model, mgmtOverrides );
+                apply( project, model, mgmtOverrides, overrideIndex );
 
                 changed.add( project );
             }
@@ -256,7 +259,8 @@ public class PluginManipulator extends CommonManipulator implements Manipulator
         return mergedOverrides;
     }
 
-    private void apply( final Project project, final Model model, final Set<Plugin> overrides )
+    private void apply( final Project project, final Model model, final Set<Plugin> overrides,
+                        final OverrideIndex<Plugin> overrideIndex )
         throws ManipulationException
     {
         if ( logger.isDebugEnabled() )
@@ -272,21 +276,14 @@ public class PluginManipulator extends CommonManipulator implements Manipulator
         final Map<ArtifactRef, String> originalOverrides = new HashMap<>();
         overrides.forEach( p -> originalOverrides.put( new ArtifactPluginWrapper( p ), p.getVersion()) );
 
-        final Map<ArtifactRef, String> originalOverridesReduced = applyModuleVersionOverrides( projectGA, pluginState.getPluginOverride(), originalOverrides, explicitOverrides, Collections.emptyMap() );
+        final Map<ArtifactRef, String> originalOverridesReduced = applyModuleVersionOverrides( projectGA, pluginState.getPluginOverrideRules(), originalOverrides, explicitOverrides, Collections.emptyMap() );
 
         // Now we have a reduced list of wrapper plugins (due to removing those are being explicitly overridden).
         // Therefore reflect that in the original plugin list.
-        final Iterator<Plugin> it = overrides.iterator();
-        while (it.hasNext())
-        {
-            final Plugin existing = it.next();
-            if ( originalOverridesReduced.keySet().stream().anyMatch( a -> ((ArtifactPluginWrapper)a).getOriginal().equals( existing ) ) )
-            {
-                continue;
-            }
-            // Couldn't find it so remove it.
-            it.remove();
-        }
+        final Set<Plugin> reduced = new HashSet<>( originalOverridesReduced.size() );
+        originalOverridesReduced.keySet().forEach( a -> reduced.add( ( (ArtifactPluginWrapper) a ).getOriginal() ) );
+        // Couldn't find it so remove it.
+        overrides.removeIf( existing -> !reduced.contains( existing ) );
 
         if ( project.isInheritanceRoot() )
         {
@@ -310,10 +307,10 @@ public class PluginManipulator extends CommonManipulator implements Manipulator
             }
 
             // Override plugin management versions
-            applyOverrides( project, PluginType.LocalPM, project.getResolvedManagedPlugins( session ), overrides );
+            applyOverrides( project, PluginType.LocalPM, project.getResolvedManagedPlugins( session ), overrides, overrideIndex );
         }
 
-        applyOverrides( project, PluginType.LocalP, project.getResolvedPlugins( session ), overrides );
+        applyOverrides( project, PluginType.LocalP, project.getResolvedPlugins( session ), overrides, overrideIndex );
         applyExplicitOverrides( project, project.getResolvedPlugins( session ), explicitOverrides,
                                 explicitVersionPropertyUpdateMap );
         applyExplicitOverrides( project, project.getResolvedManagedPlugins( session ), explicitOverrides,
@@ -325,13 +322,13 @@ public class PluginManipulator extends CommonManipulator implements Manipulator
         logger.debug( "Processing profiles with plugin management" );
         for ( final Map<ProjectVersionRef, Plugin> plugins : pmd.values() )
         {
-            applyOverrides( project, PluginType.LocalPM, plugins, overrides );
+            applyOverrides( project, PluginType.LocalPM, plugins, overrides, overrideIndex );
             applyExplicitOverrides( project, plugins, explicitOverrides, explicitVersionPropertyUpdateMap );
         }
         logger.debug( "Processing profiles with plugins" );
         for ( final Map<ProjectVersionRef, Plugin> plugins : pd.values() )
         {
-            applyOverrides( project, PluginType.LocalP, plugins, overrides );
+            applyOverrides( project, PluginType.LocalP, plugins, overrides, overrideIndex );
             applyExplicitOverrides( project, plugins, explicitOverrides, explicitVersionPropertyUpdateMap );
         }
 
@@ -353,11 +350,13 @@ public class PluginManipulator extends CommonManipulator implements Manipulator
      * @param localPluginType The type of local block (mgmt or plugins). Only used to determine whether to inject configs/deps/executions.
      * @param plugins The list of plugins to modify
      * @param pluginVersionOverrides The list of version overrides to apply to the plugins
+     * @param overrideIndex An index by groupId:artifactId of (at least) every plugin within pluginVersionOverrides
      * @throws ManipulationException if an error occurs.
      */
     // TODO:  Pass in explicitOverrides to avoid potential property clashes.
     private void applyOverrides( Project project, final PluginType localPluginType, final Map<ProjectVersionRef, Plugin> plugins,
-                                 final Set<Plugin> pluginVersionOverrides ) throws ManipulationException
+                                 final Set<Plugin> pluginVersionOverrides, final OverrideIndex<Plugin> overrideIndex )
+                    throws ManipulationException
     {
         if ( plugins == null )
         {
@@ -375,7 +374,20 @@ public class PluginManipulator extends CommonManipulator implements Manipulator
             pluginsByGA.put( pvr.asProjectRef().toString(), pvr );
         }
 
-        for ( final Plugin override : pluginVersionOverrides )
+        // Unless unmatched overrides may be injected into the management block only those overrides that match a local
+        // plugin are relevant.
+        final Collection<Plugin> candidates;
+        if ( localPluginType == PluginType.LocalPM && commonState.isOverrideTransitive() )
+        {
+            candidates = pluginVersionOverrides;
+        }
+        else
+        {
+            candidates = overrideIndex.get( plugins.keySet() );
+            candidates.retainAll( pluginVersionOverrides );
+        }
+
+        for ( final Plugin override : candidates )
         {
             Plugin plugin = null;
             String newValue = override.getVersion();
@@ -91,13 +91,7 @@ public class RESTBOMCollector
             return;
         }
 
-        final ArrayList<ProjectVersionRef> restParam = new ArrayList<>();
-
-        // If the various state e.g. dependencyState::getRemoteBOMDepMgmt contains suffix then process it.
-        // We only recognise dependencyManagement of the form g:a:version-rebuild not g:a:version-rebuild-<numeric>.
-        populateRestParam( restParam, "dependencyManagement", ds.getRemoteBOMDepMgmt() );
-        populateRestParam( restParam, "pluginManagement", ps.getRemotePluginMgmt() );
-        populateRestParam( restParam, "profileInjectionManagement", pis.getRemoteProfileInjectionMgmt() );
+        final List<ProjectVersionRef> restParam = establishBOMs( session );
 
         if ( restParam.size() > 0 )
         {
@@ -124,7 +118,30 @@ public class RESTBOMCollector
         }
     }
 
-    private void populateRestParam( final ArrayList<ProjectVersionRef> restParam, final String log, final List<ProjectVersionRef> bomMgmt )
+    /**
+     * Establishes the remote BOMs that require a REST lookup.
+     *
+     * @param session the ManipulationSession
+     * @return the GAVs to pass to the REST client.
+     */
+    static List<ProjectVersionRef> establishBOMs( final ManipulationSession session )
+    {
+        final DependencyState ds = session.getState( DependencyState.class );
+        final PluginState ps = session.getState( PluginState.class );
+        final ProfileInjectionState pis = session.getState( ProfileInjectionState.class );
+        final List<ProjectVersionRef> restParam = new ArrayList<>();
+
+        // If the various state e.g. dependencyState::getRemoteBOMDepMgmt contains suffix then process it.
+        // We only recognise dependencyManagement of the form g:a:version-rebuild not g:a:version-rebuild-<numeric>.
+        populateRestParam( session, restParam, "dependencyManagement", ds.getRemoteBOMDepMgmt() );
+        populateRestParam( session, restParam, "pluginManagement", ps.getRemotePluginMgmt() );
+        populateRestParam( session, restParam, "profileInjectionManagement", pis.getRemoteProfileInjectionMgmt() );
+
+        return restParam;
+    }
+
+    private static void populateRestParam( final ManipulationSession session, final List<ProjectVersionRef> restParam,
+                                           final String log, final List<ProjectVersionRef> bomMgmt )
     {
         asStream( bomMgmt ).filter
                         ( b -> !Version.hasBuildNumber( b.getVersionString() ) &&
@@ -31,6 +31,7 @@ import org.commonjava.maven.ext.core.state.DependencyState;
 import org.commonjava.maven.ext.core.state.PluginState;
 import org.commonjava.maven.ext.core.state.RESTState;
 import org.commonjava.maven.ext.core.state.VersioningState;
+import org.commonjava.maven.ext.io.rest.PipelinedTranslator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -85,35 +86,18 @@ public class RESTCollector
             return;
         }
 
-        final List<ProjectVersionRef> restLookupProjectVersionParamList = new ArrayList<>();
-        final String override = vs.getOverride();
-
-        for ( final Project project : projects )
-        {
-            if ( isEmpty( override ) )
-            {
-                // Strip SNAPSHOT and handle OSGi and alternate suffixes from the version for matching.
-                restLookupProjectVersionParamList.add( new SimpleProjectVersionRef(
-                                project.getKey().asProjectRef(), handlePotentialSnapshotVersion(
-                                                vs, Version.getOsgiVersion(VersionCalculator.handleAlternate( vs, project.getVersion() ) ) ) ) );
-            }
-            else if ( project.isExecutionRoot() )
-            {
-                // We want to manually override the version ; therefore ignore what is in the project and calculate potential
-                // matches for that instead.
-                Project p = projects.get( 0 );
-                restLookupProjectVersionParamList.add( new SimpleProjectVersionRef( p.getGroupId(), p.getArtifactId(), override ) );
-            }
-        }
-
-        final List<ProjectVersionRef> restLookupVersionsParamList = new ArrayList<>();
+        final List<ProjectVersionRef> restLookupProjectVersionParamList = establishProjectVersions( session, projects );
         final Set<ArtifactRef> localDeps = establishAllDependencies( session, projects, null );
 
         // Ok we now have a defined list of top level project plus a unique list of all possible dependencies.
         // Need to send that to the rest interface to get a translation.
-        for ( ArtifactRef p : localDeps )
+        final List<ProjectVersionRef> restLookupVersionsParamList = asProjectVersionRefs( localDeps );
+
+        // If pipelined, start the project version lookup now so that it runs alongside the dependency lookup.
+        final PipelinedTranslator pipeline = state.getPipelinedTranslator();
+        if ( pipeline != null )
         {
-            restLookupVersionsParamList.add( p.asProjectVersionRef() );
+            pipeline.prefetchProjectVersions( restLookupProjectVersionParamList );
         }
 
         Map<ProjectVersionRef, String> vRestResult;
@@ -163,6 +147,40 @@ public class RESTCollector
         ps.setRemoteRESTOverrides( overrides );
     }
 
+    /**
+     * If {@link RESTState#REST_PIPELINE} is enabled, starts the REST lookups of the BOMs, project versions and
+     * dependencies in the background so that they overlap with the work done before this collector and the
+     * {@link RESTBOMCollector} run. Those still establish and look up their own GAVs, as the projects may be modified
+     * in between ; the prefetched results are used for any GAVs that are unchanged.
+     *
+     * @param session the ManipulationSession
+     * @param projects the projects that have been parsed.
+     * @throws ManipulationException if an error occurs
+     */
+    public static void prefetch( final ManipulationSession session, final List<Project> projects )
+                    throws ManipulationException
+    {
+        final RESTState state = session.getState( RESTState.class );
+
+        if ( !session.isEnabled() || state == null || !state.isEnabled() || state.getPipelinedTranslator() == null )
+        {
+            return;
+        }
+        final PipelinedTranslator pipeline = state.getPipelinedTranslator();
+        final List<ProjectVersionRef> boms = RESTBOMCollector.establishBOMs( session );
+
+        logger.info( "Starting REST lookups for {} projects", projects.size() );
+        if ( !boms.isEmpty() )
+        {
+            pipeline.prefetchVersions( boms );
+        }
+        pipeline.prefetchProjectVersions( establishProjectVersions( session, projects ) );
+        if ( session.getState( DependencyState.class ).getPrecedence() != DependencyState.DependencyPrecedence.NONE )
+        {
+            pipeline.prefetchVersions( asProjectVersionRefs( establishAllDependencies( session, projects, null ) ) );
+        }
+    }
+
     /**
      * No-op in this case - any changes, if configured, would happen in Versioning or Dependency Manipulators.
      */
@@ -183,6 +201,44 @@ public class RESTCollector
     }
 
 
+    private static List<ProjectVersionRef> establishProjectVersions( final ManipulationSession session,
+                                                                     final List<Project> projects )
+    {
+        final VersioningState vs = session.getState( VersioningState.class );
+        final List<ProjectVersionRef> result = new ArrayList<>();
+        final String override = vs.getOverride();
+
+        for ( final Project project : projects )
+        {
+            if ( isEmpty( override ) )
+            {
+                // Strip SNAPSHOT and handle OSGi and alternate suffixes from the version for matching.
+                result.add( new SimpleProjectVersionRef(
+                                project.getKey().asProjectRef(), handlePotentialSnapshotVersion(
+                                                vs, Version.getOsgiVersion(VersionCalculator.handleAlternate( vs, project.getVersion() ) ) ) ) );
+            }
+            else if ( project.isExecutionRoot() )
+            {
+                // We want to manually override the version ; therefore ignore what is in the project and calculate potential
+                // matches for that instead.
+                Project p = projects.get( 0 );
+                result.add( new SimpleProjectVersionRef( p.getGroupId(), p.getArtifactId(), override ) );
+            }
+        }
+        return result;
+    }
+
+    private static List<ProjectVersionRef> asProjectVersionRefs( final Set<ArtifactRef> artifacts )
+    {
+        final List<ProjectVersionRef> result = new ArrayList<>( artifacts.size() );
+
+        for ( ArtifactRef p : artifacts )
+        {
+            result.add( p.asProjectVersionRef() );
+        }
+        return result;
+    }
+
     /**
      * Scans a list of projects and accumulates all dependencies and returns them.
      *
@@ -17,7 +17,6 @@ package org.commonjava.maven.ext.core.impl;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
-import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.model.Dependency;
@@ -33,7 +32,6 @@ import org.commonjava.maven.ext.core.state.RangeResolverState;
 import org.commonjava.maven.ext.core.state.State;
 import org.commonjava.maven.ext.io.resolver.GalleyAPIWrapper;
 import org.commonjava.maven.galley.maven.GalleyMavenException;
-import org.commonjava.maven.galley.maven.model.view.meta.MavenMetadataView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,7 +43,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * This Manipulator runs first and is active by default. It will resolve any ranges and update
@@ -89,94 +87,139 @@ public class RangeResolver
 
         final Set<Project> changed = new HashSet<>( projects.size() );
 
-        for ( final Project p : projects )
+        try
         {
-            try
+            // Resolve the metadata of everything with a range concurrently, before the ranges are locked.
+            final Set<ProjectRef> ranged = new HashSet<>();
+            for ( final Project p : projects )
             {
-                if ( p.getModel().getBuild() != null )
-                {
-                    // PluginManagement
-                    if ( p.getModel().getBuild().getPluginManagement() != null )
-                    {
-                        p.getModel()
-                         .getBuild()
-                         .getPluginManagement()
-                         .getPlugins()
-                         .stream()
-                         .filter( plugin -> StringUtils.isNotEmpty( plugin.getVersion() ) )
-                         .forEach( plugin -> handleVersionWithRange( projects, plugin ) );
-                    }
-                    // Plugins
-                    p.getModel()
-                     .getBuild()
-                     .getPlugins()
-                     .stream()
-                     .filter( plugin -> StringUtils.isNotEmpty( plugin.getVersion() ) )
-                     .forEach( plugin -> handleVersionWithRange( projects, plugin ) );
-                }
+                forEachVersioned( p, dependency -> addRanged( projects, ranged, dependency.getGroupId(),
+                                                              dependency.getArtifactId(), dependency.getVersion() ),
+                                  plugin -> addRanged( projects, ranged, plugin.getGroupId(),
+                                                       plugin.getArtifactId(), plugin.getVersion() ) );
+            }
+            if ( !ranged.isEmpty() )
+            {
+                readerWrapper.prefetchMetadata( ranged );
+            }
 
-                // DependencyManagement
-                if ( p.getModel().getDependencyManagement() != null )
-                {
-                    p.getModel().getDependencyManagement()
-                     .getDependencies()
-                     .stream()
-                     .filter( dependency -> StringUtils.isNotEmpty( dependency.getVersion() ) )
-                     .forEach( dependency -> handleVersionWithRange( projects, dependency ) );
-                }
-                // Dependencies
-                p.getModel().getDependencies()
+            for ( final Project p : projects )
+            {
+                forEachVersioned( p, dependency -> handleVersionWithRange( projects, dependency ),
+                                  plugin -> handleVersionWithRange( projects, plugin ) );
+                changed.add( p );
+            }
+        }
+        catch ( RuntimeException e )
+        {
+            if ( e.getCause() instanceof ManipulationException )
+            {
+                throw ( ManipulationException ) e.getCause();
+            }
+            throw e;
+        }
+        return changed;
+    }
+
+    /**
+     * Passes every dependency and plugin of the project, including those in profiles, that has a version to the
+     * consumers.
+     */
+    private void forEachVersioned( Project p, Consumer<Dependency> dependencies, Consumer<Plugin> plugins )
+    {
+        if ( p.getModel().getBuild() != null )
+        {
+            // PluginManagement
+            if ( p.getModel().getBuild().getPluginManagement() != null )
+            {
+                p.getModel()
+                 .getBuild()
+                 .getPluginManagement()
+                 .getPlugins()
                  .stream()
-                 .filter( dependency -> StringUtils.isNotEmpty( dependency.getVersion() ) )
-                 .forEach( dependency -> handleVersionWithRange( projects, dependency ) );
+                 .filter( plugin -> StringUtils.isNotEmpty( plugin.getVersion() ) )
+                 .forEach( plugins );
+            }
+            // Plugins
+            p.getModel()
+             .getBuild()
+             .getPlugins()
+             .stream()
+             .filter( plugin -> StringUtils.isNotEmpty( plugin.getVersion() ) )
+             .forEach( plugins );
+        }
 
-                p.getModel().getProfiles().stream().filter( profile -> profile.getDependencyManagement() != null )
-                  .forEach( profile -> {
-                    // DependencyManagement
-                        profile.getDependencyManagement()
-                               .getDependencies()
-                               .stream()
-                               .filter( dependency -> StringUtils.isNotEmpty( dependency.getVersion() ) )
-                               .forEach( dependency -> handleVersionWithRange( projects, dependency ) );
-                    // Dependencies
-                    profile.getDependencies()
-                           .stream()
-                           .filter( dependency -> StringUtils.isNotEmpty( dependency.getVersion() ) )
-                           .forEach( dependency -> handleVersionWithRange( projects, dependency ) );
+        // DependencyManagement
+        if ( p.getModel().getDependencyManagement() != null )
+        {
+            p.getModel().getDependencyManagement()
+             .getDependencies()
+             .stream()
+             .filter( dependency -> StringUtils.isNotEmpty( dependency.getVersion() ) )
+             .forEach( dependencies );
+        }
+        // Dependencies
+        p.getModel().getDependencies()
+         .stream()
+         .filter( dependency -> StringUtils.isNotEmpty( dependency.getVersion() ) )
+         .forEach( dependencies );
 
-                    if ( profile.getBuild() != null )
-                    {
-                        // PluginManagement
-                        if ( profile.getBuild().getPluginManagement() != null )
-                        {
-                            profile.getBuild()
-                                   .getPluginManagement()
-                                   .getPlugins()
-                                   .stream()
-                                   .filter( plugin -> StringUtils.isNotEmpty( plugin.getVersion() ) )
-                                   .forEach( plugin -> handleVersionWithRange( projects, plugin ) );
-                        }
-                        // Plugins
-                        profile.getBuild()
-                               .getPlugins()
-                               .stream()
-                               .filter( plugin -> StringUtils.isNotEmpty( plugin.getVersion() ) )
-                               .forEach( plugin -> handleVersionWithRange( projects, plugin ) );
-                    }
-                } );
+        p.getModel().getProfiles().stream().filter( profile -> profile.getDependencyManagement() != null )
+          .forEach( profile -> {
+            // DependencyManagement
+                profile.getDependencyManagement()
+                       .getDependencies()
+                       .stream()
+                       .filter( dependency -> StringUtils.isNotEmpty( dependency.getVersion() ) )
+                       .forEach( dependencies );
+            // Dependencies
+            profile.getDependencies()
+                   .stream()
+                   .filter( dependency -> StringUtils.isNotEmpty( dependency.getVersion() ) )
+                   .forEach( dependencies );
 
-                changed.add( p );
-            }
-            catch ( RuntimeException e )
+            if ( profile.getBuild() != null )
             {
-                if ( e.getCause() instanceof ManipulationException )
+                // PluginManagement
+                if ( profile.getBuild().getPluginManagement() != null )
                 {
-                    throw ( ManipulationException ) e.getCause();
+                    profile.getBuild()
+                           .getPluginManagement()
+                           .getPlugins()
+                           .stream()
+                           .filter( plugin -> StringUtils.isNotEmpty( plugin.getVersion() ) )
+                           .forEach( plugins );
                 }
-                throw e;
+                // Plugins
+                profile.getBuild()
+                       .getPlugins()
+                       .stream()
+                       .filter( plugin -> StringUtils.isNotEmpty( plugin.getVersion() ) )
+                       .forEach( plugins );
+            }
+        } );
+    }
+
+    private void addRanged( List<Project> projects, Set<ProjectRef> ranged, String groupId, String artifactId,
+                            String version )
+    {
+        try
+        {
+            if ( VersionRange.createFromVersionSpec( PropertyResolver.resolvePropertiesUnchecked( session, projects,
+                                                                                                  version ) )
+                             .hasRestrictions() )
+            {
+                ranged.add( new SimpleProjectRef( PropertyResolver.resolvePropertiesUnchecked( session, projects,
+                                                                                               groupId ),
+                                                  PropertyResolver.resolvePropertiesUnchecked( session, projects,
+                                                                                               artifactId ) ) );
             }
         }
-        return changed;
+        catch ( InvalidVersionSpecificationException e )
+        {
+            // Reported when the range is handled.
+            logger.debug( "Ignoring invalid range {} when prefetching", version );
+        }
     }
 
     private void handleVersionWithRange( List<Project> projects, Plugin p )
@@ -253,21 +296,15 @@ public class RangeResolver
 
     private List<ArtifactVersion> getVersions( ProjectRef ga )
     {
-        final MavenMetadataView mavenMetadataView;
         try
         {
-            mavenMetadataView = readerWrapper.readMetadataView( ga );
+            return readerWrapper.getMetadataVersions( ga );
         }
         catch ( GalleyMavenException e )
         {
             throw new ManipulationUncheckedException(
                     new ManipulationException( "Caught Galley exception processing artifact", e ) );
         }
-        return mavenMetadataView.resolveXPathToAggregatedStringList( "/metadata/versioning/versions/version", true, -1 )
-                                .stream()
-                                .distinct()
-                                .map( DefaultArtifactVersion::new )
-                                .collect( Collectors.toList() );
     }
 
     @Override
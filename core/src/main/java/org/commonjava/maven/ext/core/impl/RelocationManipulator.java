@@ -236,6 +236,11 @@ public class RelocationManipulator
                     result = true;
                 }
             }
+            // A pass that relocated nothing means subsequent passes will not either.
+            if ( postFixUp.isEmpty() )
+            {
+                break;
+            }
             dependencies.putAll( postFixUp );
             postFixUp.clear();
         }
@@ -254,6 +259,7 @@ public class RelocationManipulator
 
         for ( int i = 0; i < size; i++ )
         {
+            boolean relocated = false;
             for ( PluginReference pluginReference : refs )
             {
                 final Dependency dependency = new Dependency();
@@ -304,9 +310,14 @@ public class RelocationManipulator
 
                     logger.debug( "Update plugin: set {} to {}", relocation, pluginReference );
 
+                    relocated = true;
                     result = true;
                 }
             }
+            if ( !relocated )
+            {
+                break;
+            }
         }
 
         // Handles plugins themselves
@@ -359,6 +370,10 @@ public class RelocationManipulator
                     result = true;
                 }
             }
+            if ( postFixUp.isEmpty() )
+            {
+                break;
+            }
             pluginMap.putAll( postFixUp );
             postFixUp.clear();
         }
@@ -26,7 +26,6 @@ import org.commonjava.maven.ext.core.ManipulationSession;
 import org.commonjava.maven.ext.core.state.VersioningState;
 import org.commonjava.maven.ext.io.resolver.GalleyAPIWrapper;
 import org.commonjava.maven.galley.maven.GalleyMavenException;
-import org.commonjava.maven.galley.maven.model.view.meta.MavenMetadataView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +39,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static org.commonjava.maven.ext.core.impl.Version.findHighestMatchingBuildNumber;
 import static org.commonjava.maven.ext.core.util.IdUtils.gav;
@@ -92,6 +92,13 @@ public class VersionCalculator
             logger.debug( "Got the following version override: {}", state.getOverride() );
         }
 
+        // If the version candidates are read from the repository metadata, resolve it for all projects concurrently.
+        if ( readerWrapper != null && state.getSuffix() == null && state.getIncrementalSerialSuffix() != null
+                        && state.getRESTMetadata() == null )
+        {
+            readerWrapper.prefetchMetadata( projects.stream().map( Project::getKey ).collect( Collectors.toList() ) );
+        }
+
         for ( final Project project : projects )
         {
             String originalVersion = PropertyResolver.resolveInheritedProperties( session, project, project.getVersion() );
@@ -292,10 +299,8 @@ public class VersionCalculator
         {
             if ( readerWrapper != null )
             {
-                final MavenMetadataView metadataView =
-                                readerWrapper.readMetadataView( new SimpleProjectRef( groupId, artifactId ) );
-
-                versions.addAll( metadataView.resolveXPathToAggregatedStringList( "/metadata/versioning/versions/version", true, -1 ) );
+                readerWrapper.getMetadataVersions( new SimpleProjectRef( groupId, artifactId ) )
+                             .forEach( v -> versions.add( v.toString() ) );
             }
         }
         catch ( final GalleyMavenException e )
@@ -24,6 +24,7 @@ import org.commonjava.maven.ext.annotation.ConfigValue;
 import org.commonjava.maven.ext.common.ManipulationException;
 import org.commonjava.maven.ext.core.impl.DependencyManipulator;
 import org.commonjava.maven.ext.core.util.IdUtils;
+import org.commonjava.maven.ext.core.util.OverrideRules;
 
 import java.util.HashMap;
 import java.util.List;
@@ -132,6 +133,8 @@ public class DependencyState
 
     private Map<String, String> dependencyOverrides;
 
+    private OverrideRules dependencyOverrideRules;
+
     private Map<ArtifactRef, String> remoteRESTdepMgmt;
 
     private DependencyPrecedence precedence;
@@ -155,6 +158,7 @@ public class DependencyState
         }
 
         dependencyOverrides = getPropertiesByPrefix( userProps, DEPENDENCY_EXCLUSION_PREFIX );
+        dependencyOverrideRules = null;
 
         final Map<String, String> oP = getPropertiesByPrefix( userProps, DEPENDENCY_OVERRIDE_PREFIX );
         for ( final Entry<String, String> entry : oP.entrySet() )
@@ -257,4 +261,17 @@ public class DependencyState
     {
         return dependencyOverrides;
     }
+
+    /**
+     * @return the module specific rules within the dependency overrides, compiled on first use.
+     * @throws ManipulationException if a key is invalid.
+     */
+    public OverrideRules getDependencyOverrideRules() throws ManipulationException
+    {
+        if ( dependencyOverrideRules == null )
+        {
+            dependencyOverrideRules = OverrideRules.compile( dependencyOverrides );
+        }
+        return dependencyOverrideRules;
+    }
 }
@@ -23,6 +23,7 @@ import org.commonjava.maven.ext.annotation.ConfigValue;
 import org.commonjava.maven.ext.common.ManipulationException;
 import org.commonjava.maven.ext.core.impl.PluginManipulator;
 import org.commonjava.maven.ext.core.util.IdUtils;
+import org.commonjava.maven.ext.core.util.OverrideRules;
 
 import java.util.HashSet;
 import java.util.List;
@@ -108,6 +109,8 @@ public class PluginState
     @Getter
     private Map<String, String> pluginOverride;
 
+    private OverrideRules pluginOverrideRules;
+
     public PluginState( final Properties userProps ) throws ManipulationException
     {
         initialise( userProps );
@@ -117,6 +120,7 @@ public class PluginState
     {
         remotePluginMgmt = IdUtils.parseGAVs( userProps.getProperty( PLUGIN_MANAGEMENT_POM_PROPERTY ) );
         pluginOverride = getPropertiesByPrefix( userProps, PLUGIN_OVERRIDE_PREFIX );
+        pluginOverrideRules = null;
         switch ( Precedence.valueOf( userProps.getProperty( PLUGIN_MANAGEMENT_PRECEDENCE,
                                                             Precedence.REMOTE.toString() ).toUpperCase() ) )
         {
@@ -203,4 +207,17 @@ public class PluginState
     {
         return remoteRESTplugins;
     }
+
+    /**
+     * @return the module specific rules within the plugin overrides, compiled on first use.
+     * @throws ManipulationException if a key is invalid.
+     */
+    public OverrideRules getPluginOverrideRules() throws ManipulationException
+    {
+        if ( pluginOverrideRules == null )
+        {
+            pluginOverrideRules = OverrideRules.compile( pluginOverride );
+        }
+        return pluginOverrideRules;
+    }
 }
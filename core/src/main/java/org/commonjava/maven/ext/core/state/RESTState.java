@@ -20,13 +20,17 @@ import org.commonjava.maven.ext.annotation.ConfigValue;
 import org.commonjava.maven.ext.core.ManipulationSession;
 import org.commonjava.maven.ext.core.impl.DependencyManipulator;
 import org.commonjava.maven.ext.io.rest.DefaultTranslator;
+import org.commonjava.maven.ext.io.rest.PipelinedTranslator;
+import org.commonjava.maven.ext.io.rest.RestCache;
 import org.commonjava.maven.ext.io.rest.Translator;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -49,6 +53,14 @@ public class RESTState implements State
     @ConfigValue( docIndex = "dep-manip.html#rest-endpoint" )
     public static final String REST_MIN_SIZE = "restMinSize";
 
+    @ConfigValue( docIndex = "dep-manip.html#rest-endpoint" )
+    public static final String REST_ADAPTIVE_TARGET_SEC = "restAdaptiveTarget";
+
+    /**
+     * Value of {@link #REST_MAX_SIZE} to select adaptive partitioning.
+     */
+    private static final String REST_MAX_SIZE_ADAPTIVE = "adaptive";
+
     @ConfigValue( docIndex = "dep-manip.html#rest-endpoint" )
     public static final String REST_SUFFIX = "restSuffixAlign";
 
@@ -64,6 +76,30 @@ public class RESTState implements State
     @ConfigValue( docIndex = "dep-manip.html#rest-timeouts-and-retries" )
     public static final String REST_RETRY_DURATION_SEC = "restRetryDuration";
 
+    @ConfigValue( docIndex = "dep-manip.html#rest-endpoint" )
+    public static final String REST_CONCURRENCY = "restConcurrency";
+
+    @ConfigValue( docIndex = "dep-manip.html#rest-endpoint" )
+    public static final String REST_PIPELINE = "restPipeline";
+
+    @ConfigValue( docIndex = "dep-manip.html#rest-cache" )
+    public static final String REST_CACHE = "restCache";
+
+    @ConfigValue( docIndex = "dep-manip.html#rest-cache" )
+    public static final String REST_CACHE_DIR = "restCacheDir";
+
+    @ConfigValue( docIndex = "dep-manip.html#rest-cache" )
+    public static final String REST_CACHE_TTL_SEC = "restCacheTTL";
+
+    @ConfigValue( docIndex = "dep-manip.html#rest-cache" )
+    public static final String REST_CACHE_MAX_SIZE = "restCacheMaxSize";
+
+    private static final String REST_CACHE_FILE = "rest-cache.json";
+
+    private static final long DEFAULT_REST_CACHE_TTL_SEC = TimeUnit.DAYS.toSeconds( 1 );
+
+    private static final int DEFAULT_REST_CACHE_MAX_SIZE = 100000;
+
     private final ManipulationSession session;
 
     private String restURL;
@@ -82,12 +118,16 @@ public class RESTState implements State
     @Override
     public void initialise( Properties userProps )
     {
+        finish();
+
         restURL = userProps.getProperty( REST_URL );
         restSuffixAlign = Boolean.parseBoolean( userProps.getProperty( REST_SUFFIX, "true" ) );
 
         Boolean brewPullActive = Boolean.parseBoolean( userProps.getProperty( REST_BREW_PULL_ACTIVE ) );
         String mode = userProps.getProperty( REST_MODE, "" );
-        int restMaxSize = Integer.parseInt( userProps.getProperty( REST_MAX_SIZE, "-1" ) );
+        String restMaxSizeValue = userProps.getProperty( REST_MAX_SIZE, String.valueOf( Translator.AUTO_PARTITION ) );
+        int restMaxSize = REST_MAX_SIZE_ADAPTIVE.equalsIgnoreCase( restMaxSizeValue ) ?
+                        Translator.ADAPTIVE_PARTITION : Integer.parseInt( restMaxSizeValue );
         int restMinSize = Integer.parseInt( userProps.getProperty( REST_MIN_SIZE,
                                                                    String.valueOf( DefaultTranslator.CHUNK_SPLIT_COUNT ) ) );
         Map<String, String> restHeaders = restHeaderParser( userProps.getProperty( REST_HEADERS, "" ) );
@@ -97,10 +137,35 @@ public class RESTState implements State
                                                                          String.valueOf( DefaultTranslator.DEFAULT_SOCKET_TIMEOUT_SEC ) ) );
         int restRetryDuration = Integer.parseInt( userProps.getProperty( REST_RETRY_DURATION_SEC,
                                                                          String.valueOf( DefaultTranslator.RETRY_DURATION_SEC ) ) );
+        int restConcurrency = Integer.parseInt( userProps.getProperty( REST_CONCURRENCY,
+                                                                       String.valueOf( DefaultTranslator.DEFAULT_CONCURRENCY ) ) );
+        int restAdaptiveTarget = Integer.parseInt( userProps.getProperty( REST_ADAPTIVE_TARGET_SEC,
+                                                                          String.valueOf( DefaultTranslator.DEFAULT_ADAPTIVE_TARGET_SEC ) ) );
 
-        restEndpoint = new DefaultTranslator( restURL, restMaxSize, restMinSize, brewPullActive, mode,
-                                              restHeaders, restConnectionTimeout,
-                                              restSocketTimeout, restRetryDuration );
+        RestCache restCache = null;
+        if ( Boolean.parseBoolean( userProps.getProperty( REST_CACHE ) ) )
+        {
+            // By default this is the same location as the Galley cache.
+            File restCacheDir = new File( userProps.getProperty( REST_CACHE_DIR,
+                                                                 new File( session.getTargetDir(), "manipulator-cache" ).getPath() ) );
+            long restCacheTTL = Long.parseLong( userProps.getProperty( REST_CACHE_TTL_SEC,
+                                                                       String.valueOf( DEFAULT_REST_CACHE_TTL_SEC ) ) );
+            int restCacheMaxSize = Integer.parseInt( userProps.getProperty( REST_CACHE_MAX_SIZE,
+                                                                            String.valueOf( DEFAULT_REST_CACHE_MAX_SIZE ) ) );
+            restCache = new RestCache( new File( restCacheDir, REST_CACHE_FILE ), restCacheTTL, restCacheMaxSize );
+        }
+
+        final DefaultTranslator translator = new DefaultTranslator( restURL, restMaxSize, restMinSize, brewPullActive,
+                                                                    mode, restHeaders, restConnectionTimeout,
+                                                                    restSocketTimeout, restRetryDuration,
+                                                                    restConcurrency, restCache, restAdaptiveTarget );
+        translator.setInstrumentation( session.getInstrumentation() );
+        restEndpoint = translator;
+
+        if ( Boolean.parseBoolean( userProps.getProperty( REST_PIPELINE ) ) )
+        {
+            restEndpoint = new PipelinedTranslator( restEndpoint );
+        }
     }
 
     /**
@@ -119,6 +184,27 @@ public class RESTState implements State
         return restEndpoint;
     }
 
+    /**
+     * @return the translator if lookups may be started ahead of time (i.e. {@link #REST_PIPELINE} is enabled) ;
+     * otherwise null.
+     */
+    public PipelinedTranslator getPipelinedTranslator()
+    {
+        return restEndpoint instanceof PipelinedTranslator ? (PipelinedTranslator) restEndpoint : null;
+    }
+
+    /**
+     * Stops any background lookups started by the translator ; called once the run has finished.
+     */
+    public void finish()
+    {
+        final PipelinedTranslator pipeline = getPipelinedTranslator();
+        if ( pipeline != null )
+        {
+            pipeline.shutdown();
+        }
+    }
+
     public boolean isRestSuffixAlign()
     {
         return restSuffixAlign;
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.core.util;
+
+import org.apache.maven.model.Plugin;
+import org.commonjava.maven.atlas.ident.ref.ArtifactRef;
+import org.commonjava.maven.atlas.ident.ref.ProjectRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectRef;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Index of an ordered collection of overrides keyed by groupId:artifactId. This is built once per run so that the
+ * manipulators may look up the overrides for a dependency or plugin rather than scanning every override.
+ * <p>
+ * Multiple overrides may be registered for the same groupId:artifactId (e.g. org.foo:bar:1.0 and org.foo:bar:2.0 as
+ * used by strict alignment). All lookups return the overrides in their original iteration order.
+ *
+ * @param <T> the type of override.
+ */
+public class OverrideIndex<T>
+{
+    private final List<T> overrides = new ArrayList<>();
+
+    private final Map<ProjectRef, List<Integer>> index = new HashMap<>();
+
+    private OverrideIndex( final Collection<T> source, final Function<T, ProjectRef> toGA )
+    {
+        for ( T override : source )
+        {
+            index.computeIfAbsent( toGA.apply( override ), k -> new ArrayList<>( 1 ) ).add( overrides.size() );
+            overrides.add( override );
+        }
+    }
+
+    /**
+     * @param overrides the artifact to version overrides.
+     * @return an index of the keys of the overrides.
+     */
+    public static OverrideIndex<ArtifactRef> forArtifacts( final Map<ArtifactRef, String> overrides )
+    {
+        return new OverrideIndex<>( overrides.keySet(),
+                                    a -> new SimpleProjectRef( a.getGroupId(), a.getArtifactId() ) );
+    }
+
+    /**
+     * @param overrides the plugin overrides.
+     * @return an index of the plugins.
+     */
+    public static OverrideIndex<Plugin> forPlugins( final Collection<Plugin> overrides )
+    {
+        return new OverrideIndex<>( overrides, p -> new SimpleProjectRef( p.getGroupId(), p.getArtifactId() ) );
+    }
+
+    /**
+     * @param ga the groupId:artifactId to look up.
+     * @return the overrides for the groupId:artifactId, or an empty list.
+     */
+    public List<T> get( final ProjectRef ga )
+    {
+        final List<Integer> positions = index.get( key( ga ) );
+
+        if ( positions == null )
+        {
+            return Collections.emptyList();
+        }
+        final List<T> result = new ArrayList<>( positions.size() );
+        positions.forEach( i -> result.add( overrides.get( i ) ) );
+        return result;
+    }
+
+    /**
+     * @param gas the groupId:artifactIds to look up.
+     * @return all overrides matching any of the groupId:artifactIds, in their original order.
+     */
+    public List<T> get( final Collection<? extends ProjectRef> gas )
+    {
+        // Sorted and de-duplicated in case the same groupId:artifactId is requested multiple times.
+        final Set<Integer> positions = new TreeSet<>();
+
+        for ( ProjectRef ga : gas )
+        {
+            final List<Integer> found = index.get( key( ga ) );
+            if ( found != null )
+            {
+                positions.addAll( found );
+            }
+        }
+
+        final List<T> result = new ArrayList<>( positions.size() );
+        positions.forEach( i -> result.add( overrides.get( i ) ) );
+        return result;
+    }
+
+    /**
+     * @param ga the groupId:artifactId to look up.
+     * @return whether any override exists for the groupId:artifactId.
+     */
+    public boolean containsKey( final ProjectRef ga )
+    {
+        return index.containsKey( key( ga ) );
+    }
+
+    public int size()
+    {
+        return overrides.size();
+    }
+
+    /**
+     * Subclasses of ProjectRef (e.g. ArtifactRef) include the version within equality so normalise the key.
+     */
+    private static ProjectRef key( final ProjectRef ga )
+    {
+        return ga.getClass() == SimpleProjectRef.class ? ga : new SimpleProjectRef( ga.getGroupId(), ga.getArtifactId() );
+    }
+}
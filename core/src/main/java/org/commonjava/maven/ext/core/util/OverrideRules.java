@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.core.util;
+
+import org.commonjava.maven.atlas.ident.ref.ProjectRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectRef;
+import org.commonjava.maven.ext.common.ManipulationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Immutable set of the module specific override rules, i.e. dependencyOverride, dependencyExclusion and pluginOverride
+ * keys of the form <code>groupId:artifactId@moduleGroupId:moduleArtifactId</code>. The keys are parsed once and the
+ * rules indexed by module groupId:artifactId and by module groupId (for <code>moduleGroupId:*</code>), rather than every
+ * key being parsed again for each module.
+ * <p>
+ * Keys without a module are not rules and are ignored. All lookups return the rules in their original iteration order.
+ */
+public class OverrideRules
+{
+    private static final String MODULE_SEPARATOR = "@";
+
+    private static final String WILDCARD = "*";
+
+    private final List<Rule> rules;
+
+    private final Map<String, List<Rule>> byModule = new HashMap<>();
+
+    private final Map<String, List<Rule>> byModuleGroup = new HashMap<>();
+
+    private final List<Rule> wildcards;
+
+    private OverrideRules( final List<Rule> rules )
+    {
+        this.rules = Collections.unmodifiableList( rules );
+
+        final List<Rule> wildcards = new ArrayList<>();
+        for ( Rule rule : rules )
+        {
+            if ( rule.module == null )
+            {
+                wildcards.add( rule );
+            }
+            else if ( WILDCARD.equals( rule.module.getArtifactId() ) )
+            {
+                byModuleGroup.computeIfAbsent( rule.module.getGroupId(), k -> new ArrayList<>( 1 ) ).add( rule );
+            }
+            else
+            {
+                byModule.computeIfAbsent( rule.module.toString(), k -> new ArrayList<>( 1 ) ).add( rule );
+            }
+        }
+        this.wildcards = Collections.unmodifiableList( wildcards );
+    }
+
+    /**
+     * @param overrides the override properties, keyed by <code>groupId:artifactId@module</code>.
+     * @return the compiled rules.
+     * @throws ManipulationException if a key is invalid.
+     */
+    public static OverrideRules compile( final Map<String, String> overrides ) throws ManipulationException
+    {
+        final List<Rule> rules = new ArrayList<>();
+
+        for ( final Entry<String, String> entry : overrides.entrySet() )
+        {
+            final String key = entry.getKey();
+
+            if ( !key.contains( MODULE_SEPARATOR ) )
+            {
+                continue;
+            }
+
+            final ProjectRef artifact;
+            final ProjectRef module;
+            if ( key.endsWith( MODULE_SEPARATOR + WILDCARD ) )
+            {
+                artifact = SimpleProjectRef.parse( key.substring( 0, key.length() - 2 ) );
+                module = null;
+            }
+            else
+            {
+                final String[] artifactAndModule = key.split( MODULE_SEPARATOR );
+                if ( artifactAndModule.length != 2 )
+                {
+                    throw new ManipulationException( "Invalid format for exclusion key {}", key );
+                }
+                artifact = SimpleProjectRef.parse( artifactAndModule[0] );
+                module = SimpleProjectRef.parse( artifactAndModule[1] );
+            }
+            rules.add( new Rule( rules.size(), key, artifact, module, entry.getValue() ) );
+        }
+
+        return new OverrideRules( rules );
+    }
+
+    /**
+     * @param projectGA the groupId:artifactId of the module.
+     * @return the rules that name the module, either explicitly or by a <code>moduleGroupId:*</code> wildcard.
+     */
+    public List<Rule> getModuleRules( final String projectGA )
+    {
+        final List<Rule> explicit = byModule.getOrDefault( projectGA, Collections.emptyList() );
+        final List<Rule> group = byModuleGroup.getOrDefault( SimpleProjectRef.parse( projectGA ).getGroupId(),
+                                                             Collections.emptyList() );
+        if ( group.isEmpty() )
+        {
+            return explicit;
+        }
+        else if ( explicit.isEmpty() )
+        {
+            return group;
+        }
+
+        // Merge the two ordered lists to retain the original order.
+        final List<Rule> result = new ArrayList<>( explicit.size() + group.size() );
+        int i = 0;
+        int j = 0;
+        while ( i < explicit.size() || j < group.size() )
+        {
+            if ( j == group.size() || ( i < explicit.size() && explicit.get( i ).position < group.get( j ).position ) )
+            {
+                result.add( explicit.get( i++ ) );
+            }
+            else
+            {
+                result.add( group.get( j++ ) );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the rules that apply to every module i.e. of the form <code>groupId:artifactId@*</code>.
+     */
+    public List<Rule> getWildcardRules()
+    {
+        return wildcards;
+    }
+
+    public boolean isEmpty()
+    {
+        return rules.isEmpty();
+    }
+
+    /**
+     * A single module specific override.
+     */
+    public static final class Rule
+    {
+        private final int position;
+
+        private final String key;
+
+        private final ProjectRef artifact;
+
+        private final ProjectRef module;
+
+        private final String value;
+
+        private Rule( int position, String key, ProjectRef artifact, ProjectRef module, String value )
+        {
+            this.position = position;
+            this.key = key;
+            this.artifact = artifact;
+            this.module = module;
+            this.value = value;
+        }
+
+        /**
+         * @return the original property key.
+         */
+        public String getKey()
+        {
+            return key;
+        }
+
+        /**
+         * @return the artifact (which may be a wildcard) targeted by the rule.
+         */
+        public ProjectRef getArtifact()
+        {
+            return artifact;
+        }
+
+        /**
+         * @return the module the rule applies to, or null if it applies to all modules.
+         */
+        public ProjectRef getModule()
+        {
+            return module;
+        }
+
+        public String getValue()
+        {
+            return value;
+        }
+
+        /**
+         * @return whether this rule prevents overriding the artifact rather than setting a version.
+         */
+        public boolean isExclusion()
+        {
+            return value == null || value.isEmpty();
+        }
+
+        @Override
+        public String toString()
+        {
+            return key + '=' + value;
+        }
+    }
+}
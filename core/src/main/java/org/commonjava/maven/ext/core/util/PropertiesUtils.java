@@ -105,7 +105,7 @@ public final class PropertiesUtils
     public static PropertyUpdate updateProperties( ManipulationSession session, Project project, boolean ignoreStrict,
                                                    String key, String newValue ) throws ManipulationException
     {
-        final String resolvedValue = PropertyResolver.resolveProperties( session, project.getInheritedList(), "${" + key + '}' );
+        final String resolvedValue = PropertyResolver.resolveInheritedProperties( session, project, "${" + key + '}' );
 
         logger.debug( "Fully resolvedValue is {} for {}", resolvedValue, key );
 
@@ -472,10 +472,10 @@ public final class PropertiesUtils
                 else if ( originalType instanceof Plugin )
                 {
                     originalReference = new SimpleProjectRef(
-                                    PropertyResolver.resolveProperties( session, project.getInheritedList(),
-                                                                        ( (Plugin) originalType ).getGroupId() ),
-                                    PropertyResolver.resolveProperties( session, project.getInheritedList(),
-                                                                        ( (Plugin) originalType ).getArtifactId() ) );
+                                    PropertyResolver.resolveInheritedProperties( session, project,
+                                                                                 ( (Plugin) originalType ).getGroupId() ),
+                                    PropertyResolver.resolveInheritedProperties( session, project,
+                                                                                 ( (Plugin) originalType ).getArtifactId() ) );
                 }
                 else
                 {
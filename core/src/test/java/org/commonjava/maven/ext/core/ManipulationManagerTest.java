@@ -22,6 +22,9 @@ import org.commonjava.maven.ext.core.fixture.TestUtils;
 import org.commonjava.maven.ext.core.impl.Manipulator;
 import org.commonjava.maven.ext.core.state.CommonState;
 import org.commonjava.maven.ext.core.state.DependencyState;
+import org.commonjava.maven.ext.core.state.RESTState;
+import org.commonjava.maven.ext.io.rest.handler.AddSuffixJettyHandler;
+import org.commonjava.maven.ext.io.rest.rule.MockServer;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.contrib.java.lang.system.SystemOutRule;
@@ -32,6 +35,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Properties;
 
@@ -47,6 +51,9 @@ public class ManipulationManagerTest
     @Rule
     public final TemporaryFolder folder = new TemporaryFolder();
 
+    @Rule
+    public MockServer mockServer = new MockServer( new AddSuffixJettyHandler() );
+
     @Rule
     public final SystemOutRule systemRule = new SystemOutRule().enableLog().muteForSuccessfulTests();
 
@@ -112,4 +119,80 @@ public class ManipulationManagerTest
         assertTrue( FileUtils.contentEquals( projectRoot, projectRootBackup) );
         assertFalse( systemRule.getLog().contains( "Maven-Manipulation-Extension: Rewrite changed" ) );
     }
+
+    @Test
+    public void testReportComparesOriginal()
+                    throws IOException, ManipulationException
+    {
+        final File root = folder.newFolder();
+        final File base = TestUtils.resolveFileResource( "groovy-project-removal", "" );
+        FileUtils.copyDirectory( base, root );
+        final File projectRoot = new File ( root, "pom.xml");
+        final File report = new File( root, "report.txt" );
+
+        Properties p = new Properties();
+        p.setProperty( "versionIncrementalSuffix", "rebuild" );
+        p.setProperty( ManipulationManager.REPORT_TXT_OUTPUT_FILE, report.getPath() );
+
+        TestUtils.SMContainer smc = TestUtils.createSessionAndManager( p, projectRoot );
+        smc.getManager().scanAndApply( smc.getSession() );
+
+        String result = FileUtils.readFileToString( report, StandardCharsets.UTF_8 );
+        assertTrue( result.contains( "Project version : 1.0.0 --> 1.0.0.rebuild-00001" ) );
+        assertTrue( FileUtils.readFileToString( projectRoot, StandardCharsets.UTF_8 ).contains( "1.0.0.rebuild-00001" ) );
+    }
+
+    @Test
+    public void testOnlyRewriteModified()
+                    throws IOException, ManipulationException
+    {
+        final File root = folder.newFolder();
+        final File base = TestUtils.resolveFileResource( "groovy-project-removal", "" );
+        FileUtils.copyDirectory( base, root );
+        final File projectRoot = new File ( root, "pom.xml");
+
+        // An override that matches nothing still reports every project as changed.
+        Properties p = new Properties();
+        p.put( DependencyState.DEPENDENCY_OVERRIDE_PREFIX + ".org.foo:bar@*", "1.0" );
+
+        TestUtils.SMContainer smc = TestUtils.createSessionAndManager( p, projectRoot );
+        smc.getManager().scanAndApply( smc.getSession() );
+
+        assertTrue( systemRule.getLog().contains( "Maven-Manipulation-Extension: Rewrite changed (0 of 3" ) );
+        assertTrue( FileUtils.contentEquals( projectRoot, new File( base, "pom.xml" ) ) );
+        assertTrue( FileUtils.contentEquals( new File( root, "moduleA/pom.xml" ), new File( base, "moduleA/pom.xml" ) ) );
+    }
+
+    @Test
+    public void testPipelinedREST()
+                    throws IOException, ManipulationException
+    {
+        final String original = alignWithREST( false );
+
+        assertTrue( original.contains( "Project version : 1.0.0 --> 1.0.0.redhat-00002" ) );
+        assertEquals( original, alignWithREST( true ) );
+        assertTrue( systemRule.getLog().contains( "Starting REST lookups for 3 projects" ) );
+    }
+
+    private String alignWithREST( boolean pipelined )
+                    throws IOException, ManipulationException
+    {
+        final File root = folder.newFolder();
+        final File base = TestUtils.resolveFileResource( "groovy-project-removal", "" );
+        FileUtils.copyDirectory( base, root );
+        final File projectRoot = new File ( root, "pom.xml");
+        final File report = new File( root, "report.txt" );
+
+        Properties p = new Properties();
+        p.setProperty( RESTState.REST_URL, mockServer.getUrl() );
+        p.setProperty( RESTState.REST_PIPELINE, String.valueOf( pipelined ) );
+        p.setProperty( "versionIncrementalSuffix", "redhat" );
+        p.setProperty( "dependencySource", "REST" );
+        p.setProperty( ManipulationManager.REPORT_TXT_OUTPUT_FILE, report.getPath() );
+
+        TestUtils.SMContainer smc = TestUtils.createSessionAndManager( p, projectRoot );
+        smc.getManager().scanAndApply( smc.getSession() );
+
+        return FileUtils.readFileToString( report, StandardCharsets.UTF_8 );
+    }
 }
@@ -45,6 +45,7 @@ import java.lang.reflect.Method;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Properties;
 
@@ -54,10 +55,10 @@ import java.util.Properties;
 public final class TestUtils
 {
     /**
-     * The test root directory.
+     * The test root directory, or the working directory when the classes are not run from a module's build
+     * directory (e.g. from the benchmarks jar).
      */
-    public static final Path ROOT_DIRECTORY = resolveFileResource( "", "" ).getParentFile()
-            .getParentFile().getParentFile().toPath();
+    public static final Path ROOT_DIRECTORY = resolveRootDirectory();
 
     /**
      * The integration test directory.
@@ -108,6 +109,17 @@ public final class TestUtils
         return new File( resource.getPath() );
     }
 
+    private static Path resolveRootDirectory()
+    {
+        final URL resource = Thread.currentThread().getContextClassLoader().getResource( "" );
+
+        if ( resource == null )
+        {
+            return Paths.get( "" ).toAbsolutePath();
+        }
+        return new File( resource.getPath() ).getParentFile().getParentFile().getParentFile().toPath();
+    }
+
     /**
      * Gets a dummy model.
      *
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.core.impl;
+
+import org.commonjava.maven.atlas.ident.ref.ArtifactRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleArtifactRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectRef;
+import org.commonjava.maven.ext.common.util.WildcardMap;
+import org.commonjava.maven.ext.core.util.OverrideRules;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CommonManipulatorTest
+{
+    @Test
+    public void testModuleVersionOverrides() throws Exception
+    {
+        final ArtifactRef a = SimpleArtifactRef.parse( "org.foo:a:1.0" );
+        final ArtifactRef b = SimpleArtifactRef.parse( "org.foo:b:1.0" );
+        final ArtifactRef c = SimpleArtifactRef.parse( "org.bar:c:1.0" );
+        final ArtifactRef d = SimpleArtifactRef.parse( "org.baz:d:1.0" );
+        final Map<ArtifactRef, String> global = new LinkedHashMap<>();
+        global.put( a, "1.0.redhat-1" );
+        global.put( b, "1.0.redhat-1" );
+        global.put( c, "1.0.redhat-1" );
+        global.put( d, "1.0.redhat-1" );
+
+        final Map<String, String> properties = new LinkedHashMap<>();
+        properties.put( "org.foo:*@org.module:m1", "" );
+        properties.put( "*:c@org.module:*", "" );
+        properties.put( "org.baz:d@org.module:m1", "2.0" );
+        properties.put( "org.baz:d@*", "3.0" );
+        final OverrideRules rules = OverrideRules.compile( properties );
+
+        final CommonManipulator manipulator = new CommonManipulator();
+
+        WildcardMap<String> explicit = new WildcardMap<>();
+        Map<ArtifactRef, String> result = manipulator.applyModuleVersionOverrides( "org.module:m1", rules, global,
+                                                                                   explicit, Collections.emptyMap() );
+        assertEquals( Collections.singletonMap( d, "1.0.redhat-1" ), result );
+        assertFalse( result.containsKey( a ) );
+        assertNull( result.get( c ) );
+        // The module specific override takes precedence over the wildcard.
+        assertEquals( "2.0", explicit.get( SimpleProjectRef.parse( "org.baz:d" ) ) );
+
+        explicit = new WildcardMap<>();
+        result = manipulator.applyModuleVersionOverrides( "org.other:m2", rules, global, explicit,
+                                                          Collections.emptyMap() );
+        assertEquals( global, result );
+        assertEquals( "3.0", explicit.get( SimpleProjectRef.parse( "org.baz:d" ) ) );
+
+        properties.put( "*:*@org.module:m3", "" );
+        result = manipulator.applyModuleVersionOverrides( "org.module:m3", OverrideRules.compile( properties ),
+                                                          global, new WildcardMap<>(), Collections.emptyMap() );
+        assertTrue( result.isEmpty() );
+        // The global overrides are shared and unmodified.
+        assertEquals( 4, global.size() );
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.core.impl;
+
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.ext.common.ManipulationException;
+import org.commonjava.maven.ext.core.ManipulationManager;
+import org.commonjava.maven.ext.core.fixture.TestUtils;
+import org.commonjava.maven.ext.core.state.CommonState;
+import org.commonjava.maven.ext.core.state.RESTState;
+import org.commonjava.maven.ext.io.rest.RESTBenchmarkSupport;
+import org.commonjava.maven.ext.io.rest.handler.DASimulatorJettyHandler;
+import org.commonjava.maven.ext.io.rest.rule.MockServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Properties;
+
+import static org.commonjava.maven.ext.io.rest.RESTBenchmarkSupport.generateGAVs;
+import static org.commonjava.maven.ext.io.rest.RESTBenchmarkSupport.record;
+import static org.commonjava.maven.ext.io.rest.RESTBenchmarkSupport.sizes;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Time taken to align a project with a large number of dependencies through {@link RESTCollector} against the DA
+ * simulator, with and without the pipelined lookups. See {@link RESTBenchmarkSupport} for how to run it.
+ */
+public class RESTCollectorBenchmark
+{
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final DASimulatorJettyHandler simulator = new DASimulatorJettyHandler();
+
+    @Rule
+    public MockServer mockServer = new MockServer( simulator );
+
+    @Before
+    public void setUp()
+    {
+        simulator.setRequestLatencyMillis( 20 );
+        simulator.setGavLatencyMicros( 50 );
+        simulator.setAvailableVersions( 5 );
+    }
+
+    @Test
+    public void benchmarkAlignment() throws IOException, ManipulationException
+    {
+        // Warm up.
+        align( 100, false );
+
+        for ( int size : sizes() )
+        {
+            record( "RESTCollector", "serial", size, align( size, false ), simulator );
+            record( "RESTCollector", "pipelined", size, align( size, true ), simulator );
+        }
+    }
+
+    private long align( int size, boolean pipelined ) throws IOException, ManipulationException
+    {
+        final File pom = writeProject( generateGAVs( size ) );
+
+        final Properties p = new Properties();
+        p.setProperty( RESTState.REST_URL, mockServer.getUrl() );
+        p.setProperty( RESTState.REST_PIPELINE, String.valueOf( pipelined ) );
+        p.setProperty( RESTState.REST_MAX_SIZE, "adaptive" );
+        p.setProperty( RESTState.REST_CONCURRENCY, "4" );
+        p.setProperty( "dependencySource", "REST" );
+        p.setProperty( CommonState.STRICT_ALIGNMENT, "false" );
+        p.setProperty( ManipulationManager.REPORT_TXT_OUTPUT_FILE,
+                       new File( pom.getParentFile(), "report.txt" ).getPath() );
+
+        final TestUtils.SMContainer smc = TestUtils.createSessionAndManager( p, pom );
+        simulator.reset();
+
+        final long start = System.nanoTime();
+        smc.getManager().scanAndApply( smc.getSession() );
+        final long elapsed = System.nanoTime() - start;
+
+        final String result = new String( Files.readAllBytes( pom.toPath() ), StandardCharsets.UTF_8 );
+        assertEquals( size, result.split( DASimulatorJettyHandler.SUFFIX, -1 ).length - 1 );
+
+        return elapsed;
+    }
+
+    private File writeProject( List<ProjectVersionRef> dependencies ) throws IOException
+    {
+        final StringBuilder pom = new StringBuilder();
+        pom.append( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" )
+           .append( "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" )
+           .append( "  <modelVersion>4.0.0</modelVersion>\n" )
+           .append( "  <groupId>org.benchmark</groupId>\n" )
+           .append( "  <artifactId>benchmark</artifactId>\n" )
+           .append( "  <version>1.0</version>\n" )
+           .append( "  <dependencies>\n" );
+        for ( ProjectVersionRef d : dependencies )
+        {
+            pom.append( "    <dependency>\n" )
+               .append( "      <groupId>" ).append( d.getGroupId() ).append( "</groupId>\n" )
+               .append( "      <artifactId>" ).append( d.getArtifactId() ).append( "</artifactId>\n" )
+               .append( "      <version>" ).append( d.getVersionString() ).append( "</version>\n" )
+               .append( "    </dependency>\n" );
+        }
+        pom.append( "  </dependencies>\n" ).append( "</project>\n" );
+
+        final File result = new File( folder.newFolder(), "pom.xml" );
+        Files.write( result.toPath(), pom.toString().getBytes( StandardCharsets.UTF_8 ) );
+        return result;
+    }
+}
@@ -16,14 +16,20 @@
 package org.commonjava.maven.ext.core.io;
 
 import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
 import org.apache.maven.repository.DefaultMirrorSelector;
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
 import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
 import org.commonjava.maven.ext.common.ManipulationException;
+import org.commonjava.maven.ext.common.util.Instrumentation;
+import org.commonjava.maven.ext.common.util.Instrumentation.Counter;
 import org.commonjava.maven.ext.core.ManipulationSession;
+import org.commonjava.maven.ext.core.fixture.StubTransport;
 import org.commonjava.maven.ext.core.fixture.TestUtils;
 import org.commonjava.maven.ext.io.ModelIO;
 import org.commonjava.maven.ext.io.resolver.GalleyAPIWrapper;
 import org.commonjava.maven.ext.io.resolver.GalleyInfrastructure;
+import org.commonjava.maven.ext.io.resolver.MavenLocationExpander;
 import org.jboss.byteman.contrib.bmunit.BMRule;
 import org.jboss.byteman.contrib.bmunit.BMUnitRunner;
 import org.junit.Rule;
@@ -31,6 +37,16 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -94,4 +110,106 @@ public class ModelResolverTest
                                       getArtifactId() );
 
     }
+
+    @Test
+    public void prefetchRemoteModels()
+                    throws Exception
+    {
+        final List<String> downloads = Collections.synchronizedList( new ArrayList<>() );
+        final Map<String, byte[]> data = new HashMap<String, byte[]>()
+        {
+            @Override
+            public byte[] get( Object key )
+            {
+                downloads.add( key.toString() );
+                return super.get( key );
+            }
+        };
+        data.put( "org/foo/bom/1.0/bom-1.0.pom", pom( "bom", "<parent><groupId>org.foo</groupId>"
+                        + "<artifactId>parent</artifactId><version>2.0</version></parent>" ) );
+        data.put( "org/foo/parent/2.0/parent-2.0.pom", pom( "parent", "<version>2.0</version>" ) );
+
+        final GalleyInfrastructure galleyInfra =
+                        new GalleyInfrastructure( new ManipulationSession(), new DefaultMirrorSelector() ).init(
+                                        MavenLocationExpander.EXPANSION_TARGET, new StubTransport( data ),
+                                        temp.newFolder( "cache-dir" ) );
+        final ModelIO model = new ModelIO( new GalleyAPIWrapper( galleyInfra ) );
+        final ProjectVersionRef bom = SimpleProjectVersionRef.parse( "org.foo:bom:1.0" );
+
+        model.prefetch( Collections.singletonList( bom ) );
+
+        Model m = model.resolveRawModel( bom );
+        assertEquals( "bom", m.getArtifactId() );
+        // The parent is prefetched too, and changes to the returned models do not affect the prefetched ones.
+        m.setArtifactId( "changed" );
+        assertEquals( "bom", model.resolveRawModel( bom ).getArtifactId() );
+        assertEquals( "parent", model.resolveRawModel( SimpleProjectVersionRef.parse( "org.foo:parent:2.0" ) )
+                                     .getArtifactId() );
+        assertEquals( Arrays.asList( "org/foo/bom/1.0/bom-1.0.pom", "org/foo/parent/2.0/parent-2.0.pom" ),
+                      downloads );
+        galleyInfra.finish();
+    }
+
+    @Test
+    public void remoteModelsAreParsedOnce()
+                    throws Exception
+    {
+        final Map<String, byte[]> data = new HashMap<>();
+        data.put( "org/foo/bom/1.0/bom-1.0.pom", pom( "bom", "<version>1.0</version>"
+                        + "<properties><plugin.version>3.1</plugin.version></properties>"
+                        + "<build><pluginManagement><plugins><plugin><groupId>org.foo</groupId>"
+                        + "<artifactId>foo-plugin</artifactId><version>${plugin.version}</version>"
+                        + "</plugin></plugins></pluginManagement></build>" ) );
+        data.put( "org/foo/other/1.0/other-1.0.pom", pom( "other", "<version>1.0</version>" ) );
+
+        final GalleyInfrastructure galleyInfra =
+                        new GalleyInfrastructure( new ManipulationSession(), new DefaultMirrorSelector() ).init(
+                                        MavenLocationExpander.EXPANSION_TARGET, new StubTransport( data ),
+                                        temp.newFolder( "cache-dir" ) );
+        final Instrumentation instrumentation = galleyInfra.getInstrumentation();
+        final ModelIO model = new ModelIO( new GalleyAPIWrapper( galleyInfra ) );
+        final ProjectVersionRef bom = SimpleProjectVersionRef.parse( "org.foo:bom:1.0" );
+        final ProjectVersionRef other = SimpleProjectVersionRef.parse( "org.foo:other:1.0" );
+
+        final Set<Plugin> plugins = model.getRemotePluginManagementVersionOverrides( bom, new Properties() );
+        assertEquals( "3.1", plugins.iterator().next().getVersion() );
+        // Inlining the properties must not modify the cached model.
+        assertEquals( plugins, model.getRemotePluginManagementVersionOverrides( bom, new Properties() ) );
+        assertEquals( "3.1", model.getRemotePropertyMappingOverrides( bom ).getProperty( "plugin.version" ) );
+        assertEquals( "${plugin.version}", model.resolveRawModel( bom )
+                                                .getBuild()
+                                                .getPluginManagement()
+                                                .getPlugins()
+                                                .get( 0 )
+                                                .getVersion() );
+        // The raw model and the view are each read once.
+        assertEquals( 2, instrumentation.get( Counter.REMOTE_POMS_RESOLVED ) );
+
+        // Once the cache is full the least recently used POM is evicted.
+        final Properties properties = new Properties();
+        properties.setProperty( ModelIO.REMOTE_MODEL_CACHE_SIZE, "1" );
+        model.init( properties );
+        model.resolveRawModel( bom );
+        model.resolveRawModel( other );
+        model.resolveRawModel( other );
+        model.resolveRawModel( bom );
+        assertEquals( 5, instrumentation.get( Counter.REMOTE_POMS_RESOLVED ) );
+        galleyInfra.finish();
+    }
+
+    @Test(expected = ManipulationException.class)
+    public void invalidRemoteModelCacheSizeIsReported()
+                    throws Exception
+    {
+        final Properties properties = new Properties();
+        properties.setProperty( ModelIO.REMOTE_MODEL_CACHE_SIZE, "0" );
+        new ModelIO( null ).init( properties );
+    }
+
+    private static byte[] pom( String artifactId, String content )
+    {
+        return ( "<project><modelVersion>4.0.0</modelVersion><groupId>org.foo</groupId><artifactId>" + artifactId
+                        + "</artifactId>" + content + "<packaging>pom</packaging></project>" ).getBytes(
+                        StandardCharsets.UTF_8 );
+    }
 }
@@ -16,6 +16,7 @@
 package org.commonjava.maven.ext.core.io;
 
 import org.apache.commons.io.FileUtils;
+import org.commonjava.maven.ext.common.ManipulationException;
 import org.commonjava.maven.ext.common.model.SimpleScopedArtifactRef;
 import org.commonjava.maven.ext.core.ManipulationSession;
 import org.commonjava.maven.ext.core.fixture.TestUtils;
@@ -28,8 +29,10 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.util.Properties;
 
 import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
 
 public class ResolverTest
 {
@@ -55,4 +58,25 @@ public class ResolverTest
 
         assertTrue( academy.contains( "This is Custom Matcher to validate Credit Card" ) );
     }
+
+    @Test
+    public void invalidTransferSettingsAreReported()
+                    throws Exception
+    {
+        for ( String[] setting : new String[][] { { GalleyInfrastructure.TRANSFER_TIMEOUT_SEC, "0" },
+                                                  { GalleyInfrastructure.TRANSFER_MAX_CONNECTIONS, "ten" } } )
+        {
+            final Properties p = new Properties();
+            p.setProperty( setting[0], setting[1] );
+            try
+            {
+                new GalleyInfrastructure( TestUtils.createSession( p ), null ).init( null, null, temp.newFolder() );
+                fail( "Failed to reject " + setting[0] + '=' + setting[1] );
+            }
+            catch ( ManipulationException e )
+            {
+                assertTrue( e.getMessage().contains( setting[0] ) );
+            }
+        }
+    }
 }
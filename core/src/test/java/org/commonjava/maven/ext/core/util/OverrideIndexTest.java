@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.core.util;
+
+import org.commonjava.maven.atlas.ident.ref.ArtifactRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleArtifactRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OverrideIndexTest
+{
+    @Test
+    public void testLookupByGA()
+    {
+        final ArtifactRef bar1 = SimpleArtifactRef.parse( "org.foo:bar:1.0" );
+        final ArtifactRef baz = SimpleArtifactRef.parse( "org.foo:baz:1.0" );
+        final ArtifactRef bar2 = SimpleArtifactRef.parse( "org.foo:bar:2.0" );
+        final Map<ArtifactRef, String> overrides = new LinkedHashMap<>();
+        overrides.put( bar1, "1.0.redhat-1" );
+        overrides.put( baz, "1.0.redhat-1" );
+        overrides.put( bar2, "2.0.redhat-1" );
+
+        final OverrideIndex<ArtifactRef> index = OverrideIndex.forArtifacts( overrides );
+
+        assertEquals( 3, index.size() );
+        assertEquals( Arrays.asList( bar1, bar2 ), index.get( SimpleProjectRef.parse( "org.foo:bar" ) ) );
+        // Lookups ignore the version of the reference.
+        assertEquals( Arrays.asList( bar1, bar2 ), index.get( new SimpleProjectVersionRef( "org.foo", "bar", "3.0" ) ) );
+        assertTrue( index.containsKey( baz ) );
+        assertFalse( index.containsKey( SimpleProjectRef.parse( "org.foo:other" ) ) );
+        assertTrue( index.get( SimpleProjectRef.parse( "org.foo:other" ) ).isEmpty() );
+    }
+
+    @Test
+    public void testLookupMultipleRetainsOrder()
+    {
+        final ArtifactRef bar = SimpleArtifactRef.parse( "org.foo:bar:1.0" );
+        final ArtifactRef baz = SimpleArtifactRef.parse( "org.foo:baz:1.0" );
+        final ArtifactRef qux = SimpleArtifactRef.parse( "org.foo:qux:1.0" );
+        final Map<ArtifactRef, String> overrides = new LinkedHashMap<>();
+        overrides.put( bar, "1.0.redhat-1" );
+        overrides.put( baz, "1.0.redhat-1" );
+        overrides.put( qux, "1.0.redhat-1" );
+
+        final List<ArtifactRef> result = OverrideIndex.forArtifacts( overrides )
+                                                      .get( Arrays.asList( SimpleProjectRef.parse( "org.foo:qux" ),
+                                                                           SimpleProjectRef.parse( "org.foo:bar" ),
+                                                                           SimpleProjectRef.parse( "org.foo:qux" ) ) );
+        assertEquals( Arrays.asList( bar, qux ), result );
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.core.util;
+
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectRef;
+import org.commonjava.maven.ext.common.ManipulationException;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OverrideRulesTest
+{
+    @Test
+    public void testModuleRulesRetainOrder() throws ManipulationException
+    {
+        final Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put( "org.foo:bar", "1.0" );
+        overrides.put( "org.foo:a@org.module:m1", "1.0" );
+        overrides.put( "org.foo:b@org.module:*", "" );
+        overrides.put( "org.foo:c@*", "2.0" );
+        overrides.put( "org.foo:d@org.module:m1", "3.0" );
+        overrides.put( "org.foo:e@org.module:m2", "4.0" );
+
+        final OverrideRules rules = OverrideRules.compile( overrides );
+
+        assertEquals( "org.foo:a@org.module:m1,org.foo:b@org.module:*,org.foo:d@org.module:m1",
+                      keys( rules.getModuleRules( "org.module:m1" ) ) );
+        assertEquals( "org.foo:b@org.module:*", keys( rules.getModuleRules( "org.module:m3" ) ) );
+        assertTrue( rules.getModuleRules( "org.other:m1" ).isEmpty() );
+
+        final List<OverrideRules.Rule> wildcards = rules.getWildcardRules();
+        assertEquals( "org.foo:c@*", keys( wildcards ) );
+        assertNull( wildcards.get( 0 ).getModule() );
+        assertEquals( SimpleProjectRef.parse( "org.foo:c" ), wildcards.get( 0 ).getArtifact() );
+        assertTrue( rules.getModuleRules( "org.module:m3" ).get( 0 ).isExclusion() );
+    }
+
+    @Test( expected = ManipulationException.class )
+    public void testInvalidKey() throws ManipulationException
+    {
+        final Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put( "org.foo:a@org.module:m1@org.module:m2", "1.0" );
+
+        OverrideRules.compile( overrides );
+    }
+
+    private static String keys( final List<OverrideRules.Rule> rules )
+    {
+        return rules.stream().map( OverrideRules.Rule::getKey ).collect( Collectors.joining( "," ) );
+    }
+}
@@ -17,6 +17,8 @@ package org.commonjava.maven.ext.core.util;
 
 import org.apache.commons.io.FileUtils;
 import org.commonjava.maven.ext.common.model.Project;
+import org.commonjava.maven.ext.common.util.Instrumentation.Counter;
+import org.commonjava.maven.ext.core.ManipulationSession;
 import org.commonjava.maven.ext.core.fixture.TestUtils;
 import org.commonjava.maven.ext.io.PomIO;
 import org.junit.Rule;
@@ -25,6 +27,7 @@ import org.junit.contrib.java.lang.system.SystemOutRule;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 
@@ -84,4 +87,24 @@ public class PomIOTest
         List<Project> projects = pomIO.parseProject( projectroot );
         assertEquals( 1, projects.size() );
     }
+
+    @Test
+    public void testRewriteCountsWrittenPomsOnly() throws Exception
+    {
+        final File projectroot = folder.newFile();
+        final File resource = TestUtils.resolveFileResource( "", "pom-quarkus.xml" );
+        assertNotNull( resource );
+        FileUtils.copyFile( resource, projectroot );
+
+        ManipulationSession session = TestUtils.createSessionAndManager( new Properties(), projectroot ).getSession();
+        PomIO pomIO = new PomIO( session );
+        List<Project> projects = pomIO.parseProject( projectroot );
+
+        // The first rewrite adds the marker comment ; the second has nothing to change so is skipped.
+        pomIO.rewritePOMs( new HashSet<>( projects ) );
+        pomIO.rewritePOMs( new HashSet<>( projects ) );
+
+        assertEquals( 1, session.getInstrumentation().get( Counter.POMS_REWRITTEN ) );
+        assertEquals( projectroot.length(), session.getInstrumentation().get( Counter.BYTES_WRITTEN ) );
+    }
 }
@@ -242,4 +242,60 @@ public class ProjectInheritanceTest
             }
         }
     }
+
+    @Test
+    public void testResolvedViewsTrackModifications() throws Exception
+    {
+        final ManipulationSession session = new ManipulationSession();
+
+        final File projectroot = Paths.get( INTEGRATION_TEST.toString(), "src", "it", "project-inheritance", "pom.xml" ).toFile();
+
+        PomIO pomIO = new PomIO();
+        List<Project> projects = pomIO.parseProject( projectroot );
+        Project root = projects.get( 0 );
+        Project child = projects.stream()
+                                .filter( p -> p.getArtifactId().equals( "apiman-common-config" ) )
+                                .findFirst()
+                                .get();
+
+        Map<ArtifactRef, Dependency> first = root.getResolvedManagedDependencies( session );
+        Map<ArtifactRef, Dependency> second = root.getResolvedManagedDependencies( session );
+        assertEquals( first, second );
+        // Callers receive their own copy of the view.
+        second.clear();
+        assertEquals( first, root.getResolvedManagedDependencies( session ) );
+
+        // Modifying the project version changes the resolution of ${project.version}.
+        root.getModel().setVersion( "1.0.modified" );
+        assertTrue( root.getResolvedManagedDependencies( session )
+                        .keySet()
+                        .stream()
+                        .anyMatch( a -> a.getVersionString().equals( "1.0.modified" ) ) );
+
+        // Modifying a dependency is reflected.
+        Dependency d = root.getModel().getDependencyManagement().getDependencies().get( 0 );
+        d.setVersion( "2.0" );
+        assertTrue( root.getResolvedManagedDependencies( session ).containsValue( d ) );
+        assertTrue( root.getResolvedManagedDependencies( session )
+                        .keySet()
+                        .stream()
+                        .anyMatch( a -> a.getArtifactId().equals( d.getArtifactId() ) && a.getVersionString().equals( "2.0" ) ) );
+
+        // Modifying a parent property is reflected in the child.
+        Project parent = child.getProjectParent();
+        Dependency junit = new Dependency();
+        junit.setGroupId( "junit" );
+        junit.setArtifactId( "junit" );
+        junit.setVersion( "${version.junit}" );
+        child.getModel().addDependency( junit );
+        assertTrue( child.getAllResolvedDependencies( session )
+                         .keySet()
+                         .stream()
+                         .anyMatch( a -> a.getArtifactId().equals( "junit" ) && a.getVersionString().equals( "3.8.2" ) ) );
+        parent.getModel().getProperties().setProperty( "version.junit", "4.13.2" );
+        assertTrue( child.getAllResolvedDependencies( session )
+                         .keySet()
+                         .stream()
+                         .anyMatch( a -> a.getArtifactId().equals( "junit" ) && a.getVersionString().equals( "4.13.2" ) ) );
+    }
 }
@@ -21,6 +21,7 @@ import org.apache.maven.execution.MavenExecutionRequest;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Profile;
 import org.codehaus.plexus.DefaultPlexusContainer;
 import org.codehaus.plexus.PlexusContainer;
 import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
@@ -326,6 +327,37 @@ public class PropertiesUtilsTest
         assertEquals( "version.gnu.getopt", result );
     }
 
+    @Test
+    public void testResolveInheritedPropertiesTracksChanges() throws Exception
+    {
+        final Model modelChild = TestUtils.resolveModelResource( RESOURCE_BASE, "inherited-properties.pom" );
+        final Model modelParent = TestUtils.resolveModelResource( RESOURCE_BASE, "infinispan-bom-8.2.0.Final.pom" );
+        ManipulationSession session = createUpdateSession();
+
+        Project pP = new Project( modelParent );
+        Project pC = new Project( modelChild );
+        pC.setProjectParent( pP );
+
+        assertEquals( PropertyResolver.resolveProperties( session, pC.getInheritedList(), "${version.hibernate.osgi}" ),
+                      PropertyResolver.resolveInheritedProperties( session, pC, "${version.hibernate.osgi}" ) );
+        assertEquals( "5.0.4.Final", PropertyResolver.resolveInheritedProperties( session, pC, "${version.hibernate.osgi}" ) );
+
+        // Modifications to the parent must be visible through the cached child scope.
+        modelParent.getProperties().setProperty( "version.hibernate.osgi", "5.0.5.Final" );
+        assertEquals( "5.0.5.Final", PropertyResolver.resolveInheritedProperties( session, pC, "${version.hibernate.osgi}" ) );
+
+        // As must profiles injected after the first resolution.
+        Profile profile = new Profile();
+        profile.setId( "injected" );
+        profile.getProperties().setProperty( "version.hibernate.osgi", "5.0.6.Final" );
+        modelChild.addProfile( profile );
+        assertEquals( "5.0.5.Final", PropertyResolver.resolveInheritedProperties( session, pC, "${version.hibernate.osgi}" ) );
+        session.getActiveProfiles().add( "injected" );
+        assertEquals( "5.0.6.Final", PropertyResolver.resolveInheritedProperties( session, pC, "${version.hibernate.osgi}" ) );
+        assertEquals( PropertyResolver.resolveProperties( session, pC.getInheritedList(), "${version.hibernate.osgi}" ),
+                      PropertyResolver.resolveInheritedProperties( session, pC, "${version.hibernate.osgi}" ) );
+    }
+
     @Test
     public void testUpdateProjectVersionProperty() throws Exception
     {
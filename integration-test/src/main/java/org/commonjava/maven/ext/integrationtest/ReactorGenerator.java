@@ -0,0 +1,357 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.integrationtest;
+
+import org.commonjava.maven.atlas.ident.ref.ArtifactRef;
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleArtifactRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates synthetic multi-module reactors for scale testing and benchmarking. The output only depends upon the
+ * shape so that results are comparable between runs. The shape is configured by:
+ * <ul>
+ *   <li>{@link #modules(int)}: the number of leaf modules</li>
+ *   <li>{@link #inheritanceDepth(int)}: the number of parents of each leaf module. The root POM manages the
+ *   dependencies and below it is a chain of intermediate parents, nested in each other's directory, with the leaf
+ *   modules under the last one</li>
+ *   <li>{@link #propertiesPerPom(int)}: the number of additional properties in each POM, half of which refer to
+ *   another property</li>
+ *   <li>{@link #managedDependencies(int)}: the number of dependencies managed by the root POM</li>
+ *   <li>{@link #dependenciesPerModule(int)}: the number of dependencies of each leaf module, taken from a window of
+ *   the managed dependencies. Leaf modules with an odd index declare the versions rather than using the managed
+ *   ones</li>
+ *   <li>{@link #profiles(int)}: the number of profiles in each leaf module, each adding a property and a
+ *   dependency</li>
+ *   <li>{@link #propertyFraction(double)}: the proportion of the dependency versions expressed as properties. The
+ *   root POM defines these properties and each intermediate parent redefines them in terms of those of its parent,
+ *   so that a version declared by a leaf module goes through a property per level of inheritance</li>
+ * </ul>
+ */
+public class ReactorGenerator
+{
+    public static final String GROUP_ID = "org.scale";
+
+    public static final String VERSION = "1.0";
+
+    public static final String SUFFIX = "redhat-00001";
+
+    private int modules = 10;
+
+    private int inheritanceDepth = 1;
+
+    private int propertiesPerPom = 10;
+
+    private int managedDependencies = 100;
+
+    private int dependenciesPerModule = 20;
+
+    private int profiles = 0;
+
+    private double propertyFraction = 0.5;
+
+    public ReactorGenerator modules( int modules )
+    {
+        this.modules = modules;
+        return this;
+    }
+
+    public ReactorGenerator inheritanceDepth( int inheritanceDepth )
+    {
+        if ( inheritanceDepth < 1 )
+        {
+            throw new IllegalArgumentException( "Inheritance depth must be at least 1" );
+        }
+        this.inheritanceDepth = inheritanceDepth;
+        return this;
+    }
+
+    public ReactorGenerator propertiesPerPom( int propertiesPerPom )
+    {
+        this.propertiesPerPom = propertiesPerPom;
+        return this;
+    }
+
+    public ReactorGenerator managedDependencies( int managedDependencies )
+    {
+        this.managedDependencies = managedDependencies;
+        return this;
+    }
+
+    public ReactorGenerator dependenciesPerModule( int dependenciesPerModule )
+    {
+        this.dependenciesPerModule = dependenciesPerModule;
+        return this;
+    }
+
+    public ReactorGenerator profiles( int profiles )
+    {
+        this.profiles = profiles;
+        return this;
+    }
+
+    public ReactorGenerator propertyFraction( double propertyFraction )
+    {
+        if ( propertyFraction < 0 || propertyFraction > 1 )
+        {
+            throw new IllegalArgumentException( "Property fraction must be between 0 and 1" );
+        }
+        this.propertyFraction = propertyFraction;
+        return this;
+    }
+
+    /**
+     * @return the dependencies managed by the generated reactor
+     */
+    public List<ProjectVersionRef> getDependencies()
+    {
+        final List<ProjectVersionRef> result = new ArrayList<>( managedDependencies );
+        for ( int i = 0; i < managedDependencies; i++ )
+        {
+            result.add( new SimpleProjectVersionRef( GROUP_ID + ".dep" + ( i % 17 ), "dep-" + i,
+                                                     ( i % 5 + 1 ) + "." + ( i % 7 ) + ".0" ) );
+        }
+        return result;
+    }
+
+    /**
+     * Creates an override set that aligns a proportion of the managed dependencies to the {@link #SUFFIX}.
+     *
+     * @param coverage the proportion of the dependencies to align, between 0 and 1
+     * @return the overrides
+     */
+    public Map<ArtifactRef, String> overrides( double coverage )
+    {
+        final Map<ArtifactRef, String> result = new LinkedHashMap<>();
+        final int step = coverage <= 0 ? Integer.MAX_VALUE : (int) Math.max( 1, Math.round( 1 / coverage ) );
+        final List<ProjectVersionRef> dependencies = getDependencies();
+
+        for ( int i = 0; i < dependencies.size(); i += step )
+        {
+            final ProjectVersionRef d = dependencies.get( i );
+            result.put( new SimpleArtifactRef( d, "jar", null ), d.getVersionString() + '.' + SUFFIX );
+        }
+        return result;
+    }
+
+    /**
+     * Writes the reactor.
+     *
+     * @param directory the directory to write the reactor into
+     * @return the root POM
+     * @throws IOException if an error occurs
+     */
+    public File generate( File directory ) throws IOException
+    {
+        final List<ProjectVersionRef> dependencies = getDependencies();
+        final List<String> leaves = new ArrayList<>( modules );
+        for ( int m = 0; m < modules; m++ )
+        {
+            leaves.add( "module-" + m );
+        }
+
+        // The root, followed by the chain of intermediate parents.
+        File parentDirectory = directory;
+        String parent = null;
+        for ( int level = 0; level < inheritanceDepth; level++ )
+        {
+            final String artifactId = level == 0 ? "reactor" : "parent-" + level;
+            final boolean last = level == inheritanceDepth - 1;
+            final Pom pom = new Pom( artifactId, "pom", parent );
+
+            pom.modules( last ? leaves : Collections.singletonList( "parent-" + ( level + 1 ) ) );
+            pom.append( "  <properties>\n" );
+            for ( int i = 0; i < dependencies.size(); i++ )
+            {
+                if ( isProperty( i ) )
+                {
+                    pom.property( versionProperty( dependencies.get( i ), level ),
+                                  level == 0 ? dependencies.get( i ).getVersionString() :
+                                                  "${" + versionProperty( dependencies.get( i ), level - 1 ) + '}' );
+                }
+            }
+            pom.properties( artifactId, propertiesPerPom );
+            pom.append( "  </properties>\n" );
+
+            if ( level == 0 )
+            {
+                pom.append( "  <dependencyManagement>\n    <dependencies>\n" );
+                for ( int i = 0; i < dependencies.size(); i++ )
+                {
+                    pom.dependency( dependencies.get( i ), version( dependencies.get( i ), i, 0 ), "      " );
+                }
+                pom.append( "    </dependencies>\n  </dependencyManagement>\n" );
+            }
+            if ( level > 0 )
+            {
+                parentDirectory = new File( parentDirectory, artifactId );
+            }
+            pom.write( parentDirectory );
+            parent = artifactId;
+        }
+
+        for ( int m = 0; m < modules; m++ )
+        {
+            final Pom pom = new Pom( leaves.get( m ), null, parent );
+            final int declared = Math.min( dependenciesPerModule, dependencies.size() );
+
+            pom.append( "  <properties>\n" );
+            pom.properties( leaves.get( m ), propertiesPerPom );
+            pom.append( "  </properties>\n  <dependencies>\n" );
+            for ( int j = 0; j < declared; j++ )
+            {
+                final int i = ( m * 7 + j ) % dependencies.size();
+                pom.dependency( dependencies.get( i ),
+                                m % 2 == 1 ? version( dependencies.get( i ), i, inheritanceDepth - 1 ) : null,
+                                "    " );
+            }
+            pom.append( "  </dependencies>\n" );
+
+            if ( profiles > 0 )
+            {
+                pom.append( "  <profiles>\n" );
+                for ( int p = 0; p < profiles; p++ )
+                {
+                    final String id = "profile-" + p;
+                    pom.append( "    <profile>\n      <id>" ).append( id ).append( "</id>\n" )
+                       .append( "      <activation>\n        <property>\n          <name>" ).append( id )
+                       .append( "</name>\n        </property>\n      </activation>\n      <properties>\n" );
+                    pom.property( id + ".enabled", "true", "        " );
+                    pom.append( "      </properties>\n      <dependencies>\n" );
+                    if ( !dependencies.isEmpty() )
+                    {
+                        final int i = ( m * 7 + declared + p ) % dependencies.size();
+                        pom.dependency( dependencies.get( i ), version( dependencies.get( i ), i, inheritanceDepth - 1 ),
+                                        "        " );
+                    }
+                    pom.append( "      </dependencies>\n    </profile>\n" );
+                }
+                pom.append( "  </profiles>\n" );
+            }
+            pom.write( new File( parentDirectory, leaves.get( m ) ) );
+        }
+        return new File( directory, "pom.xml" );
+    }
+
+    /**
+     * Spreads the dependencies with property versions evenly through the list.
+     */
+    private boolean isProperty( int i )
+    {
+        return Math.floor( ( i + 1 ) * propertyFraction ) > Math.floor( i * propertyFraction );
+    }
+
+    private String version( ProjectVersionRef d, int i, int level )
+    {
+        return isProperty( i ) ? "${" + versionProperty( d, level ) + '}' : d.getVersionString();
+    }
+
+    private static String versionProperty( ProjectVersionRef d, int level )
+    {
+        return "version." + d.getArtifactId() + ( level == 0 ? "" : ".l" + level );
+    }
+
+    private static final class Pom
+    {
+        private final StringBuilder content = new StringBuilder();
+
+        private Pom( String artifactId, String packaging, String parent )
+        {
+            content.append( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" )
+                   .append( "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" )
+                   .append( "  <modelVersion>4.0.0</modelVersion>\n" );
+            if ( parent != null )
+            {
+                content.append( "  <parent>\n    <groupId>" ).append( GROUP_ID ).append( "</groupId>\n" )
+                       .append( "    <artifactId>" ).append( parent ).append( "</artifactId>\n" )
+                       .append( "    <version>" ).append( VERSION ).append( "</version>\n  </parent>\n" );
+            }
+            content.append( "  <groupId>" ).append( GROUP_ID ).append( "</groupId>\n" )
+                   .append( "  <artifactId>" ).append( artifactId ).append( "</artifactId>\n" )
+                   .append( "  <version>" ).append( VERSION ).append( "</version>\n" );
+            if ( packaging != null )
+            {
+                content.append( "  <packaging>" ).append( packaging ).append( "</packaging>\n" );
+            }
+        }
+
+        private StringBuilder append( String text )
+        {
+            return content.append( text );
+        }
+
+        private void modules( List<String> modules )
+        {
+            content.append( "  <modules>\n" );
+            modules.forEach( m -> content.append( "    <module>" ).append( m ).append( "</module>\n" ) );
+            content.append( "  </modules>\n" );
+        }
+
+        private void property( String name, String value )
+        {
+            property( name, value, "    " );
+        }
+
+        private void property( String name, String value, String indent )
+        {
+            content.append( indent ).append( '<' ).append( name ).append( '>' ).append( value )
+                   .append( "</" ).append( name ).append( ">\n" );
+        }
+
+        /**
+         * Adds properties that are not used by the dependencies, where every other one refers to the previous one.
+         */
+        private void properties( String prefix, int count )
+        {
+            for ( int p = 0; p < count; p++ )
+            {
+                property( prefix + ".property." + p,
+                          p % 2 == 1 ? "${" + prefix + ".property." + ( p - 1 ) + '}' : "value-" + p );
+            }
+        }
+
+        private void dependency( ProjectVersionRef d, String version, String indent )
+        {
+            content.append( indent ).append( "<dependency>\n" )
+                   .append( indent ).append( "  <groupId>" ).append( d.getGroupId() ).append( "</groupId>\n" )
+                   .append( indent ).append( "  <artifactId>" ).append( d.getArtifactId() )
+                   .append( "</artifactId>\n" );
+            if ( version != null )
+            {
+                content.append( indent ).append( "  <version>" ).append( version ).append( "</version>\n" );
+            }
+            content.append( indent ).append( "</dependency>\n" );
+        }
+
+        private void write( File directory ) throws IOException
+        {
+            content.append( "</project>\n" );
+            Files.createDirectories( directory.toPath() );
+            Files.write( new File( directory, "pom.xml" ).toPath(),
+                         content.toString().getBytes( StandardCharsets.UTF_8 ) );
+        }
+    }
+}
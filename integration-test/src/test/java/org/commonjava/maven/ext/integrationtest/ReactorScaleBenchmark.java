@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.integrationtest;
+
+import org.commonjava.maven.ext.core.ManipulationManager;
+import org.commonjava.maven.ext.core.fixture.TestUtils;
+import org.commonjava.maven.ext.core.state.CommonState;
+import org.commonjava.maven.ext.core.state.DependencyState;
+import org.commonjava.maven.ext.core.state.RESTState;
+import org.commonjava.maven.ext.io.rest.handler.DASimulatorJettyHandler;
+import org.commonjava.maven.ext.io.rest.rule.MockServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Aligns a reactor from {@link ReactorGenerator} through a full {@link ManipulationManager#scanAndApply} against the
+ * DA simulator and checks that it stays within a time and heap budget. As the result depends on the machine it is not
+ * part of the default test run (the name does not match the surefire includes) ; it is run explicitly, with the shape
+ * and the budgets changed through the system properties below, e.g.
+ * <pre>
+ * mvn verify -Prun-its -pl integration-test -Dinvoker.skip=true -Dtest=ReactorScaleBenchmark -Dscale.modules=800 ...
+ * </pre>
+ * The heap used is that retained by the aligned session, measured after a garbage collection.
+ */
+public class ReactorScaleBenchmark
+{
+    private static final Logger logger = LoggerFactory.getLogger( ReactorScaleBenchmark.class );
+
+    private final DASimulatorJettyHandler simulator = new DASimulatorJettyHandler();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Rule
+    public MockServer mockServer = new MockServer( simulator );
+
+    @Test
+    public void testAlignmentWithinBudget() throws Exception
+    {
+        final ReactorGenerator generator = new ReactorGenerator()
+                        .modules( Integer.getInteger( "scale.modules", 200 ) )
+                        .inheritanceDepth( Integer.getInteger( "scale.depth", 5 ) )
+                        .propertiesPerPom( Integer.getInteger( "scale.properties", 20 ) )
+                        .managedDependencies( Integer.getInteger( "scale.managed", 2000 ) )
+                        .dependenciesPerModule( Integer.getInteger( "scale.dependencies", 30 ) )
+                        .profiles( Integer.getInteger( "scale.profiles", 3 ) )
+                        .propertyFraction( Double.parseDouble( System.getProperty( "scale.propertyFraction", "0.5" ) ) );
+        final long timeBudget = TimeUnit.SECONDS.toNanos( Integer.getInteger( "scale.timeBudget", 60 ) );
+        final long heapBudget = Integer.getInteger( "scale.heapBudget", 512 ) * 1024L * 1024L;
+
+        final File root = generator.generate( folder.newFolder() );
+
+        final Properties p = new Properties();
+        p.setProperty( RESTState.REST_URL, mockServer.getUrl() );
+        p.setProperty( DependencyState.DEPENDENCY_SOURCE, "REST" );
+        p.setProperty( CommonState.STRICT_ALIGNMENT, "false" );
+        p.setProperty( ManipulationManager.REPORT_TXT_OUTPUT_FILE,
+                       new File( root.getParentFile(), "report.txt" ).getPath() );
+
+        final TestUtils.SMContainer smc = TestUtils.createSessionAndManager( p, root );
+        final long before = usedHeap();
+
+        final long start = System.nanoTime();
+        smc.getManager().scanAndApply( smc.getSession() );
+        final long elapsed = System.nanoTime() - start;
+
+        // The session, and so the aligned projects, are still reachable so are included.
+        final long heap = Math.max( 0, usedHeap() - before );
+
+        logger.info( "Aligned {} modules in {} ms using {} MB of heap ({} REST requests)",
+                     smc.getSession().getProjects().size(), TimeUnit.NANOSECONDS.toMillis( elapsed ),
+                     heap / ( 1024 * 1024 ), simulator.getRequests() );
+
+        final String result = new String( Files.readAllBytes( root.toPath() ), StandardCharsets.UTF_8 );
+        assertTrue( "Managed dependencies were not aligned",
+                    result.split( DASimulatorJettyHandler.SUFFIX, -1 ).length - 1 >= generator.getDependencies().size() );
+        assertTrue( "Alignment took " + TimeUnit.NANOSECONDS.toMillis( elapsed ) + " ms", elapsed < timeBudget );
+        assertTrue( "Alignment used " + heap / ( 1024 * 1024 ) + " MB of heap", heap < heapBudget );
+    }
+
+    private static long usedHeap()
+    {
+        final Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
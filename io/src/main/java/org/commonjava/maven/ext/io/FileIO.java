@@ -119,4 +119,27 @@ public class FileIO
             throw new ManipulationException( "Could not determine end-of-line marker mode", ioe );
         }
     }
+
+    /**
+     * Determine the end-of-line marker from the raw content of a file. As the markers are ASCII they may be
+     * located directly within UTF-8 (or any ASCII compatible) encoded content.
+     *
+     * @param content the file content
+     * @return the LineSeparator or null if the content does not contain one.
+     */
+    public static LineSeparator determineEOL( byte[] content )
+    {
+        for ( int i = 0; i < content.length; i++ )
+        {
+            if ( content[i] == '\n' )
+            {
+                return LineSeparator.NL;
+            }
+            else if ( content[i] == '\r' )
+            {
+                return ( i + 1 < content.length && content[i + 1] == '\n' ) ? LineSeparator.CRNL : LineSeparator.CR;
+            }
+        }
+        return null;
+    }
 }
@@ -17,6 +17,7 @@ package org.commonjava.maven.ext.io;
 
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.model.PluginExecution;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
@@ -26,6 +27,8 @@ import org.commonjava.maven.atlas.ident.ref.ArtifactRef;
 import org.commonjava.maven.atlas.ident.ref.ProjectRef;
 import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
 import org.commonjava.maven.atlas.ident.ref.SimpleProjectRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+import org.commonjava.maven.ext.annotation.ConfigValue;
 import org.commonjava.maven.ext.common.ManipulationException;
 import org.commonjava.maven.ext.io.resolver.GalleyAPIWrapper;
 import org.commonjava.maven.galley.TransferException;
@@ -43,6 +46,8 @@ import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -51,6 +56,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
@@ -66,14 +74,100 @@ public class ModelIO
 {
     private final Logger logger = LoggerFactory.getLogger( getClass() );
 
+    /**
+     * The maximum number of remote POMs whose model and view are kept for the run ; the least recently used are evicted
+     * above this.
+     */
+    @ConfigValue( docIndex = "configuration.html#remote-model-cache" )
+    public static final String REMOTE_MODEL_CACHE_SIZE = "remoteModelCacheSize";
+
+    public static final int DEFAULT_REMOTE_MODEL_CACHE_SIZE = 500;
+
     private final GalleyAPIWrapper galleyWrapper;
 
+    private volatile Map<ProjectVersionRef, CachedModel> cache = newCache( DEFAULT_REMOTE_MODEL_CACHE_SIZE );
+
     @Inject
     public ModelIO(GalleyAPIWrapper galleyWrapper)
     {
         this.galleyWrapper = galleyWrapper;
     }
 
+    /**
+     * Clears the remote POMs cached by any previous run, so should be called once per run before any POM is resolved.
+     *
+     * @param userProperties the user properties, from which {@link #REMOTE_MODEL_CACHE_SIZE} is read.
+     * @throws ManipulationException if the cache size is not a whole number of at least one.
+     */
+    public void init( final Properties userProperties ) throws ManipulationException
+    {
+        final String value = userProperties.getProperty( REMOTE_MODEL_CACHE_SIZE,
+                                                         String.valueOf( DEFAULT_REMOTE_MODEL_CACHE_SIZE ) );
+        final int size;
+        try
+        {
+            size = Integer.parseInt( value.trim() );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new ManipulationException( "Invalid value for {}: {}", REMOTE_MODEL_CACHE_SIZE, value, e );
+        }
+        // Anything smaller would evict each model as soon as it is added, silently disabling the cache.
+        if ( size < 1 )
+        {
+            throw new ManipulationException( "Invalid value for {}: {} ; it must be at least 1",
+                                             REMOTE_MODEL_CACHE_SIZE, value );
+        }
+        cache = newCache( size );
+    }
+
+    /**
+     * Starts resolving the POMs, and their parents, in the background so that the downloads overlap. Subsequent calls
+     * to {@link #resolveRawModel(ProjectVersionRef)} return the prefetched models. If a prefetch fails the POM is
+     * resolved again when it is required, so that any error is reported there.
+     *
+     * @param refs the POMs to resolve.
+     */
+    public void prefetch( final Collection<ProjectVersionRef> refs )
+    {
+        final Executor executor = galleyWrapper.getPrefetchExecutor();
+        if ( executor != null && !refs.isEmpty() )
+        {
+            logger.info( "Prefetching {} remote POMs", refs.size() );
+            refs.forEach( ref -> prefetch( ref, executor ) );
+        }
+    }
+
+    private void prefetch( final ProjectVersionRef ref, final Executor executor )
+    {
+        final CompletableFuture<Model> future = new CompletableFuture<>();
+
+        if ( !cached( ref ).start( future ) )
+        {
+            return;
+        }
+        executor.execute( () -> {
+            try
+            {
+                final Model model = readRawModel( ref );
+
+                // Start on the parent before completing so that it is known to be prefetched.
+                final Parent parent = model.getParent();
+                if ( parent != null && isNotEmpty( parent.getVersion() ) && !parent.getVersion().contains( "${" ) )
+                {
+                    prefetch( new SimpleProjectVersionRef( parent.getGroupId(), parent.getArtifactId(),
+                                                           parent.getVersion() ), executor );
+                }
+                future.complete( model );
+            }
+            catch ( ManipulationException | RuntimeException e )
+            {
+                logger.debug( "Unable to prefetch {} ; ignoring: {}", ref, e.getMessage() );
+                future.completeExceptionally( e );
+            }
+        } );
+    }
+
     /**
      * Read the raw model (equivalent to the pom file on disk) from a given GAV.
      *
@@ -83,6 +177,57 @@ public class ModelIO
      */
     public Model resolveRawModel( final ProjectVersionRef ref )
                     throws ManipulationException
+    {
+        final CachedModel cached = cached( ref );
+        final CompletableFuture<Model> future = cached.model;
+        if ( future != null )
+        {
+            try
+            {
+                // Callers may modify the model so return a copy.
+                return future.join().clone();
+            }
+            catch ( CompletionException e )
+            {
+                logger.debug( "Prefetch of {} failed ; repeating", ref );
+            }
+        }
+        final Model model = readRawModel( ref );
+        cached.model = CompletableFuture.completedFuture( model );
+
+        return model.clone();
+    }
+
+    private MavenPomView readPomView( final ProjectVersionRef ref )
+                    throws GalleyMavenException
+    {
+        final CachedModel cached = cached( ref );
+        if ( cached.pomView == null )
+        {
+            cached.pomView = galleyWrapper.readPomView( ref );
+        }
+        return cached.pomView;
+    }
+
+    private CachedModel cached( final ProjectVersionRef ref )
+    {
+        return cache.computeIfAbsent( ref.asProjectVersionRef(), k -> new CachedModel() );
+    }
+
+    private static Map<ProjectVersionRef, CachedModel> newCache( final int maxSize )
+    {
+        return Collections.synchronizedMap( new LinkedHashMap<ProjectVersionRef, CachedModel>( 16, 0.75f, true )
+        {
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<ProjectVersionRef, CachedModel> eldest )
+            {
+                return size() > maxSize;
+            }
+        } );
+    }
+
+    private Model readRawModel( final ProjectVersionRef ref )
+                    throws ManipulationException
     {
         Transfer transfer;
         try
@@ -144,7 +289,7 @@ public class ModelIO
         final Map<ArtifactRef, String> versionOverrides = new LinkedHashMap<>();
         try
         {
-            final MavenPomView pomView = galleyWrapper.readPomView( ref );
+            final MavenPomView pomView = readPomView( ref );
 
             // TODO: active profiles!
             final List<DependencyView> deps = pomView.getAllManagedDependencies();
@@ -214,7 +359,7 @@ public class ModelIO
 
         try
         {
-            final MavenPomView pomView = galleyWrapper.readPomView( ref );
+            final MavenPomView pomView = readPomView( ref );
             final List<PluginView> deps = pomView.getAllManagedBuildPlugins();
             for ( final PluginView p : deps )
             {
@@ -370,4 +515,24 @@ public class ModelIO
         }
         return result;
     }
+
+    /**
+     * The parsed forms of a remote POM, each read when first required.
+     */
+    private static final class CachedModel
+    {
+        private volatile CompletableFuture<Model> model;
+
+        private volatile MavenPomView pomView;
+
+        private synchronized boolean start( final CompletableFuture<Model> future )
+        {
+            if ( model != null )
+            {
+                return false;
+            }
+            model = future;
+            return true;
+        }
+    }
 }
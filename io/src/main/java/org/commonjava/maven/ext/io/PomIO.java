@@ -15,6 +15,7 @@
  */
 package org.commonjava.maven.ext.io;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -22,39 +23,44 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
-import org.apache.maven.project.MavenProject;
-import org.apache.maven.shared.release.ReleaseExecutionException;
-import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
-import org.apache.maven.shared.release.config.ReleaseUtils;
-import org.apache.maven.shared.release.transform.ModelETL;
-import org.apache.maven.shared.release.transform.ModelETLRequest;
-import org.apache.maven.shared.release.transform.jdom2.JDomModelETL;
-import org.apache.maven.shared.release.transform.jdom2.JDomModelETLFactory;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.commonjava.maven.atlas.ident.ref.ProjectRef;
 import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectRef;
+import org.commonjava.maven.ext.annotation.ConfigValue;
 import org.commonjava.maven.ext.common.ManipulationException;
-import org.commonjava.maven.ext.common.jdom.JDOMModelConverter;
+import org.commonjava.maven.ext.common.jdom.JDOMModelWriter;
 import org.commonjava.maven.ext.common.model.Project;
+import org.commonjava.maven.ext.common.model.ReactorIndex;
 import org.commonjava.maven.ext.common.session.MavenSessionHandler;
+import org.commonjava.maven.ext.common.util.Instrumentation;
+import org.commonjava.maven.ext.common.util.Instrumentation.Counter;
 import org.commonjava.maven.ext.common.util.LineSeparator;
 import org.commonjava.maven.ext.common.util.ManifestUtils;
 import org.commonjava.maven.galley.maven.parse.PomPeek;
-import org.jdom2.Document;
+import org.jdom2.JDOMException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,16 +76,29 @@ public class PomIO
     // TODO: Remove this if no side affects reported in 2022.
     public static final String PARSE_POM_TEMPLATES = "parsePomTemplates";
 
+    /**
+     * The number of threads used to read and parse POMs ; the default of one disables parallel parsing.
+     */
+    @ConfigValue( docIndex = "configuration.html#pom-threads" )
+    public static final String PARSE_POM_THREADS = "parsePomThreads";
+
+    /**
+     * The number of threads used to rewrite changed POMs ; the default of one disables parallel rewriting.
+     */
+    @ConfigValue( docIndex = "configuration.html#pom-threads" )
+    public static final String REWRITE_POM_THREADS = "rewritePomThreads";
+
     private static final String MODIFIED_BY = "Modified by POM Manipulation Extension for Maven";
 
     private static final Logger logger = LoggerFactory.getLogger( PomIO.class );
 
-    private final JDomModelETLFactory modelETLFactories = new JDomModelETLFactory();
-    private final ReleaseDescriptorBuilder releaseDescriptorBuilder = new ReleaseDescriptorBuilder();
+    private final boolean parsePomTemplates;
+
+    private final int parsePomThreads;
 
-    private final JDOMModelConverter jdomModelConverter = new JDOMModelConverter( );
+    private final int rewritePomThreads;
 
-    private final boolean parsePomTemplates;
+    private final Instrumentation instrumentation;
 
     private String manifestComment;
 
@@ -88,17 +107,29 @@ public class PomIO
     {
         parsePomTemplates = Boolean.parseBoolean(
                         handler.getUserProperties().getProperty( PARSE_POM_TEMPLATES, "true" ) );
+        parsePomThreads = Integer.parseInt( handler.getUserProperties().getProperty( PARSE_POM_THREADS, "1" ) );
+        rewritePomThreads = Integer.parseInt( handler.getUserProperties().getProperty( REWRITE_POM_THREADS, "1" ) );
+        instrumentation = handler.getInstrumentation();
     }
 
     // Test use only.
     public PomIO()
+    {
+        this( 1 );
+    }
+
+    // Test use only.
+    PomIO( int threads )
     {
         parsePomTemplates = true;
+        this.parsePomThreads = threads;
+        this.rewritePomThreads = threads;
+        this.instrumentation = new Instrumentation();
     }
 
     public List<Project> parseProject( final File pom ) throws ManipulationException
     {
-        final List<PomPeek> peeked = peekAtPomHierarchy( pom );
+        final List<PomSource> peeked = peekAtPomHierarchy( pom );
         try
         {
             return readModelsForManipulation( pom.getCanonicalFile(), peeked );
@@ -118,30 +149,24 @@ public class PomIO
      * @return a collection of Projects
      * @throws ManipulationException if an error occurs.
      */
-    private List<Project> readModelsForManipulation( File executionRoot, final List<PomPeek> peeked )
+    private List<Project> readModelsForManipulation( File executionRoot, final List<PomSource> peeked )
         throws ManipulationException
     {
         final List<Project> projects = new ArrayList<>();
         final HashMap<Project, ProjectVersionRef> projectToParent = new HashMap<>(  );
 
-        for ( final PomPeek peek : peeked )
+        for ( final PomSource source : peeked )
         {
-            final File pom = peek.getPom();
-
-            // Sucks, but we have to brute-force reading in the raw model.
-            // The effective-model building, below, has a tantalizing getRawModel()
-            // method on the result, BUT this seems to return models that have
-            // the plugin versions set inside profiles...so they're not entirely
-            // raw.
-            Model raw;
-            try ( InputStream in = Files.newInputStream( pom.toPath() ))
-            {
-                raw = new MavenXpp3Reader().read( in );
-            }
-            catch ( final IOException | XmlPullParserException e )
+            final File pom = source.pom;
+            final PomPeek peek = source.peek;
+
+            // The raw model was parsed while peeking ; any failure is only reported here for POMs we actually use.
+            if ( source.modelError != null )
             {
-                throw new ManipulationException( "Failed to build model for POM: ({}) : {}", pom, e.getMessage(), e );
+                throw new ManipulationException( "Failed to build model for POM: ({}) : {}", pom,
+                                                 source.modelError.getMessage(), source.modelError );
             }
+            final Model raw = source.model;
 
             if ( raw == null )
             {
@@ -151,6 +176,8 @@ public class PomIO
             final Project project = new Project( pom, raw );
             projectToParent.put( project, peek.getParentKey() );
             project.setInheritanceRoot( peek.isInheritanceRoot() );
+            project.setPomContent( source.content );
+            project.setLineSeparator( FileIO.determineEOL( source.content ) );
 
             if ( executionRoot.equals( pom ))
             {
@@ -163,48 +190,30 @@ public class PomIO
 
                 project.setExecutionRoot ();
 
-                try
-                {
-                    if ( FileUtils.readFileToString( pom, StandardCharsets.UTF_8 ).contains( MODIFIED_BY ) )
-                    {
-                        project.setIncrementalPME (true);
-                    }
-                }
-                catch ( final IOException e )
+                if ( new String( source.content, StandardCharsets.UTF_8 ).contains( MODIFIED_BY ) )
                 {
-                    throw new ManipulationException( "Failed to read POM: {}", pom, e );
+                    project.setIncrementalPME (true);
                 }
             }
 
             projects.add( project );
         }
 
-        // Fill out inheritance info for every project we have created.
+        // Fill out inheritance info for every project we have created. If the parent refers to something outside of
+        // the hierarchy we'll break the inheritance here.
+        final ReactorIndex index = new ReactorIndex( projects );
         for ( Project p : projects )
         {
             ProjectVersionRef pvr = projectToParent.get( p );
-            p.setProjectParent( getParent( projects, pvr ) );
+            p.setProjectParent( pvr == null ? null : index.getProject( pvr ) );
         }
 
         return projects;
     }
 
-    private Project getParent( List<Project> projects, ProjectVersionRef pvr )
-    {
-        for ( Project p : projects )
-        {
-            if ( p.getKey().equals( pvr ) )
-            {
-                return p;
-            }
-        }
-        // If the PVR refers to something outside of the hierarchy we'll break the inheritance here.
-        return null;
-    }
-
     /**
      * For any project listed as changed (tracked by GA in the session), write the modified model out to disk.
-     * Uses {@link ModelETL} to preserve as much formatting as possible.
+     * Uses {@link JDOMModelWriter} to preserve as much formatting as possible.
      *
      * @param changed the modified Projects to write out.
      * @throws ManipulationException if an error occurs.
@@ -214,31 +223,101 @@ public class PomIO
     {
         manifestComment = "Modified by POM Manipulation Extension for Maven " +  ManifestUtils.getManifestInformation(PomIO.class);
 
-        for ( final Project project : changed )
+        if ( rewritePomThreads <= 1 || changed.size() <= 1 )
         {
-            if (logger.isDebugEnabled())
+            for ( final Project project : changed )
             {
-                logger.debug( "{} modified! Rewriting.", project );
+                rewritePOM( project );
             }
+            return;
+        }
 
-            File pom = project.getPom();
+        // Each project is written to its own file(s) so they may be rewritten independently ; all failures
+        // are collected and reported together.
+        final ExecutorService executor = Executors.newFixedThreadPool( Math.min( rewritePomThreads, changed.size() ), r -> {
+            final Thread t = new Thread( r, "pme-pom-rewrite" );
+            t.setDaemon( true );
+            return t;
+        } );
+        final List<ManipulationException> failures = new ArrayList<>();
 
-            final Model model = project.getModel();
+        try
+        {
+            final Map<Project, Future<?>> writing = new LinkedHashMap<>();
+            for ( final Project project : changed )
+            {
+                writing.put( project, executor.submit( () -> {
+                    rewritePOM( project );
+                    return null;
+                } ) );
+            }
+            for ( final Map.Entry<Project, Future<?>> entry : writing.entrySet() )
+            {
+                try
+                {
+                    entry.getValue().get();
+                }
+                catch ( final ExecutionException e )
+                {
+                    failures.add( e.getCause() instanceof ManipulationException ?
+                                                  (ManipulationException) e.getCause() :
+                                                  new ManipulationException( "Failed to rewrite POM: {}",
+                                                                             entry.getKey().getPom(), e.getCause() ) );
+                }
+            }
+        }
+        catch ( final InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ManipulationException( "Interrupted rewriting POMs.", e );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
 
-            logger.trace( "Rewriting: {} in place of: {}{}       to POM: {}", model.getId(), project.getKey(), System.lineSeparator(), pom );
+        if ( failures.size() == 1 )
+        {
+            throw failures.get( 0 );
+        }
+        else if ( !failures.isEmpty() )
+        {
+            final StringBuilder sb = new StringBuilder();
+            failures.forEach( f -> sb.append( System.lineSeparator() ).append( "    " ).append( f.getMessage() ) );
+
+            final ManipulationException exception = new ManipulationException( "Failed to rewrite {} POMs:{}",
+                                                                               failures.size(), sb.toString(),
+                                                                               failures.get( 0 ) );
+            failures.stream().skip( 1 ).forEach( exception::addSuppressed );
+            throw exception;
+        }
+    }
 
-            write( project, pom, model );
+    private void rewritePOM( final Project project )
+        throws ManipulationException
+    {
+        if (logger.isDebugEnabled())
+        {
+            logger.debug( "{} modified! Rewriting.", project );
+        }
 
-            // this happens with integration tests!
-            // This is a total hack, but the alternative seems to be adding complexity through a custom model processor.
-            if ( pom.getName()
-                            .equals( "interpolated-pom.xml" ) )
-            {
-                final File dir = pom.getParentFile();
-                pom = dir == null ? new File( "pom.xml" ) : new File( dir, "pom.xml" );
+        File pom = project.getPom();
 
-                write( project, pom, model );
-            }
+        final Model model = project.getModel();
+
+        logger.trace( "Rewriting: {} in place of: {}{}       to POM: {}", model.getId(), project.getKey(), System.lineSeparator(), pom );
+
+        write( project, pom, model );
+
+        // this happens with integration tests!
+        // This is a total hack, but the alternative seems to be adding complexity through a custom model processor.
+        if ( pom.getName()
+                        .equals( "interpolated-pom.xml" ) )
+        {
+            final File dir = pom.getParentFile();
+            pom = dir == null ? new File( "pom.xml" ) : new File( dir, "pom.xml" );
+
+            write( project, pom, model );
         }
     }
 
@@ -268,36 +347,25 @@ public class PomIO
     {
         try
         {
-            // We possibly could store the EOL type in the Project when we first read
-            // the file but we would then have to do a dual read, then write as opposed
-            // to a read, then read + write now.
-            LineSeparator ls = FileIO.determineEOL( pom );
-
-            MavenProject mp = new MavenProject(model);
-            ModelETLRequest request = new ModelETLRequest();
-            request.setLineSeparator( ls.value() );
-            request.setProject( mp );
-            request.setReleaseDescriptor( ReleaseUtils.buildReleaseDescriptor( releaseDescriptorBuilder ) );
-
-            ModelETL etl = modelETLFactories.newInstance( request );
-
-            // Reread in order to fill in JdomModelETL
-            etl.extract( pom );
-
-            // Annoyingly the document is private but we need to access it in order to ensure the model is written to the Document.
-            //
-            // Currently the fields we want to access are private - https://issues.apache.org/jira/browse/MRELEASE-1044 requests
-            // them to be protected to avoid this reflection.
-            Document doc = (Document) FieldUtils.getDeclaredField( JDomModelETL.class, "document", true ).get( etl );
+            // The content and EOL type are recorded when the project is first read ; fall back to reading the file
+            // if this is a different file (e.g. the interpolated-pom.xml case) or they were not recorded.
+            final boolean original = pom.equals( project.getPom() ) && project.getPomContent() != null;
+            final byte[] content = original ? project.getPomContent() : Files.readAllBytes( pom.toPath() );
+            LineSeparator ls = original ? project.getLineSeparator() : null;
+            if ( ls == null )
+            {
+                ls = FileIO.determineEOL( pom );
+            }
 
-            jdomModelConverter.convertModelToJDOM( model, doc );
+            final JDOMModelWriter writer = new JDOMModelWriter( content, ls.value() );
+            writer.update( model );
 
             if ( project.isExecutionRoot() )
             {
                 // Previously it was possible to add a comment outside of the root element (which maven3-model-jdom-support handled)
                 // but the release plugin code only takes account of code within the root element and everything else is handled separately.
                 //
-                String outtro = (String) FieldUtils.getDeclaredField( JDomModelETL.class, "outtro", true ).get( etl );
+                String outtro = writer.getOuttro();
 
                 String commentStart = ls.value() +
                                 "<!--" +
@@ -316,44 +384,67 @@ public class PomIO
                 {
                     outtro = outtro.replaceAll( "Modified by.*", manifestComment );
                 }
-                FieldUtils.writeDeclaredField( etl,
-                                               "outtro",
-                                               outtro,
-                                               true);
+                writer.setOuttro( outtro );
+            }
+
+            final byte[] result = writer.toByteArray();
+
+            if ( Arrays.equals( content, result ) && pom.exists() )
+            {
+                logger.debug( "Skipping rewrite of unchanged {}", pom );
+            }
+            else
+            {
+                Files.write( pom.toPath(), result );
+                instrumentation.increment( Counter.POMS_REWRITTEN );
+                instrumentation.add( Counter.BYTES_WRITTEN, result.length );
             }
 
-            etl.load( pom );
+            if ( original )
+            {
+                project.setPomContent( result );
+            }
         }
-        catch ( ReleaseExecutionException | IllegalAccessException e )
+        catch ( IOException | JDOMException e )
         {
             throw new ManipulationException( "Failed to parse POM for rewrite: {}. Reason: ", pom, e.getMessage(), e );
         }
     }
 
-    private List<PomPeek> peekAtPomHierarchy(final File topPom)
+    private List<PomSource> peekAtPomHierarchy(final File topPom)
         throws ManipulationException
     {
-        final List<PomPeek> peeked = new ArrayList<>();
+        final List<PomSource> peeked = new ArrayList<>();
+        // POMs are read and parsed in parallel as soon as they are discovered but are still processed in
+        // discovery order so that the result is the same as a serial walk.
+        final ExecutorService executor = parsePomThreads > 1 ? Executors.newFixedThreadPool( parsePomThreads, r -> {
+            final Thread t = new Thread( r, "pme-pom-parse" );
+            t.setDaemon( true );
+            return t;
+        } ) : null;
+        final Map<File, Future<PomSource>> reading = new HashMap<>();
 
         try
         {
             final LinkedList<File> pendingPoms = new LinkedList<>();
             pendingPoms.add( topPom.getCanonicalFile() );
+            read( executor, reading, pendingPoms.getFirst() );
 
             final String topDir = topPom.getCanonicalFile().getParentFile().getCanonicalPath();
 
-            final Set<File> seen = new HashSet<>();
+            // Every POM that has been queued, whether or not it is still pending.
+            final Set<File> seen = new HashSet<>( pendingPoms );
 
             File topLevelParent = topPom;
 
             while ( !pendingPoms.isEmpty() )
             {
                 final File pom = pendingPoms.removeFirst();
-                seen.add( pom );
 
                 logger.debug( "PEEK: {}", pom );
 
-                final PomPeek peek = new PomPeek( pom );
+                final PomSource source = reading.remove( pom ).get();
+                final PomPeek peek = source.peek;
 
                 // Deprecated : we now default to scanning every XML file even templated
                 // ones but the if block provides a fallback if there are issues.
@@ -362,7 +453,7 @@ public class PomIO
                 //      parse_pom_templates overridden to false so key MUST be NOT null
                 if ( parsePomTemplates || peek.getKey() != null )
                 {
-                    peeked.add( peek );
+                    peeked.add( source );
 
                     final File dir = pom.getParentFile();
 
@@ -380,13 +471,13 @@ public class PomIO
                         parent = parent.getCanonicalFile();
                         if ( parent.getParentFile()
                                    .getCanonicalPath()
-                                   .startsWith( topDir ) && parent.exists() && !seen.contains( parent )
-                            && !pendingPoms.contains( parent ) )
+                                   .startsWith( topDir ) && parent.exists() && seen.add( parent ) )
                         {
                             topLevelParent = parent;
 
                             logger.debug( "Possible top-level parent {}", parent );
                             pendingPoms.add( parent );
+                            read( executor, reading, parent );
                         }
                         else
                         {
@@ -411,10 +502,10 @@ public class PomIO
                                 modPom = new File( modPom, "pom.xml" );
                             }
 
-                            if ( modPom.exists() && !seen.contains( modPom )
-                                && !pendingPoms.contains( modPom ) )
+                            if ( modPom.exists() && seen.add( modPom ) )
                             {
                                 pendingPoms.addLast( modPom );
+                                read( executor, reading, modPom );
                             }
                             else
                             {
@@ -429,28 +520,31 @@ public class PomIO
                 }
             }
 
-            final HashSet<ProjectVersionRef> projectrefs = new HashSet<>();
+            final Set<ProjectRef> projectrefs = new HashSet<>();
 
-            for ( final PomPeek p : peeked )
+            for ( final PomSource s : peeked )
             {
+                final PomPeek p = s.peek;
                 if ( p.getKey() != null )
                 {
-                    projectrefs.add( p.getKey() );
+                    projectrefs.add( new SimpleProjectRef( p.getKey().getGroupId(), p.getKey().getArtifactId() ) );
                 }
-                if ( p.getPom().equals( topLevelParent ) )
+                if ( s.pom.equals( topLevelParent ) )
                 {
-                    logger.debug( "Setting top level parent to {} :: {}", p.getPom(), p.getKey() );
+                    logger.debug( "Setting top level parent to {} :: {}", s.pom, p.getKey() );
                     p.setInheritanceRoot( true );
                 }
             }
 
-            for ( final PomPeek p : peeked )
+            for ( final PomSource s : peeked )
             {
-                if ( p.getParentKey() == null ||
-                     ! seenThisParent(projectrefs, p.getParentKey()))
+                final PomPeek p = s.peek;
+                // Establish if the parent is inside the project or an external reference.
+                if ( p.getParentKey() == null || !projectrefs.contains(
+                                new SimpleProjectRef( p.getParentKey().getGroupId(), p.getParentKey().getArtifactId() ) ) )
                 {
 
-                    logger.debug( "Found a standalone pom {} :: {}", p.getPom(), p.getKey() );
+                    logger.debug( "Found a standalone pom {} :: {}", s.pom, p.getKey() );
 
                     p.setInheritanceRoot( true );
                 }
@@ -460,27 +554,91 @@ public class PomIO
         {
             throw new ManipulationException( "Problem peeking at POMs.", e );
         }
+        catch ( final ExecutionException e )
+        {
+            throw new ManipulationException( "Problem peeking at POMs.", e.getCause() );
+        }
+        catch ( final InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ManipulationException( "Interrupted peeking at POMs.", e );
+        }
+        finally
+        {
+            if ( executor != null )
+            {
+                executor.shutdownNow();
+            }
+        }
 
         return peeked;
     }
 
     /**
-     * Search the list of project references to establish if this parent reference exists in them. This
-     * determines whether the module is inheriting something inside the project or an external reference.
+     * Read the POM, either immediately or in the background if an executor is available.
+     */
+    private void read( final ExecutorService executor, final Map<File, Future<PomSource>> reading, final File pom )
+    {
+        final Callable<PomSource> task = () -> readPom( pom );
+        if ( executor == null )
+        {
+            final FutureTask<PomSource> future = new FutureTask<>( task );
+            future.run();
+            reading.put( pom, future );
+        }
+        else
+        {
+            reading.put( pom, executor.submit( task ) );
+        }
+    }
 
-     * @param projectrefs GAVs to search
-     * @param parentKey Key to find
-     * @return whether its been found
+    /**
+     * Reads the POM once ; the content is used to peek at it, to parse the model and later to rewrite it.
      */
-    private boolean seenThisParent(final HashSet<ProjectVersionRef> projectrefs, final ProjectVersionRef parentKey)
+    private PomSource readPom( final File pom ) throws IOException
     {
-        for (final ProjectVersionRef p : projectrefs)
+        final byte[] content = Files.readAllBytes( pom.toPath() );
+        final PomSource source = new PomSource( pom, content, new PomPeek( new ByteArrayInputStream( content ) ) );
+
+        // Sucks, but we have to brute-force reading in the raw model.
+        // The effective-model building has a tantalizing getRawModel()
+        // method on the result, BUT this seems to return models that have
+        // the plugin versions set inside profiles...so they're not entirely
+        // raw.
+        if ( parsePomTemplates || source.peek.getKey() != null )
         {
-            if ( p.versionlessEquals( parentKey ))
+            try ( InputStream in = new ByteArrayInputStream( content ) )
             {
-                return true;
+                source.model = new MavenXpp3Reader().read( in );
             }
+            catch ( final IOException | XmlPullParserException e )
+            {
+                source.modelError = e;
+            }
+        }
+        return source;
+    }
+
+    /**
+     * A POM file together with its content and the result of peeking at it.
+     */
+    private static final class PomSource
+    {
+        private final File pom;
+
+        private final byte[] content;
+
+        private final PomPeek peek;
+
+        private Model model;
+
+        private Exception modelError;
+
+        private PomSource( File pom, byte[] content, PomPeek peek )
+        {
+            this.pom = pom;
+            this.content = content;
+            this.peek = peek;
         }
-        return false;
     }
 }
@@ -15,10 +15,12 @@
  */
 package org.commonjava.maven.ext.io.resolver;
 
+import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.commonjava.maven.atlas.ident.ref.ArtifactRef;
 import org.commonjava.maven.atlas.ident.ref.ProjectRef;
 import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
 import org.commonjava.maven.atlas.ident.ref.SimpleProjectRef;
+import org.commonjava.maven.ext.common.util.Instrumentation.Counter;
 import org.commonjava.maven.galley.TransferException;
 import org.commonjava.maven.galley.maven.GalleyMavenException;
 import org.commonjava.maven.galley.maven.model.view.DocRef;
@@ -37,8 +39,10 @@ import javax.inject.Singleton;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Wraps the galley-maven APIs with the plumbing necessary to resolve using the repositories defined for the maven build.
@@ -50,7 +54,7 @@ import java.util.List;
 public class GalleyAPIWrapper
 {
 
-    private static final List<Location> MAVEN_REPOS = new ArrayList<Location>()
+    static final List<Location> MAVEN_REPOS = new ArrayList<Location>()
     {
         {
             add( MavenLocationExpander.EXPANSION_TARGET );
@@ -87,6 +91,7 @@ public class GalleyAPIWrapper
     public MavenPomView readPomView( final ProjectVersionRef ref )
         throws GalleyMavenException
     {
+        infra.getInstrumentation().increment( Counter.REMOTE_POMS_RESOLVED );
         return infra.getPomReader()
                     .read( ref, MAVEN_REPOS );
     }
@@ -98,9 +103,53 @@ public class GalleyAPIWrapper
                     .getMetadata( ref, MAVEN_REPOS );
     }
 
+    /**
+     * Returns the versions listed in the metadata of the groupId:artifactId. The metadata is only resolved once per
+     * run, however many times this is called.
+     *
+     * @param ref the groupId:artifactId
+     * @return the versions, in ascending order
+     * @throws GalleyMavenException if an error occurs
+     */
+    public List<ArtifactVersion> getMetadataVersions( final ProjectRef ref )
+        throws GalleyMavenException
+    {
+        return infra.getMetadataCache()
+                    .getVersions( ref );
+    }
+
+    /**
+     * Starts resolving the metadata of the groupId:artifactIds in the background, for subsequent calls to
+     * {@link #getMetadataVersions(ProjectRef)}.
+     *
+     * @param refs the groupId:artifactIds
+     */
+    public void prefetchMetadata( final Collection<? extends ProjectRef> refs )
+    {
+        infra.getMetadataCache()
+             .prefetch( refs );
+    }
+
+    /**
+     * @return the executor to resolve POMs and metadata ahead of when they are required.
+     */
+    public Executor getPrefetchExecutor()
+    {
+        return infra.getPrefetchExecutor();
+    }
+
     public Transfer resolveArtifact( final ArtifactRef asPomArtifact )
         throws TransferException
     {
+        if ( "pom".equals( asPomArtifact.getType() ) )
+        {
+            infra.getInstrumentation().increment( Counter.REMOTE_POMS_RESOLVED );
+        }
+        final ParallelArtifactResolver parallelResolver = infra.getParallelResolver();
+        if ( parallelResolver != null )
+        {
+            return parallelResolver.resolve( asPomArtifact );
+        }
         return infra.getArtifactManager()
                     .retrieveFirst( MAVEN_REPOS, asPomArtifact );
     }
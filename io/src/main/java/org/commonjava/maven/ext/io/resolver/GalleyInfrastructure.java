@@ -18,8 +18,12 @@ package org.commonjava.maven.ext.io.resolver;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.repository.MirrorSelector;
 import org.apache.maven.settings.Settings;
+import org.commonjava.maven.ext.annotation.ConfigValue;
 import org.commonjava.maven.ext.common.ManipulationException;
 import org.commonjava.maven.ext.common.session.MavenSessionHandler;
+import org.commonjava.maven.ext.common.util.Instrumentation;
+import org.commonjava.maven.ext.common.util.Instrumentation.Counter;
+import org.commonjava.maven.galley.TransferException;
 import org.commonjava.maven.galley.TransferManager;
 import org.commonjava.maven.galley.auth.MemoryPasswordManager;
 import org.commonjava.maven.galley.cache.FileCacheProvider;
@@ -37,6 +41,7 @@ import org.commonjava.maven.galley.io.NoOpTransferDecorator;
 import org.commonjava.maven.galley.io.SpecialPathManagerImpl;
 import org.commonjava.maven.galley.maven.ArtifactManager;
 import org.commonjava.maven.galley.maven.ArtifactMetadataManager;
+import org.commonjava.maven.galley.maven.GalleyMavenException;
 import org.commonjava.maven.galley.maven.internal.ArtifactManagerImpl;
 import org.commonjava.maven.galley.maven.internal.ArtifactMetadataManagerImpl;
 import org.commonjava.maven.galley.maven.internal.defaults.StandardMaven350PluginDefaults;
@@ -62,16 +67,27 @@ import org.commonjava.maven.galley.spi.transport.TransportManager;
 import org.commonjava.maven.galley.transport.TransportManagerImpl;
 import org.commonjava.maven.galley.transport.htcli.HttpClientTransport;
 import org.commonjava.maven.galley.transport.htcli.HttpImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manager component responsible for setting up and managing the Galley API instances used to resolve POMs and metadata.
@@ -83,10 +99,52 @@ import java.util.concurrent.Executors;
 public class GalleyInfrastructure
     implements ExtensionInfrastructure
 {
+    /**
+     * The number of POMs or metadata files that may be resolved ahead of time concurrently.
+     */
+    public static final int DEFAULT_PREFETCH_CONCURRENCY = 8;
+
+    /**
+     * The maximum number of threads transferring files. Above this downloads are queued, and batch transfers are run by
+     * the thread that requested them.
+     */
+    @ConfigValue( docIndex = "configuration.html#transfer-tuning" )
+    public static final String TRANSFER_CONCURRENCY = "transferConcurrency";
+
+    /**
+     * The number of seconds that an idle transfer thread is kept before it is stopped.
+     */
+    @ConfigValue( docIndex = "configuration.html#transfer-tuning" )
+    public static final String TRANSFER_KEEP_ALIVE_SEC = "transferKeepAlive";
+
+    /**
+     * The size of the HTTP connection pool of each remote repository.
+     */
+    @ConfigValue( docIndex = "configuration.html#transfer-tuning" )
+    public static final String TRANSFER_MAX_CONNECTIONS = "transferMaxConnections";
+
+    /**
+     * The number of seconds to wait to connect to, or for data from, a remote repository.
+     */
+    @ConfigValue( docIndex = "configuration.html#transfer-tuning" )
+    public static final String TRANSFER_TIMEOUT_SEC = "transferTimeout";
+
+    public static final int DEFAULT_TRANSFER_CONCURRENCY = 32;
+
+    public static final int DEFAULT_TRANSFER_KEEP_ALIVE_SEC = 60;
+
+    public static final int DEFAULT_TRANSFER_MAX_CONNECTIONS = Location.DEFAULT_MAX_CONNECTIONS;
+
+    public static final int DEFAULT_TRANSFER_TIMEOUT_SEC = 60;
+
+    private final Logger logger = LoggerFactory.getLogger( getClass() );
+
     private final MirrorSelector mirrorSelector;
 
     private final MavenSessionHandler sessionHandler;
 
+    private final Instrumentation instrumentation;
+
     private MavenPomReader pomReader;
 
     private ArtifactManager artifactManager;
@@ -97,8 +155,18 @@ public class GalleyInfrastructure
 
     private XPathManager xpaths;
 
+    private MetadataCache metadataCache;
+
+    private ParallelArtifactResolver parallelResolver;
+
     private ExecutorService executor;
 
+    private ExecutorService batchExecutor;
+
+    private HttpImpl http;
+
+    private ExecutorService prefetchExecutor;
+
     public File getCacheDir()
     {
         return cacheDir;
@@ -111,6 +179,15 @@ public class GalleyInfrastructure
     {
         this.mirrorSelector = mirrorSelector;
         this.sessionHandler = session;
+        this.instrumentation = session == null ? new Instrumentation() : session.getInstrumentation();
+    }
+
+    /**
+     * @return the instrumentation of the session, or of this instance if there is no session.
+     */
+    public Instrumentation getInstrumentation()
+    {
+        return instrumentation;
     }
 
 
@@ -177,6 +254,18 @@ public class GalleyInfrastructure
                        final Transport customTransport, File cacheDir_ )
         throws ManipulationException
     {
+        final Properties userProps = sessionHandler == null ? new Properties() : sessionHandler.getUserProperties();
+        final int transferConcurrency = getTransferSetting( userProps, TRANSFER_CONCURRENCY,
+                                                            DEFAULT_TRANSFER_CONCURRENCY );
+        final int transferKeepAlive = getTransferSetting( userProps, TRANSFER_KEEP_ALIVE_SEC,
+                                                          DEFAULT_TRANSFER_KEEP_ALIVE_SEC );
+
+        final Map<String, Object> httpAttributes = new HashMap<>();
+        httpAttributes.put( Location.MAX_CONNECTIONS, getTransferSetting( userProps, TRANSFER_MAX_CONNECTIONS,
+                                                                          DEFAULT_TRANSFER_MAX_CONNECTIONS ) );
+        httpAttributes.put( Location.CONNECTION_TIMEOUT_SECONDS, getTransferSetting( userProps, TRANSFER_TIMEOUT_SEC,
+                                                                                     DEFAULT_TRANSFER_TIMEOUT_SEC ) );
+
         LocationExpander locationExpander;
         try
         {
@@ -186,7 +275,7 @@ public class GalleyInfrastructure
 
             locationExpander =
                 new MavenLocationExpander( custom, remoteRepositories, localRepository,
-                                           mirrorSelector, settings, activeProfiles );
+                                           mirrorSelector, settings, activeProfiles, httpAttributes );
         }
         catch ( final MalformedURLException e )
         {
@@ -203,9 +292,9 @@ public class GalleyInfrastructure
         }
         else
         {
-            transports =
-                new TransportManagerImpl( new HttpClientTransport( new HttpImpl( new MemoryPasswordManager() ) ),
-                                          new FileTransport(), new ZipJarTransport() );
+            http = new HttpImpl( new MemoryPasswordManager() );
+            transports = new TransportManagerImpl( new HttpClientTransport( http ), new FileTransport(),
+                                                   new ZipJarTransport() );
         }
 
         cacheDir = cacheDir_;
@@ -220,7 +309,37 @@ public class GalleyInfrastructure
             new FileCacheProvider( cacheDir, new HashedLocationPathGenerator(), fileEvents, new NoOpTransferDecorator() );
 
         final NotFoundCache nfc = new MemoryNotFoundCache();
-        executor = Executors.newCachedThreadPool();
+        // Downloads and uploads are queued once all the transfer threads are busy, so that Galley's DownloadHandler
+        // still applies its timeout, and joins concurrent requests for the same file. Those jobs do not start other
+        // work, so queueing can not deadlock.
+        final AtomicInteger transferThreads = new AtomicInteger();
+        final ThreadPoolExecutor transferExecutor =
+                        new ThreadPoolExecutor( transferConcurrency, transferConcurrency, transferKeepAlive,
+                                                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            final Thread t = new Thread( r, "pme-transfer-" + transferThreads.incrementAndGet() );
+            t.setDaemon( true );
+            return t;
+        } );
+        transferExecutor.allowCoreThreadTimeOut( true );
+        executor = transferExecutor;
+
+        // Batch transfers, and parallel resolution, wait upon downloads so must not share their threads. Rather than
+        // queueing, any above the limit are run by the requesting thread ; the downloads they start are still
+        // subject to the DownloadHandler.
+        final AtomicInteger batchThreads = new AtomicInteger();
+        batchExecutor = new ThreadPoolExecutor( 0, transferConcurrency, transferKeepAlive, TimeUnit.SECONDS,
+                                                new SynchronousQueue<>(), r -> {
+            final Thread t = new Thread( r, "pme-transfer-batch-" + batchThreads.incrementAndGet() );
+            t.setDaemon( true );
+            return t;
+        }, new ThreadPoolExecutor.CallerRunsPolicy() );
+
+        final AtomicInteger prefetchThreads = new AtomicInteger();
+        prefetchExecutor = Executors.newFixedThreadPool( DEFAULT_PREFETCH_CONCURRENCY, r -> {
+            final Thread t = new Thread( r, "pme-prefetch-" + prefetchThreads.incrementAndGet() );
+            t.setDaemon( true );
+            return t;
+        } );
 
         final TransportManagerConfig config = new TransportManagerConfig(  );
 
@@ -229,7 +348,7 @@ public class GalleyInfrastructure
                                      new UploadHandler( nfc, config, executor ), new ListingHandler( nfc ),
                                      new ExistenceHandler( nfc ),
                                      new SpecialPathManagerImpl(),
-                                     executor );
+                                     batchExecutor );
 
         final TypeMapper types = new StandardTypeMapper();
         final ArtifactMetadataManager metadataManager = new ArtifactMetadataManagerImpl( transfers, locationExpander );
@@ -246,6 +365,41 @@ public class GalleyInfrastructure
 
         metadataReader = new MavenMetadataReader( xml, locationExpander, metadataManager, xpaths );
 
+        File metadataCacheDir = null;
+        if ( Boolean.parseBoolean( userProps.getProperty( MetadataCache.METADATA_CACHE ) ) )
+        {
+            // By default this is within the Galley cache.
+            metadataCacheDir = new File( userProps.getProperty( MetadataCache.METADATA_CACHE_DIR,
+                                                                new File( cacheDir, "metadata" ).getPath() ) );
+        }
+        final long metadataCacheTTL = Long.parseLong( userProps.getProperty( MetadataCache.METADATA_CACHE_TTL_SEC,
+                                                                             String.valueOf( MetadataCache.DEFAULT_TTL_SEC ) ) );
+        metadataCache = new MetadataCache( ref -> {
+            instrumentation.increment( Counter.METADATA_RESOLVED );
+            try
+            {
+                return MetadataCache.readVersions( metadataManager.retrieveAll( GalleyAPIWrapper.MAVEN_REPOS, ref ) );
+            }
+            catch ( TransferException e )
+            {
+                throw new GalleyMavenException( "Failed to resolve metadata for: {}: {}", e, ref, e.getMessage() );
+            }
+        }, metadataCacheDir, metadataCacheTTL, prefetchExecutor );
+
+        parallelResolver = null;
+        if ( Boolean.parseBoolean( userProps.getProperty( ParallelArtifactResolver.PARALLEL_RESOLUTION ) ) )
+        {
+            try
+            {
+                parallelResolver = new ParallelArtifactResolver( locationExpander.expand( GalleyAPIWrapper.MAVEN_REPOS ),
+                                                                 artifactManager::retrieve, batchExecutor );
+            }
+            catch ( TransferException e )
+            {
+                throw new ManipulationException( "Failed to expand repository locations: {}", e.getMessage(), e );
+            }
+        }
+
         return this;
     }
 
@@ -264,6 +418,27 @@ public class GalleyInfrastructure
         return metadataReader;
     }
 
+    public MetadataCache getMetadataCache()
+    {
+        return metadataCache;
+    }
+
+    /**
+     * @return the resolver to query the repositories concurrently, or null if artifacts are resolved from each in turn.
+     */
+    public ParallelArtifactResolver getParallelResolver()
+    {
+        return parallelResolver;
+    }
+
+    /**
+     * @return the executor to resolve POMs and metadata ahead of when they are required.
+     */
+    public ExecutorService getPrefetchExecutor()
+    {
+        return prefetchExecutor;
+    }
+
     public ArtifactManager getArtifactManager()
     {
         return artifactManager;
@@ -274,7 +449,58 @@ public class GalleyInfrastructure
         return xpaths;
     }
 
+    /**
+     * @param userProps the user properties.
+     * @param key the transfer setting.
+     * @param defaultValue the value if the setting is not configured.
+     * @return the value of the setting.
+     * @throws ManipulationException if the value is not a whole number of at least one.
+     */
+    private static int getTransferSetting( final Properties userProps, final String key, final int defaultValue )
+                    throws ManipulationException
+    {
+        final String value = userProps.getProperty( key, String.valueOf( defaultValue ) );
+        final int result;
+        try
+        {
+            result = Integer.parseInt( value.trim() );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new ManipulationException( "Invalid value for {}: {}", key, value, e );
+        }
+        if ( result < 1 )
+        {
+            throw new ManipulationException( "Invalid value for {}: {} ; it must be at least 1", key, value );
+        }
+        return result;
+    }
+
     public void finish() {
-        executor.shutdown();
+        if ( executor != null )
+        {
+            executor.shutdown();
+        }
+        if ( batchExecutor != null )
+        {
+            batchExecutor.shutdown();
+        }
+        if ( prefetchExecutor != null )
+        {
+            prefetchExecutor.shutdownNow();
+        }
+        if ( http != null )
+        {
+            // Releases the HTTP connection pools.
+            try
+            {
+                http.close();
+            }
+            catch ( IOException e )
+            {
+                logger.debug( "Unable to close HTTP client: {}", e.getMessage() );
+            }
+            http = null;
+        }
     }
 }
@@ -42,6 +42,7 @@ import java.io.File;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +68,8 @@ public class MavenLocationExpander
 
     private final List<Location> locations;
 
+    private final Map<String, Object> httpAttributes;
+
     private final Logger logger = LoggerFactory.getLogger( getClass() );
 
     public MavenLocationExpander( final List<Location> customLocations,
@@ -75,6 +78,23 @@ public class MavenLocationExpander
                                   final Settings settings, final List<String> activeProfiles )
         throws MalformedURLException
     {
+        this( customLocations, artifactRepositories, localRepository, mirrorSelector, settings, activeProfiles,
+              Collections.singletonMap( Location.CONNECTION_TIMEOUT_SECONDS, 60 ) );
+    }
+
+    /**
+     * @param httpAttributes the attributes, such as {@link Location#CONNECTION_TIMEOUT_SECONDS} and
+     *                       {@link Location#MAX_CONNECTIONS}, to set on each remote repository location.
+     */
+    public MavenLocationExpander( final List<Location> customLocations,
+                                  final List<ArtifactRepository> artifactRepositories,
+                                  final ArtifactRepository localRepository, final MirrorSelector mirrorSelector,
+                                  final Settings settings, final List<String> activeProfiles,
+                                  final Map<String, Object> httpAttributes )
+        throws MalformedURLException
+    {
+        this.httpAttributes = httpAttributes;
+
         final Set<Location> locs = new LinkedHashSet<>();
 
         if ( localRepository != null )
@@ -134,7 +154,7 @@ public class MavenLocationExpander
                                                                           releases == null || releases.isEnabled(), true, false,
                                                                           null );
 
-                    addition.setAttribute(Location.CONNECTION_TIMEOUT_SECONDS, 60);
+                    httpAttributes.forEach( addition::setAttribute );
 
                     locs.add (addition);
                 }
@@ -190,7 +210,7 @@ public class MavenLocationExpander
 
                             SimpleHttpLocation addition = new SimpleHttpLocation( id, url, snapshots.isEnabled(), releases.isEnabled(), true, false, null );
 
-                            addition.setAttribute(Location.CONNECTION_TIMEOUT_SECONDS, 60);
+                            httpAttributes.forEach( addition::setAttribute );
 
                             locs.add (addition);
                         }
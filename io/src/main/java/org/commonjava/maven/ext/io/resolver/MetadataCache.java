@@ -0,0 +1,316 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.resolver;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.commonjava.maven.atlas.ident.ref.ProjectRef;
+import org.commonjava.maven.ext.annotation.ConfigValue;
+import org.commonjava.maven.galley.maven.GalleyMavenException;
+import org.commonjava.maven.galley.model.Transfer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the versions listed in the maven-metadata of each groupId:artifactId for the run, so that the metadata is
+ * only resolved and parsed once however many times it is needed. The versions are returned sorted, in ascending
+ * order. Metadata may be resolved concurrently ahead of when it is required by {@link #prefetch(Collection)} ; if a
+ * prefetch fails it is repeated when the versions are required so that any error is reported there.
+ * <p>
+ * Optionally the version lists are also persisted to a directory and reused by subsequent runs until they expire.
+ * As a stale list may not contain the latest builds this should only be used with a short TTL. Failure to read or
+ * write the directory is logged and otherwise ignored.
+ */
+public class MetadataCache
+{
+    @ConfigValue( docIndex = "project-version-manip.html#metadata-cache" )
+    public static final String METADATA_CACHE = "metadataCache";
+
+    @ConfigValue( docIndex = "project-version-manip.html#metadata-cache" )
+    public static final String METADATA_CACHE_DIR = "metadataCacheDir";
+
+    @ConfigValue( docIndex = "project-version-manip.html#metadata-cache" )
+    public static final String METADATA_CACHE_TTL_SEC = "metadataCacheTTL";
+
+    public static final long DEFAULT_TTL_SEC = TimeUnit.MINUTES.toSeconds( 5 );
+
+    private static final String VERSIONS_FILE = "versions.txt";
+
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+
+    static
+    {
+        // Metadata is downloaded from remote repositories so doctypes, and therefore any entities, are rejected.
+        try
+        {
+            DOCUMENT_BUILDER_FACTORY.setFeature( "http://apache.org/xml/features/disallow-doctype-decl", true );
+            DOCUMENT_BUILDER_FACTORY.setFeature( XMLConstants.FEATURE_SECURE_PROCESSING, true );
+            DOCUMENT_BUILDER_FACTORY.setFeature( "http://apache.org/xml/features/nonvalidating/load-external-dtd",
+                                                 false );
+            DOCUMENT_BUILDER_FACTORY.setFeature( "http://xml.org/sax/features/external-general-entities", false );
+            DOCUMENT_BUILDER_FACTORY.setFeature( "http://xml.org/sax/features/external-parameter-entities", false );
+        }
+        catch ( ParserConfigurationException e )
+        {
+            throw new IllegalStateException( "Unable to configure the metadata parser", e );
+        }
+        DOCUMENT_BUILDER_FACTORY.setXIncludeAware( false );
+        DOCUMENT_BUILDER_FACTORY.setNamespaceAware( false );
+        DOCUMENT_BUILDER_FACTORY.setExpandEntityReferences( false );
+    }
+
+    private final Logger logger = LoggerFactory.getLogger( getClass() );
+
+    private final ConcurrentHashMap<ProjectRef, CompletableFuture<List<ArtifactVersion>>> versions =
+                    new ConcurrentHashMap<>();
+
+    private final Loader loader;
+
+    private final File cacheDir;
+
+    private final long ttl;
+
+    private final Executor executor;
+
+    /**
+     * @param loader resolves the versions listed in the metadata of a groupId:artifactId.
+     * @param cacheDir the directory to persist the version lists to, or null to only cache them for the run.
+     * @param ttlSeconds the time a persisted version list remains valid.
+     * @param executor the executor to run prefetches on.
+     */
+    public MetadataCache( Loader loader, File cacheDir, long ttlSeconds, Executor executor )
+    {
+        this.loader = loader;
+        this.cacheDir = cacheDir;
+        this.ttl = TimeUnit.SECONDS.toMillis( ttlSeconds );
+        this.executor = executor;
+    }
+
+    /**
+     * Starts resolving the metadata of any of the groupId:artifactIds that have not already been requested.
+     *
+     * @param refs the groupId:artifactIds whose versions will be required.
+     */
+    public void prefetch( Collection<? extends ProjectRef> refs )
+    {
+        int started = 0;
+        for ( ProjectRef ref : refs )
+        {
+            final ProjectRef ga = ref.asProjectRef();
+            final CompletableFuture<List<ArtifactVersion>> future = new CompletableFuture<>();
+
+            if ( versions.putIfAbsent( ga, future ) == null )
+            {
+                executor.execute( () -> complete( ga, future ) );
+                started++;
+            }
+        }
+        logger.debug( "Prefetching metadata for {} of {} groupId:artifactIds", started, refs.size() );
+    }
+
+    /**
+     * @param ref the groupId:artifactId
+     * @return the versions listed in its metadata, in ascending order.
+     * @throws GalleyMavenException if the metadata can not be resolved.
+     */
+    public List<ArtifactVersion> getVersions( ProjectRef ref ) throws GalleyMavenException
+    {
+        final ProjectRef ga = ref.asProjectRef();
+        final CompletableFuture<List<ArtifactVersion>> future = new CompletableFuture<>();
+        final CompletableFuture<List<ArtifactVersion>> existing = versions.putIfAbsent( ga, future );
+
+        if ( existing == null )
+        {
+            complete( ga, future );
+        }
+        try
+        {
+            return existing == null ? future.join() : existing.join();
+        }
+        catch ( CompletionException e )
+        {
+            if ( existing == null )
+            {
+                if ( e.getCause() instanceof GalleyMavenException )
+                {
+                    throw (GalleyMavenException) e.getCause();
+                }
+                throw e;
+            }
+            logger.debug( "Prefetch of metadata for {} failed ({}) ; repeating", ga, e.getCause().getMessage() );
+            return getVersions( ga );
+        }
+    }
+
+    private void complete( ProjectRef ga, CompletableFuture<List<ArtifactVersion>> future )
+    {
+        try
+        {
+            future.complete( sort( load( ga ) ) );
+        }
+        catch ( GalleyMavenException | RuntimeException e )
+        {
+            // Do not cache failures so that a later request tries again.
+            versions.remove( ga, future );
+            future.completeExceptionally( e );
+        }
+    }
+
+    private List<String> load( ProjectRef ga ) throws GalleyMavenException
+    {
+        final File file = cacheDir == null ? null : new File( cacheDir, ga.getGroupId() + File.separatorChar
+                        + ga.getArtifactId() + File.separatorChar + VERSIONS_FILE );
+
+        if ( file != null && file.exists() && System.currentTimeMillis() - file.lastModified() <= ttl )
+        {
+            try
+            {
+                final List<String> result = Files.readAllLines( file.toPath(), StandardCharsets.UTF_8 );
+                logger.debug( "Read {} versions for {} from {}", result.size(), ga, file );
+                return result;
+            }
+            catch ( IOException e )
+            {
+                logger.warn( "Unable to read metadata cache {} ; ignoring: {}", file, e.getMessage() );
+            }
+        }
+
+        final List<String> result = loader.load( ga );
+
+        if ( file != null )
+        {
+            try
+            {
+                Files.createDirectories( file.getParentFile().toPath() );
+
+                final File temp = File.createTempFile( VERSIONS_FILE, ".tmp", file.getParentFile() );
+                Files.write( temp.toPath(), result, StandardCharsets.UTF_8 );
+                Files.move( temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+            }
+            catch ( IOException e )
+            {
+                logger.warn( "Unable to write metadata cache {} ; ignoring: {}", file, e.getMessage() );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads the versions listed in the maven-metadata files. This does not use the Galley XML infrastructure, as that
+     * is not safe to use concurrently.
+     *
+     * @param transfers the maven-metadata files of each repository.
+     * @return the versions listed, which may contain duplicates.
+     * @throws GalleyMavenException if a file can not be parsed.
+     */
+    static List<String> readVersions( List<Transfer> transfers ) throws GalleyMavenException
+    {
+        final List<String> result = new ArrayList<>();
+
+        for ( Transfer transfer : transfers )
+        {
+            try ( InputStream in = transfer.openInputStream() )
+            {
+                result.addAll( readVersions( in ) );
+            }
+            catch ( IOException | ParserConfigurationException | SAXException e )
+            {
+                throw new GalleyMavenException( "Failed to parse metadata {}: {}", e, transfer, e.getMessage() );
+            }
+        }
+        return result;
+    }
+
+    static List<String> readVersions( InputStream in ) throws IOException, ParserConfigurationException, SAXException
+    {
+        final List<String> result = new ArrayList<>();
+        final DocumentBuilder builder;
+        synchronized ( DOCUMENT_BUILDER_FACTORY )
+        {
+            builder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+        }
+        final Element metadata = builder.parse( in ).getDocumentElement();
+
+        for ( Element versioning : children( metadata, "versioning" ) )
+        {
+            for ( Element versions : children( versioning, "versions" ) )
+            {
+                for ( Element version : children( versions, "version" ) )
+                {
+                    result.add( version.getTextContent().trim() );
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<Element> children( Element parent, String name )
+    {
+        final List<Element> result = new ArrayList<>();
+        final NodeList nodes = parent.getChildNodes();
+
+        for ( int i = 0; i < nodes.getLength(); i++ )
+        {
+            if ( nodes.item( i ) instanceof Element && name.equals( nodes.item( i ).getNodeName() ) )
+            {
+                result.add( (Element) nodes.item( i ) );
+            }
+        }
+        return result;
+    }
+
+    private static List<ArtifactVersion> sort( List<String> versions )
+    {
+        return Collections.unmodifiableList( versions.stream()
+                                                     .distinct()
+                                                     .<ArtifactVersion>map( DefaultArtifactVersion::new )
+                                                     .sorted()
+                                                     .collect( Collectors.toList() ) );
+    }
+
+    /**
+     * Resolves the versions listed in the metadata of a groupId:artifactId.
+     */
+    @FunctionalInterface
+    public interface Loader
+    {
+        List<String> load( ProjectRef ref ) throws GalleyMavenException;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.resolver;
+
+import org.commonjava.maven.atlas.ident.ref.ArtifactRef;
+import org.commonjava.maven.ext.annotation.ConfigValue;
+import org.commonjava.maven.galley.TransferException;
+import org.commonjava.maven.galley.model.Location;
+import org.commonjava.maven.galley.model.Transfer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Resolves an artifact by querying the remote repositories concurrently rather than one after another, while still
+ * returning it from the first repository, in declared order, that has it. Once it is found the lookups in the lower
+ * priority repositories are cancelled. Leading local repositories are queried first, as they are cheap and usually
+ * have the artifact. As with {@link org.commonjava.maven.galley.maven.ArtifactManager#retrieveFirst} a repository
+ * that fails is skipped, and the failure is only reported if no repository has the artifact.
+ * <p>
+ * A remote repository that did not have an artifact of a groupId, and has never had one, is assumed not to host that
+ * groupId. Later lookups of the groupId only query it if no other repository has the artifact. So if it does host some
+ * artifacts of the groupId, another repository's copy may take precedence over it.
+ */
+public class ParallelArtifactResolver
+{
+    @ConfigValue( docIndex = "configuration.html#parallel-resolution" )
+    public static final String PARALLEL_RESOLUTION = "parallelResolution";
+
+    private final Logger logger = LoggerFactory.getLogger( getClass() );
+
+    private final Map<Location, Set<String>> hits = new ConcurrentHashMap<>();
+
+    private final Map<Location, Set<String>> misses = new ConcurrentHashMap<>();
+
+    private final List<? extends Location> locations;
+
+    private final Retriever retriever;
+
+    private final ExecutorService executor;
+
+    /**
+     * @param locations the repositories, in order of precedence.
+     * @param retriever retrieves an artifact from a repository.
+     * @param executor the executor to query the repositories on.
+     */
+    public ParallelArtifactResolver( List<? extends Location> locations, Retriever retriever,
+                                     ExecutorService executor )
+    {
+        this.locations = locations;
+        this.retriever = retriever;
+        this.executor = executor;
+    }
+
+    /**
+     * @param ref the artifact to resolve.
+     * @return the artifact from the first repository that has it, or null if none do.
+     * @throws TransferException if no repository has the artifact and a repository failed.
+     */
+    public Transfer resolve( final ArtifactRef ref )
+                    throws TransferException
+    {
+        final String groupId = ref.getGroupId();
+        final List<Location> likely = new ArrayList<>();
+        final List<Location> unlikely = new ArrayList<>();
+
+        for ( Location location : locations )
+        {
+            if ( !isLocal( location ) && contains( misses, location, groupId ) && !contains( hits, location, groupId ) )
+            {
+                unlikely.add( location );
+            }
+            else
+            {
+                likely.add( location );
+            }
+        }
+
+        final List<TransferException> errors = new ArrayList<>();
+        Transfer result = resolveFirst( likely, ref, errors );
+        if ( result == null && !unlikely.isEmpty() )
+        {
+            logger.debug( "Unable to find {} ; querying repositories {} that previously lacked {}", ref, unlikely,
+                          groupId );
+            result = resolveFirst( unlikely, ref, errors );
+        }
+        if ( result == null && !errors.isEmpty() )
+        {
+            throw errors.get( errors.size() - 1 );
+        }
+        return result;
+    }
+
+    private Transfer resolveFirst( final List<Location> candidates, final ArtifactRef ref,
+                                   final List<TransferException> errors )
+                    throws TransferException
+    {
+        // Query the leading local repositories, or a single remaining repository, directly.
+        int i = 0;
+        while ( i < candidates.size() && ( isLocal( candidates.get( i ) ) || i == candidates.size() - 1 ) )
+        {
+            final Transfer transfer = retrieve( candidates.get( i++ ), ref, errors );
+            if ( transfer != null )
+            {
+                return transfer;
+            }
+        }
+        if ( i == candidates.size() )
+        {
+            return null;
+        }
+
+        final List<Future<Transfer>> futures = new ArrayList<>();
+        try
+        {
+            candidates.subList( i, candidates.size() )
+                      .forEach( location -> futures.add( executor.submit( () -> retrieve( location, ref, errors ) ) ) );
+
+            for ( Future<Transfer> future : futures )
+            {
+                final Transfer transfer = future.get();
+                if ( transfer != null )
+                {
+                    return transfer;
+                }
+            }
+            return null;
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new TransferException( "Interrupted resolving {}", e, ref );
+        }
+        catch ( ExecutionException e )
+        {
+            throw new TransferException( "Failed to resolve {}: {}", e.getCause(), ref, e.getCause().getMessage() );
+        }
+        finally
+        {
+            futures.forEach( f -> f.cancel( true ) );
+        }
+    }
+
+    private Transfer retrieve( final Location location, final ArtifactRef ref, final List<TransferException> errors )
+    {
+        try
+        {
+            final Transfer transfer = retriever.retrieve( location, ref );
+            final boolean found = transfer != null && transfer.exists();
+            if ( !found && Thread.currentThread().isInterrupted() )
+            {
+                // Cancelled, so the repository may yet have it.
+                return null;
+            }
+
+            ( found ? hits : misses ).computeIfAbsent( location, l -> ConcurrentHashMap.newKeySet() )
+                                     .add( ref.getGroupId() );
+            return found ? transfer : null;
+        }
+        catch ( TransferException e )
+        {
+            if ( Thread.currentThread().isInterrupted() )
+            {
+                return null;
+            }
+            logger.warn( "Failed to retrieve {} from {}: {}", ref, location, e.getMessage() );
+            synchronized ( errors )
+            {
+                errors.add( e );
+            }
+            return null;
+        }
+    }
+
+    private static boolean contains( Map<Location, Set<String>> groupIds, Location location, String groupId )
+    {
+        final Set<String> set = groupIds.get( location );
+        return set != null && set.contains( groupId );
+    }
+
+    private static boolean isLocal( Location location )
+    {
+        return location.getUri() != null && location.getUri().startsWith( "file:" );
+    }
+
+    @FunctionalInterface
+    public interface Retriever
+    {
+        Transfer retrieve( Location location, ArtifactRef ref ) throws TransferException;
+    }
+}
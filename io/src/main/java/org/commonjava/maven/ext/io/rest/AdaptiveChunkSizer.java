@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Learns the chunk size to send to the server from its response times. The size grows by a quarter while chunks
+ * complete within the target time, is scaled down when they take longer, and is halved when a chunk fails with a gateway
+ * timeout, unavailable server or socket timeout (i.e. multiplicative increase, multiplicative decrease).
+ * <p>
+ * A single instance is used for all lookups by a {@link DefaultTranslator} so that the size learned by one lookup is
+ * used by the next. This class is thread safe.
+ */
+class AdaptiveChunkSizer
+{
+    static final int INITIAL_CHUNK_SIZE = 128;
+
+    static final int MAXIMUM_CHUNK_SIZE = 2048;
+
+    private final Logger logger = LoggerFactory.getLogger( getClass() );
+
+    private final int minimum;
+
+    private final int maximum;
+
+    private final long targetNanos;
+
+    private int current;
+
+    /**
+     * @param minimum the smallest chunk size.
+     * @param targetSec the target response time in seconds.
+     */
+    AdaptiveChunkSizer( int minimum, int targetSec )
+    {
+        this( INITIAL_CHUNK_SIZE, minimum, MAXIMUM_CHUNK_SIZE, targetSec );
+    }
+
+    AdaptiveChunkSizer( int initial, int minimum, int maximum, int targetSec )
+    {
+        this.minimum = Math.max( 1, minimum );
+        this.maximum = Math.max( this.minimum, maximum );
+        this.targetNanos = TimeUnit.SECONDS.toNanos( Math.max( 1, targetSec ) );
+        this.current = clamp( initial );
+    }
+
+    /**
+     * @return the size of the next chunk to send.
+     */
+    synchronized int getChunkSize()
+    {
+        return current;
+    }
+
+    /**
+     * Records a successful response.
+     *
+     * @param chunkSize the size of the chunk sent.
+     * @param elapsedNanos the time taken for the response.
+     */
+    synchronized void success( int chunkSize, long elapsedNanos )
+    {
+        final int previous = current;
+
+        if ( elapsedNanos > targetNanos )
+        {
+            // Scale down to the size the server would have handled within the target.
+            current = clamp( Math.min( current, (int) ( chunkSize * ( (double) targetNanos / elapsedNanos ) ) ) );
+        }
+        else if ( chunkSize >= current )
+        {
+            // Only a chunk of (at least) the current size shows the server can handle more.
+            current = clamp( current + Math.max( 1, current / 4 ) );
+        }
+
+        if ( previous != current )
+        {
+            logger.debug( "Chunk of {} took {} ms ; adjusted chunk size from {} to {}", chunkSize,
+                          TimeUnit.NANOSECONDS.toMillis( elapsedNanos ), previous, current );
+        }
+    }
+
+    /**
+     * Records a response that indicates the server is overloaded.
+     *
+     * @param chunkSize the size of the chunk sent.
+     */
+    synchronized void failure( int chunkSize )
+    {
+        final int previous = current;
+
+        // A chunk sent before an earlier reduction only lowers the size to half of its own.
+        current = clamp( Math.min( current, chunkSize / 2 ) );
+
+        logger.debug( "Chunk of {} failed ; reduced chunk size from {} to {}", chunkSize, previous, current );
+    }
+
+    private int clamp( int size )
+    {
+        return Math.max( minimum, Math.min( maximum, size ) );
+    }
+}
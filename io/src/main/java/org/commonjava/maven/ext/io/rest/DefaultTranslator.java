@@ -18,24 +18,27 @@ package org.commonjava.maven.ext.io.rest;
 import com.redhat.resilience.otel.OTelCLIHelper;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
-import kong.unirest.GenericType;
 import kong.unirest.HttpResponse;
+import kong.unirest.RawResponse;
 import kong.unirest.Unirest;
 import kong.unirest.UnirestException;
 import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.http.HttpStatus;
 import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
 import org.commonjava.maven.ext.common.ManipulationUncheckedException;
-import org.commonjava.maven.ext.common.json.DependencyAnalyserResult;
 import org.commonjava.maven.ext.common.json.ErrorMessage;
-import org.commonjava.maven.ext.common.util.GAVUtils;
+import org.commonjava.maven.ext.common.util.Instrumentation;
+import org.commonjava.maven.ext.common.util.Instrumentation.Counter;
 import org.commonjava.maven.ext.common.util.JSONUtils.InternalObjectMapper;
 import org.commonjava.maven.ext.common.util.ListUtils;
-import org.jboss.da.lookup.model.MavenLatestRequest;
-import org.jboss.da.lookup.model.MavenLookupRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -44,7 +47,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -58,10 +69,6 @@ import static org.apache.http.HttpStatus.SC_OK;
 public class DefaultTranslator
     implements Translator
 {
-    private static final GenericType<List<DependencyAnalyserResult>> lookupType = new GenericType<List<DependencyAnalyserResult>>()
-    {
-    };
-
     public enum Endpoint
     {
         LOOKUP_GAVS ("lookup/maven"),
@@ -104,6 +111,21 @@ public class DefaultTranslator
 
     private final int restSocketTimeout;
 
+    private final int restConcurrency;
+
+    private final RestCache restCache;
+
+    /**
+     * Learns the chunk size across all lookups if adaptive partitioning is in use ; otherwise null.
+     */
+    private final AdaptiveChunkSizer chunkSizer;
+
+    /**
+     * Records the number of requests and GAVs sent to the endpoint.
+     */
+    @Setter
+    private Instrumentation instrumentation = new Instrumentation();
+
     static
     {
         // According to https://kong.github.io/unirest-java/#configuration the default connection timeout is 10000
@@ -124,11 +146,36 @@ public class DefaultTranslator
      * @param restHeaders the headers to pass to the endpoint
      * @param restConnectionTimeout the timeout for the REST request; defaults to {@link Translator#DEFAULT_CONNECTION_TIMEOUT_SEC}
      * @param restSocketTimeout the timeout for the REST socket calls; defaults to {@link Translator#DEFAULT_SOCKET_TIMEOUT_SEC}
-     * @param restRetryDuration the retry duration configuration; ; defaults to {@link Translator#RETRY_DURATION_SEC}
+     * @param restRetryDuration the retry duration configuration; defaults to {@link Translator#RETRY_DURATION_SEC}
      */
     public DefaultTranslator( String endpointUrl, int restMaxSize, int restMinSize, Boolean brewPullActive, String mode,
                               Map<String, String> restHeaders, int restConnectionTimeout, int restSocketTimeout,
                               int restRetryDuration )
+    {
+        this( endpointUrl, restMaxSize, restMinSize, brewPullActive, mode, restHeaders, restConnectionTimeout,
+              restSocketTimeout, restRetryDuration, DEFAULT_CONCURRENCY, null, DEFAULT_ADAPTIVE_TARGET_SEC );
+    }
+
+    /**
+     * @param endpointUrl is the URL to talk to.
+     * @param restMaxSize initial (maximum) size of the rest call; if zero will send everything, if
+     *                    {@link Translator#AUTO_PARTITION} will size by the number of GAVs and if
+     *                    {@link Translator#ADAPTIVE_PARTITION} will size by the server response times.
+     * @param restMinSize minimum size for the call
+     * @param brewPullActive flag saying if brew pull should be used for version retrieval
+     * @param mode lookup mode, either PERSISTENT, TEMPORARY, SERVICE or SERVICE-TEMPORARY
+     * @param restHeaders the headers to pass to the endpoint
+     * @param restConnectionTimeout the timeout for the REST request; defaults to {@link Translator#DEFAULT_CONNECTION_TIMEOUT_SEC}
+     * @param restSocketTimeout the timeout for the REST socket calls; defaults to {@link Translator#DEFAULT_SOCKET_TIMEOUT_SEC}
+     * @param restRetryDuration the retry duration configuration; defaults to {@link Translator#RETRY_DURATION_SEC}
+     * @param restConcurrency the maximum number of chunks in flight at once; defaults to {@link Translator#DEFAULT_CONCURRENCY}
+     * @param restCache an optional cache of previous lookups; may be null.
+     * @param restAdaptiveTarget the target response time for adaptive partitioning; defaults to
+     *                           {@link Translator#DEFAULT_ADAPTIVE_TARGET_SEC}
+     */
+    public DefaultTranslator( String endpointUrl, int restMaxSize, int restMinSize, Boolean brewPullActive, String mode,
+                              Map<String, String> restHeaders, int restConnectionTimeout, int restSocketTimeout,
+                              int restRetryDuration, int restConcurrency, RestCache restCache, int restAdaptiveTarget )
     {
         this.brewPullActive = brewPullActive;
         this.mode = mode;
@@ -139,6 +186,10 @@ public class DefaultTranslator
         this.restConnectionTimeout = restConnectionTimeout;
         this.restSocketTimeout = restSocketTimeout;
         this.retryDuration = restRetryDuration;
+        this.restConcurrency = Math.max( 1, restConcurrency );
+        this.restCache = restCache;
+        this.chunkSizer = restMaxSize == ADAPTIVE_PARTITION ?
+                        new AdaptiveChunkSizer( restMinSize, restAdaptiveTarget ) : null;
 
         if ( OTelCLIHelper.otelEnabled() )
         {
@@ -193,7 +244,8 @@ public class DefaultTranslator
      * }
      * </pre>
      * There may be a lot of them, possibly causing timeouts or other issues.
-     * This is mitigated by splitting them into smaller chunks when an error occurs and retrying.
+     * This is mitigated by splitting them into smaller chunks when an error occurs and retrying. Up to
+     * restConcurrency chunks are sent concurrently.
      *
      * @param p the list of ProjectVersionRef to lookup
      * @return the resulting map of ProjectVersionRef to new Version
@@ -223,7 +275,7 @@ public class DefaultTranslator
     private void partition( Endpoint endpointType, List<ProjectVersionRef> projects, Queue<Task> queue ) {
         if ( initialRestMaxSize != 0 )
         {
-            if (initialRestMaxSize == -1)
+            if (initialRestMaxSize == AUTO_PARTITION)
             {
                 autoPartition(endpointType, projects, queue);
             }
@@ -287,46 +339,109 @@ public class DefaultTranslator
 
     private Map<ProjectVersionRef, String> internalLookup( Endpoint endpointType, List<ProjectVersionRef> p ) throws RestException
     {
-        final List<ProjectVersionRef> projects = p.stream().distinct().collect( Collectors.toList() );
+        List<ProjectVersionRef> projects = p.stream().distinct().collect( Collectors.toList() );
         if ( p.size() != projects.size() )
         {
             logger.debug( "Eliminating duplicates reduced {} to {}", p.size(), projects.size() );
         }
+        // Chunks merge their results as they complete.
+        final Map<ProjectVersionRef, String> result = new ConcurrentHashMap<>();
+        final String cacheScope = endpointUrl + endpointType + '|' + mode + '|' + brewPullActive;
+
+        if ( restCache != null )
+        {
+            projects = restCache.lookup( cacheScope, projects, result );
+            if ( projects.isEmpty() )
+            {
+                return result;
+            }
+        }
         logger.info( "Calling REST client... (with {} GAVs)", projects.size() );
 
         final Queue<Task> queue = new ArrayDeque<>();
-        final Map<ProjectVersionRef, String> result = new HashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool( restConcurrency, new RestThreadFactory() );
+        final CompletionService<Task> completionService = new ExecutorCompletionService<>( executor );
         final long start = System.nanoTime();
+        int inFlight = 0;
 
         boolean finishedSuccessfully = false;
 
         try
         {
 
-            partition( endpointType, projects, queue );
+            // With adaptive partitioning the chunks are only created when they are sent so that they use the
+            // latest chunk size ; otherwise everything is partitioned up front.
+            int unpartitioned = 0;
+            if ( chunkSizer == null )
+            {
+                partition( endpointType, projects, queue );
+                unpartitioned = projects.size();
+            }
+            else
+            {
+                logger.info( "Using adaptive partition strategy: {} projects divided in chunks starting with {} each",
+                             projects.size(), chunkSizer.getChunkSize() );
+            }
 
-            while ( !queue.isEmpty() )
+            while ( !queue.isEmpty() || inFlight > 0 || unpartitioned < projects.size() )
             {
-                Task task = queue.remove();
-                task.executeTranslate();
-                if ( task.isSuccess() )
+                while ( ( !queue.isEmpty() || unpartitioned < projects.size() ) && inFlight < restConcurrency )
                 {
-                    result.putAll( task.getResult() );
+                    final Task pending;
+                    if ( queue.isEmpty() )
+                    {
+                        final int end = Math.min( projects.size(), unpartitioned + chunkSizer.getChunkSize() );
+                        pending = new Task( projects.subList( unpartitioned, end ), endpointUrl, endpointType );
+                        unpartitioned = end;
+                    }
+                    else
+                    {
+                        pending = queue.remove();
+                    }
+                    instrumentation.increment( Counter.REST_REQUESTS );
+                    instrumentation.add( Counter.REST_GAVS, pending.getChunkSize() );
+                    completionService.submit( () -> {
+                        pending.executeTranslate();
+                        if ( pending.isSuccess() )
+                        {
+                            result.putAll( pending.getResult() );
+                        }
+                        return pending;
+                    } );
+                    inFlight++;
                 }
-                else
+
+                final Task task = completionService.take().get();
+                inFlight--;
+
+                if ( chunkSizer != null )
                 {
-                    if ( task.canSplit() && isRecoverable( task.getStatus() ) )
+                    if ( task.isSuccess() )
+                    {
+                        chunkSizer.success( task.getChunkSize(), task.getElapsed() );
+                    }
+                    else if ( isRecoverable( task ) )
                     {
+                        chunkSizer.failure( task.getChunkSize() );
+                    }
+                }
+
+                if ( !task.isSuccess() )
+                {
+                    if ( task.canSplit() && isRecoverable( task ) )
+                    {
+                        List<Task> tasks = task.split(endpointType);
+
                         if ( task.getStatus() == HttpStatus.SC_SERVICE_UNAVAILABLE )
                         {
                             logger.info( "The DA server is unavailable. Waiting {} before splitting the tasks and retrying",
                                          retryDuration );
 
-                            waitBeforeRetry( retryDuration );
+                            // Only the retried chunks wait ; any other chunks in flight are unaffected.
+                            final long retryAt = System.nanoTime() + TimeUnit.SECONDS.toNanos( retryDuration );
+                            tasks.forEach( t -> t.retryAt = retryAt );
                         }
 
-                        List<Task> tasks = task.split(endpointType);
-
                         logger.warn( "Failed to translate versions for task @{} due to {}, splitting and retrying. Chunk size was: {} and new chunk size {} in {} segments.",
                                      task.hashCode(), task.getStatus(), task.getChunkSize(), tasks.get( 0 ).getChunkSize(),
                                      tasks.size() );
@@ -349,28 +464,53 @@ public class DefaultTranslator
                 }
             }
             finishedSuccessfully = true;
+
+            if ( restCache != null )
+            {
+                restCache.update( cacheScope, projects, result );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new RestException( "Interrupted while waiting for REST client", e );
+        }
+        catch ( ExecutionException e )
+        {
+            throw new RestException( "Caught exception calling REST client", e.getCause() );
         }
         finally
         {
+            // Abandon any chunks still in flight if a chunk has failed.
+            executor.shutdownNow();
             printFinishTime( logger, start, finishedSuccessfully);
         }
 
         return result;
     }
 
-    private boolean isRecoverable(int httpErrorCode)
+    private boolean isRecoverable( Task task )
     {
-        return httpErrorCode == HttpStatus.SC_GATEWAY_TIMEOUT || httpErrorCode == HttpStatus.SC_SERVICE_UNAVAILABLE;
+        final int httpErrorCode = task.getStatus();
+
+        // Socket timeouts are only retried with adaptive partitioning as the chunk size will have been reduced.
+        return httpErrorCode == HttpStatus.SC_GATEWAY_TIMEOUT || httpErrorCode == HttpStatus.SC_SERVICE_UNAVAILABLE
+                        || ( chunkSizer != null && task.isTimedOut() );
     }
 
-    private void waitBeforeRetry(int seconds) {
+    private void waitBeforeRetry(long retryAt) {
         try
         {
-            Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+            final long remaining = retryAt - System.nanoTime();
+            if ( remaining > 0 )
+            {
+                TimeUnit.NANOSECONDS.sleep( remaining );
+            }
         }
         catch (InterruptedException e)
         {
             logger.error( "Caught exception while waiting", e );
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -390,7 +530,16 @@ public class DefaultTranslator
 
         private String errorString;
 
+        private String errorBody;
+
+        private IOException parsingError;
 
+        /**
+         * If non-zero, the {@link System#nanoTime()} before which this task should not be sent.
+         */
+        private long retryAt;
+
+        private long elapsed;
 
         Task( List<ProjectVersionRef> chunk, String endpointUrl, Endpoint endpointType )
         {
@@ -401,24 +550,18 @@ public class DefaultTranslator
 
         void executeTranslate()
         {
-            HttpResponse<List<DependencyAnalyserResult>> r;
+            HttpResponse<Map<ProjectVersionRef, String>> r;
+
+            if ( retryAt != 0 )
+            {
+                waitBeforeRetry( retryAt );
+            }
 
+            final long start = System.nanoTime();
             try
             {
                 final boolean lookup = (endpointType == Endpoint.LOOKUP_GAVS);
-                Object request = lookup ?
-                                ( MavenLookupRequest
-                                                .builder()
-                                                .mode( mode )
-                                                .brewPullActive( brewPullActive )
-                                                .artifacts( GAVUtils.generateGAVs( chunk ) )
-                                                .build() )
-                                :
-                                ( MavenLatestRequest
-                                                .builder()
-                                                .mode( mode )
-                                                .artifacts( GAVUtils.generateGAVs( chunk ) )
-                                                .build() );
+                final byte[] request = LookupCodec.writeRequest( chunk, mode, lookup ? brewPullActive : null );
 
                 r = Unirest.post( endpointUrl + endpointType )
                            .header( "accept", "application/json" )
@@ -428,73 +571,103 @@ public class DefaultTranslator
                            .connectTimeout(restConnectionTimeout * 1000)
                            .socketTimeout(restSocketTimeout * 1000)
                            .body( request )
-                           .asObject( lookupType  )
-                           .ifSuccess( successResponse -> result = successResponse.getBody()
-                                                                                  .stream()
-                                                                                  .filter( f -> lookup ? isNotBlank( f.getBestMatchVersion() ) : isNotBlank( f.getLatestVersion() ) )
-                                                                                  .collect(
-                                                                                                  Collectors.toMap(
-                                                                                                                  DependencyAnalyserResult::getProjectVersionRef,
-                                                                                                  lookup ? DependencyAnalyserResult::getBestMatchVersion : DependencyAnalyserResult::getLatestVersion,
-                                                                                                  // If there is a duplicate key, use the original.
-                                                                                                  (o, n) -> {
-                                                                                                      logger.warn( "Located duplicate key {}", o);
-                                                                                                      return o;
-                                                                                                  } )
-                                                                                  )
-                           )
-                           .ifFailure( failedResponse -> {
-                               if ( !failedResponse.getParsingError().isPresent() )
-                               {
-                                   logger.debug( "Parsing error but no message. Status text {}", failedResponse.getStatusText() );
-                                   throw new ManipulationUncheckedException( failedResponse.getStatusText() );
-                               }
-                               else
-                               {
-                                   String originalBody = failedResponse.getParsingError().get().getOriginalBody();
-
-                                   if ( originalBody.isEmpty() )
-                                   {
-                                       this.errorString = "No content to read.";
-                                   }
-                                   else if ( originalBody.startsWith( "<" ) )
-                                   {
-                                       // Read an HTML string.
-                                       String stripped = originalBody.replaceAll( "<.*?>", "" ).replaceAll( "\n", " " ).trim();
-                                       logger.debug( "Read HTML string '{}' rather than a JSON stream; stripping message to '{}'",
-                                                     originalBody, stripped );
-                                       this.errorString = stripped;
-                                   }
-                                   else if ( originalBody.startsWith( "{\"" ) )
-                                   {
-                                       this.errorString = failedResponse.mapError( ErrorMessage.class ).toString();
-
-                                       logger.debug( "Read message string {}, processed to {}", originalBody, errorString );
-                                   }
-                                   else if ( originalBody.startsWith( "javax.validation.ValidationException: " ) )
-                                   {
-                                       this.errorString = originalBody;
-                                   }
-                                   else
-                                   {
-                                       logger.error( "HTTP comm failure: {}", failedResponse.getParsingError().get().getMessage() );
-                                       throw new ManipulationUncheckedException( "Problem in HTTP communication with status code {} and message {}",
-                                                                                 failedResponse.getStatus(), failedResponse.getStatusText() );
-                                   }
-                               }
-                           } );
+                           .asObject( response -> readResponse( response, lookup ) );
+
+                if ( parsingError != null )
+                {
+                    logger.error( "HTTP comm failure: {}", parsingError.getMessage() );
+                    throw new ManipulationUncheckedException( "Problem in HTTP communication with status code {} and message {}",
+                                                              r.getStatus(), parsingError.getMessage() );
+                }
+                else if ( r.isSuccess() )
+                {
+                    result = r.getBody();
+                }
+                else
+                {
+                    processFailure( r );
+                }
 
                 status = r.getStatus();
             }
-            catch ( ManipulationUncheckedException | UnirestException e )
+            catch ( IOException | ManipulationUncheckedException | UnirestException e )
             {
                 exception = e;
                 this.status = -1;
             }
+            elapsed = System.nanoTime() - start;
+        }
+
+        /**
+         * Successful responses are decoded as they are received ; otherwise the body is retained for
+         * {@link #processFailure(HttpResponse)}. Errors are recorded rather than thrown as Unirest would wrap them.
+         */
+        private Map<ProjectVersionRef, String> readResponse( RawResponse response, boolean lookup )
+        {
+            if ( response.getStatus() >= 200 && response.getStatus() < 300 )
+            {
+                try ( InputStream in = response.getContent() )
+                {
+                    return LookupCodec.readResponse( in, lookup );
+                }
+                catch ( IOException e )
+                {
+                    parsingError = e;
+                }
+            }
+            else
+            {
+                errorBody = response.hasContent() ? response.getContentAsString() : "";
+            }
+            return Collections.emptyMap();
+        }
+
+        private void processFailure( HttpResponse<?> failedResponse )
+        {
+            if ( errorBody.isEmpty() )
+            {
+                this.errorString = "No content to read.";
+            }
+            else if ( errorBody.startsWith( "<" ) )
+            {
+                // Read an HTML string.
+                String stripped = errorBody.replaceAll( "<.*?>", "" ).replaceAll( "\n", " " ).trim();
+                logger.debug( "Read HTML string '{}' rather than a JSON stream; stripping message to '{}'",
+                              errorBody, stripped );
+                this.errorString = stripped;
+            }
+            else if ( errorBody.startsWith( "{\"" ) )
+            {
+                this.errorString = Unirest.config().getObjectMapper().readValue( errorBody, ErrorMessage.class ).toString();
+
+                logger.debug( "Read message string {}, processed to {}", errorBody, errorString );
+            }
+            else if ( errorBody.startsWith( "javax.validation.ValidationException: " ) )
+            {
+                this.errorString = errorBody;
+            }
+            else
+            {
+                logger.error( "HTTP comm failure: {}", errorBody );
+                throw new ManipulationUncheckedException( "Problem in HTTP communication with status code {} and message {}",
+                                                          failedResponse.getStatus(), failedResponse.getStatusText() );
+            }
         }
 
         public List<Task> split( Endpoint endpointType )
         {
+            if ( chunkSizer != null )
+            {
+                // Split into chunks of the reduced size, ensuring they are smaller than this one but no smaller than
+                // the configured minimum.
+                final int chunkSize = Math.max( initialRestMinSize,
+                                                Math.min( chunkSizer.getChunkSize(), ( chunk.size() + 1 ) / 2 ) );
+                return ListUtils.partition( chunk, chunkSize )
+                                .stream()
+                                .map( p -> new Task( p, endpointUrl, endpointType ) )
+                                .collect( Collectors.toList() );
+            }
+
             List<Task> res = new ArrayList<>( CHUNK_SPLIT_COUNT );
             if ( chunk.size() >= CHUNK_SPLIT_COUNT )
             {
@@ -521,6 +694,10 @@ public class DefaultTranslator
 
         boolean canSplit()
         {
+            if ( chunkSizer != null )
+            {
+                return chunk.size() > initialRestMinSize;
+            }
             return ( chunk.size() / initialRestMinSize ) > 0 && chunk.size() != 1;
         }
 
@@ -548,6 +725,33 @@ public class DefaultTranslator
         {
             return chunk.size();
         }
+
+        /**
+         * @return the time taken by the request in nanoseconds.
+         */
+        long getElapsed()
+        {
+            return elapsed;
+        }
+
+        boolean isTimedOut()
+        {
+            return ExceptionUtils.indexOfThrowable( exception, SocketTimeoutException.class ) != -1;
+        }
+    }
+
+    private static class RestThreadFactory
+        implements ThreadFactory
+    {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread( Runnable r )
+        {
+            final Thread t = new Thread( r, "pme-rest-" + count.incrementAndGet() );
+            t.setDaemon( true );
+            return t;
+        }
     }
 
     private static void printFinishTime ( Logger logger, long start, boolean finished )
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Streaming encoder and decoder for the DA lookup endpoints. Requests are written directly from the GAVs and responses
+ * are read token by token into the result map, avoiding the intermediate request and response objects (and the
+ * buffering of the entire response) that data binding requires.
+ * <p>
+ * The request format is that of <code>MavenLookupRequest</code> and <code>MavenLatestRequest</code> ; the response is
+ * a list of GAVs with their <code>bestMatchVersion</code> or <code>latestVersion</code>. Unknown fields are ignored.
+ */
+final class LookupCodec
+{
+    private static final String GROUP_ID = "groupId";
+
+    private static final String ARTIFACT_ID = "artifactId";
+
+    private static final String VERSION = "version";
+
+    private static final String BEST_MATCH_VERSION = "bestMatchVersion";
+
+    private static final String LATEST_VERSION = "latestVersion";
+
+    private static final String ARTIFACTS = "artifacts";
+
+    private static final String MODE = "mode";
+
+    private static final String BREW_PULL_ACTIVE = "brewPullActive";
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private static final Logger logger = LoggerFactory.getLogger( LookupCodec.class );
+
+    private LookupCodec()
+    {
+    }
+
+    /**
+     * Encodes a lookup request.
+     *
+     * @param chunk the GAVs to lookup.
+     * @param mode the lookup mode.
+     * @param brewPullActive whether brew pull is active ; null for the latest endpoint which does not support it.
+     * @return the encoded request.
+     * @throws IOException if an error occurs.
+     */
+    static byte[] writeRequest( List<ProjectVersionRef> chunk, String mode, Boolean brewPullActive )
+                    throws IOException
+    {
+        // Approximately the size of a typical GAV.
+        final ByteArrayOutputStream out = new ByteArrayOutputStream( 64 + chunk.size() * 96 );
+
+        try ( JsonGenerator generator = FACTORY.createGenerator( out ) )
+        {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart( ARTIFACTS );
+            for ( ProjectVersionRef gav : chunk )
+            {
+                generator.writeStartObject();
+                generator.writeStringField( GROUP_ID, gav.getGroupId() );
+                generator.writeStringField( ARTIFACT_ID, gav.getArtifactId() );
+                generator.writeStringField( VERSION, gav.getVersionString() );
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeStringField( MODE, mode );
+            if ( brewPullActive != null )
+            {
+                generator.writeBooleanField( BREW_PULL_ACTIVE, brewPullActive );
+            }
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a lookup response. GAVs without a version are omitted ; if a GAV is duplicated the first version is used.
+     * An empty response is treated as an empty list.
+     *
+     * @param in the response content.
+     * @param lookup true to read the <code>bestMatchVersion</code>, false to read the <code>latestVersion</code>.
+     * @return the map of GAV to version.
+     * @throws IOException if an error occurs or the content is malformed.
+     */
+    static Map<ProjectVersionRef, String> readResponse( InputStream in, boolean lookup ) throws IOException
+    {
+        final Map<ProjectVersionRef, String> result = new HashMap<>();
+        final String versionField = lookup ? BEST_MATCH_VERSION : LATEST_VERSION;
+
+        try ( JsonParser parser = FACTORY.createParser( in ) )
+        {
+            final JsonToken start = parser.nextToken();
+            if ( start == null )
+            {
+                // An empty response has no results.
+                return result;
+            }
+            else if ( start != JsonToken.START_ARRAY )
+            {
+                throw new JsonParseException( parser, "Expected a list of results" );
+            }
+            while ( parser.nextToken() == JsonToken.START_OBJECT )
+            {
+                String groupId = null;
+                String artifactId = null;
+                String version = null;
+                String newVersion = null;
+
+                while ( parser.nextToken() == JsonToken.FIELD_NAME )
+                {
+                    final String field = parser.getCurrentName();
+                    final JsonToken value = parser.nextToken();
+
+                    if ( value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY )
+                    {
+                        parser.skipChildren();
+                    }
+                    else if ( value != JsonToken.VALUE_NULL )
+                    {
+                        switch ( field )
+                        {
+                            case GROUP_ID:
+                                groupId = parser.getText();
+                                break;
+                            case ARTIFACT_ID:
+                                artifactId = parser.getText();
+                                break;
+                            case VERSION:
+                                version = parser.getText();
+                                break;
+                            default:
+                                if ( field.equals( versionField ) )
+                                {
+                                    newVersion = parser.getText();
+                                }
+                                break;
+                        }
+                    }
+                }
+                if ( groupId == null || artifactId == null || version == null )
+                {
+                    throw new JsonParseException( parser, "Result is missing its groupId, artifactId or version" );
+                }
+                if ( isNotBlank( newVersion ) )
+                {
+                    final ProjectVersionRef gav = new SimpleProjectVersionRef( groupId, artifactId, version );
+                    if ( result.putIfAbsent( gav, newVersion ) != null )
+                    {
+                        logger.warn( "Located duplicate key {}", gav );
+                    }
+                }
+            }
+            if ( parser.currentToken() != JsonToken.END_ARRAY )
+            {
+                throw new JsonParseException( parser, "Expected a result object" );
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.rest;
+
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.ext.common.ManipulationUncheckedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Translator that allows lookups to be started ahead of when their results are required, so that the REST calls
+ * overlap with other work. Lookups are started in the background by {@link #prefetchVersions(List)} and
+ * {@link #prefetchProjectVersions(List)} ; a subsequent lookup only waits for the prefetches that cover its GAVs and
+ * only sends the GAVs that were not prefetched.
+ * <p>
+ * Prefetching is speculative: the GAVs finally looked up may differ from those prefetched, as the projects may have
+ * been modified in between. Prefetched results are therefore only returned for GAVs that are looked up, and if a
+ * prefetch fails its GAVs are looked up again so that any error is reported by the lookup that requires them.
+ */
+public class PipelinedTranslator
+    implements Translator
+{
+    private final Logger logger = LoggerFactory.getLogger( getClass() );
+
+    private final Translator delegate;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool( new PrefetchThreadFactory() );
+
+    private final List<Prefetch> versions = new ArrayList<>();
+
+    private final List<Prefetch> projectVersions = new ArrayList<>();
+
+    /**
+     * @param delegate the translator to perform the lookups.
+     */
+    public PipelinedTranslator( Translator delegate )
+    {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Starts a background {@link #lookupVersions(List)} of the GAVs.
+     *
+     * @param projects the GAVs to lookup
+     */
+    public void prefetchVersions( List<ProjectVersionRef> projects )
+    {
+        prefetch( versions, projects, false );
+    }
+
+    /**
+     * Starts a background {@link #lookupProjectVersions(List)} of the GAVs.
+     *
+     * @param projects the GAVs to lookup
+     */
+    public void prefetchProjectVersions( List<ProjectVersionRef> projects )
+    {
+        prefetch( projectVersions, projects, true );
+    }
+
+    @Override
+    public Map<ProjectVersionRef, String> lookupVersions( List<ProjectVersionRef> projects ) throws RestException
+    {
+        return lookup( versions, projects, false );
+    }
+
+    @Override
+    public Map<ProjectVersionRef, String> lookupProjectVersions( List<ProjectVersionRef> projects )
+                    throws RestException
+    {
+        return lookup( projectVersions, projects, true );
+    }
+
+    /**
+     * Stops the background lookups ; should be called once the run has finished with the translator.
+     */
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    private void prefetch( List<Prefetch> prefetches, List<ProjectVersionRef> projects, boolean project )
+    {
+        final Set<ProjectVersionRef> requested = new HashSet<>( projects );
+        synchronized ( prefetches )
+        {
+            prefetches.forEach( p -> requested.removeAll( p.requested ) );
+            if ( requested.isEmpty() )
+            {
+                return;
+            }
+            logger.debug( "Prefetching {} {}GAVs", requested.size(), project ? "project " : "" );
+            prefetches.add( new Prefetch( requested, CompletableFuture.supplyAsync(
+                            () -> lookupUnchecked( new ArrayList<>( requested ), project ), executor ) ) );
+        }
+    }
+
+    private Map<ProjectVersionRef, String> lookup( List<Prefetch> prefetches, List<ProjectVersionRef> projects,
+                                                   boolean project ) throws RestException
+    {
+        final Set<ProjectVersionRef> wanted = new HashSet<>( projects );
+        final List<ProjectVersionRef> remaining = new ArrayList<>( wanted );
+        final List<Prefetch> covering = new ArrayList<>();
+
+        synchronized ( prefetches )
+        {
+            for ( Prefetch p : prefetches )
+            {
+                if ( remaining.removeIf( p.requested::contains ) )
+                {
+                    covering.add( p );
+                }
+            }
+        }
+        if ( covering.isEmpty() )
+        {
+            return lookupNow( projects, project );
+        }
+        logger.debug( "Using {} prefetched lookups ; looking up {} remaining GAVs", covering.size(),
+                      remaining.size() );
+
+        // Look up the remaining GAVs while the prefetches complete.
+        final CompletableFuture<Map<ProjectVersionRef, String>> rest = remaining.isEmpty() ?
+                        CompletableFuture.completedFuture( new HashMap<>() ) :
+                        CompletableFuture.supplyAsync( () -> lookupUnchecked( remaining, project ), executor );
+
+        final Map<ProjectVersionRef, String> result = new HashMap<>();
+        for ( Prefetch p : covering )
+        {
+            Map<ProjectVersionRef, String> prefetched;
+            try
+            {
+                prefetched = p.result.join();
+            }
+            catch ( CompletionException e )
+            {
+                logger.debug( "Prefetch failed ({}) ; repeating lookup", e.getCause().getMessage() );
+                final List<ProjectVersionRef> retry = new ArrayList<>( p.requested );
+                retry.retainAll( wanted );
+                prefetched = lookupNow( retry, project );
+            }
+            prefetched.forEach( ( k, v ) -> {
+                if ( wanted.contains( k ) )
+                {
+                    result.put( k, v );
+                }
+            } );
+        }
+        result.putAll( join( rest ) );
+
+        return result;
+    }
+
+    private Map<ProjectVersionRef, String> lookupNow( List<ProjectVersionRef> projects, boolean project )
+                    throws RestException
+    {
+        return project ? delegate.lookupProjectVersions( projects ) : delegate.lookupVersions( projects );
+    }
+
+    private Map<ProjectVersionRef, String> lookupUnchecked( List<ProjectVersionRef> projects, boolean project )
+    {
+        try
+        {
+            return lookupNow( projects, project );
+        }
+        catch ( RestException e )
+        {
+            throw new ManipulationUncheckedException( e );
+        }
+    }
+
+    private static Map<ProjectVersionRef, String> join( CompletableFuture<Map<ProjectVersionRef, String>> future )
+                    throws RestException
+    {
+        try
+        {
+            return future.join();
+        }
+        catch ( CompletionException e )
+        {
+            Throwable cause = e.getCause();
+            if ( cause instanceof ManipulationUncheckedException && cause.getCause() instanceof RestException )
+            {
+                throw (RestException) cause.getCause();
+            }
+            throw new RestException( "Caught exception calling REST client", cause );
+        }
+    }
+
+    private static class PrefetchThreadFactory
+        implements ThreadFactory
+    {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread( Runnable r )
+        {
+            final Thread t = new Thread( r, "pme-rest-prefetch-" + count.incrementAndGet() );
+            t.setDaemon( true );
+            return t;
+        }
+    }
+
+    private static final class Prefetch
+    {
+        private final Set<ProjectVersionRef> requested;
+
+        private final CompletableFuture<Map<ProjectVersionRef, String>> result;
+
+        private Prefetch( Set<ProjectVersionRef> requested, CompletableFuture<Map<ProjectVersionRef, String>> result )
+        {
+            this.requested = requested;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.rest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.Setter;
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent cache of REST lookup results. Entries are keyed by a scope (the endpoint, mode and brewPullActive
+ * flag) and the GAV. GAVs for which the service returned no version are also cached so that they are not requested
+ * again. Entries expire after the TTL and, if the cache exceeds its maximum size, the oldest entries are evicted.
+ * <p>
+ * Failure to read or write the cache file is logged and otherwise ignored.
+ */
+public class RestCache
+{
+    private static final TypeReference<HashMap<String, Entry>> cacheType = new TypeReference<HashMap<String, Entry>>()
+    {
+    };
+
+    private final Logger logger = LoggerFactory.getLogger( getClass() );
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final File cacheFile;
+
+    private final long ttl;
+
+    private final int maxSize;
+
+    private Map<String, Entry> entries;
+
+    /**
+     * @param cacheFile the file to persist the cache to.
+     * @param ttlSeconds the time an entry remains valid.
+     * @param maxSize the maximum number of entries to retain.
+     */
+    public RestCache( File cacheFile, long ttlSeconds, int maxSize )
+    {
+        this.cacheFile = cacheFile;
+        this.ttl = TimeUnit.SECONDS.toMillis( ttlSeconds );
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Populate the result with any cached values.
+     *
+     * @param scope the scope of the lookup.
+     * @param gavs the GAVs to look up.
+     * @param result the map to place any cached versions into.
+     * @return the GAVs that were not found in the cache.
+     */
+    synchronized List<ProjectVersionRef> lookup( String scope, List<ProjectVersionRef> gavs,
+                                                 Map<ProjectVersionRef, String> result )
+    {
+        load();
+
+        final List<ProjectVersionRef> misses = new ArrayList<>();
+        final long now = System.currentTimeMillis();
+
+        for ( ProjectVersionRef gav : gavs )
+        {
+            final Entry entry = entries.get( key( scope, gav ) );
+
+            if ( entry == null || now - entry.getTimestamp() > ttl )
+            {
+                misses.add( gav );
+            }
+            else if ( entry.getVersion() != null )
+            {
+                result.put( gav, entry.getVersion() );
+            }
+        }
+        logger.info( "REST cache resolved {} of {} GAVs", gavs.size() - misses.size(), gavs.size() );
+        return misses;
+    }
+
+    /**
+     * Record the results of a lookup and persist the cache.
+     *
+     * @param scope the scope of the lookup.
+     * @param gavs the GAVs that were looked up.
+     * @param result the versions returned by the service for those GAVs.
+     */
+    synchronized void update( String scope, List<ProjectVersionRef> gavs, Map<ProjectVersionRef, String> result )
+    {
+        load();
+
+        final long now = System.currentTimeMillis();
+
+        for ( ProjectVersionRef gav : gavs )
+        {
+            entries.put( key( scope, gav ), new Entry( result.get( gav ), now ) );
+        }
+        evict( now );
+        write();
+    }
+
+    private void load()
+    {
+        if ( entries != null )
+        {
+            return;
+        }
+        entries = new HashMap<>();
+
+        if ( cacheFile.exists() )
+        {
+            try
+            {
+                entries = mapper.readValue( cacheFile, cacheType );
+                logger.debug( "Loaded {} REST cache entries from {}", entries.size(), cacheFile );
+            }
+            catch ( IOException e )
+            {
+                logger.warn( "Unable to read REST cache {} ; ignoring: {}", cacheFile, e.getMessage() );
+            }
+        }
+        evict( System.currentTimeMillis() );
+    }
+
+    private void evict( long now )
+    {
+        entries.values().removeIf( e -> now - e.getTimestamp() > ttl );
+
+        if ( entries.size() > maxSize )
+        {
+            final List<Map.Entry<String, Entry>> oldest = new ArrayList<>( entries.entrySet() );
+            oldest.sort( Comparator.comparingLong( e -> e.getValue().getTimestamp() ) );
+
+            final Iterator<Map.Entry<String, Entry>> it = oldest.iterator();
+            for ( int i = entries.size() - maxSize; i > 0; i-- )
+            {
+                entries.remove( it.next().getKey() );
+            }
+        }
+    }
+
+    private void write()
+    {
+        try
+        {
+            Files.createDirectories( cacheFile.getAbsoluteFile().getParentFile().toPath() );
+
+            final File temp = new File( cacheFile.getPath() + ".tmp" );
+            mapper.writeValue( temp, entries );
+            Files.move( temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING );
+        }
+        catch ( IOException e )
+        {
+            logger.warn( "Unable to write REST cache {} ; ignoring: {}", cacheFile, e.getMessage() );
+        }
+    }
+
+    private static String key( String scope, ProjectVersionRef gav )
+    {
+        return scope + '|' + gav.getGroupId() + ':' + gav.getArtifactId() + ':' + gav.getVersionString();
+    }
+
+    @Getter
+    @Setter
+    private static class Entry
+    {
+        private String version;
+
+        private long timestamp;
+
+        @SuppressWarnings( "unused" ) // Used by Jackson.
+        Entry()
+        {
+        }
+
+        Entry( String version, long timestamp )
+        {
+            this.version = version;
+            this.timestamp = timestamp;
+        }
+    }
+}
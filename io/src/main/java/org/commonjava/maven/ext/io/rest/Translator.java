@@ -27,12 +27,26 @@ public interface Translator
 {
     int CHUNK_SPLIT_COUNT = 4;
 
+    /**
+     * Value of restMaxSize to select the partition size by the number of GAVs.
+     */
+    int AUTO_PARTITION = -1;
+
+    /**
+     * Value of restMaxSize to select the partition size by the response times of the server.
+     */
+    int ADAPTIVE_PARTITION = -2;
+
+    int DEFAULT_ADAPTIVE_TARGET_SEC = 30;
+
     int DEFAULT_CONNECTION_TIMEOUT_SEC = 30;
 
     int DEFAULT_SOCKET_TIMEOUT_SEC = 600;
 
     int RETRY_DURATION_SEC = 30;
 
+    int DEFAULT_CONCURRENCY = 1;
+
     /**
      * Executes HTTP request to a REST service that translates versions
      *
@@ -19,7 +19,9 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.maven.model.Model;
+import org.commonjava.maven.ext.common.ManipulationException;
 import org.commonjava.maven.ext.common.model.Project;
+import org.commonjava.maven.ext.common.util.LineSeparator;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -32,10 +34,12 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class PomIOTest
 {
@@ -81,6 +85,115 @@ public class PomIOTest
         assertTrue( FileUtils.contentEquals( targetFile, pom ) );
     }
 
+    @Test
+    public void testParseRecordsContent()
+                    throws Exception
+    {
+        URL resource = PomIOTest.class.getResource( filename );
+        assertNotNull( resource );
+        File pom = new File( resource.getFile() );
+
+        File targetFile = folder.newFile( "target.xml" );
+        FileUtils.copyFile( pom, targetFile );
+
+        Project project = pomIO.parseProject( targetFile ).get( 0 );
+
+        assertArrayEquals( FileUtils.readFileToByteArray( pom ), project.getPomContent() );
+        assertEquals( LineSeparator.CRNL, project.getLineSeparator() );
+        assertEquals( LineSeparator.NL, FileIO.determineEOL( "a\nb\r\n".getBytes( StandardCharsets.UTF_8 ) ) );
+        assertEquals( LineSeparator.CR, FileIO.determineEOL( "a\rb".getBytes( StandardCharsets.UTF_8 ) ) );
+        assertNull( FileIO.determineEOL( "<project/>".getBytes( StandardCharsets.UTF_8 ) ) );
+    }
+
+    @Test
+    public void testParallelParseKeepsOrder()
+                    throws Exception
+    {
+        File root = folder.newFolder( "reactor" );
+        writeModule( root, "root", null, "a", "b", "c" );
+        writeModule( new File( root, "a" ), "a", "root", "a1", "a2" );
+        writeModule( new File( root, "a/a1" ), "a1", "a" );
+        writeModule( new File( root, "a/a2" ), "a2", "a" );
+        writeModule( new File( root, "b" ), "b", "root", "b1" );
+        writeModule( new File( root, "b/b1" ), "b1", "b" );
+        writeModule( new File( root, "c" ), "c", "root" );
+
+        File top = new File( root, "pom.xml" );
+        List<Project> serial = new PomIO( 1 ).parseProject( top );
+        List<Project> parallel = new PomIO( 4 ).parseProject( top );
+
+        assertEquals( 7, serial.size() );
+        assertEquals( serial.size(), parallel.size() );
+        assertTrue( parallel.get( 0 ).isExecutionRoot() );
+        for ( int i = 0; i < serial.size(); i++ )
+        {
+            assertEquals( serial.get( i ).getPom(), parallel.get( i ).getPom() );
+            assertEquals( serial.get( i ).getKey(), parallel.get( i ).getKey() );
+            assertEquals( serial.get( i ).getProjectParent() == null ? null : serial.get( i ).getProjectParent().getKey(),
+                          parallel.get( i ).getProjectParent() == null ? null : parallel.get( i ).getProjectParent().getKey() );
+        }
+    }
+
+    @Test
+    public void testParallelRewrite()
+                    throws Exception
+    {
+        File root = folder.newFolder( "reactor" );
+        writeModule( root, "root", null, "a", "b", "c" );
+        writeModule( new File( root, "a" ), "a", "root" );
+        writeModule( new File( root, "b" ), "b", "root" );
+        writeModule( new File( root, "c" ), "c", "root" );
+
+        PomIO parallelIO = new PomIO( 4 );
+        List<Project> projects = parallelIO.parseProject( new File( root, "pom.xml" ) );
+        projects.forEach( p -> p.getModel().addProperty( "rewritten", p.getArtifactId() ) );
+        parallelIO.rewritePOMs( new HashSet<>( projects ) );
+
+        for ( Project p : projects )
+        {
+            String s = FileUtils.readFileToString( p.getPom(), StandardCharsets.UTF_8 );
+            assertTrue( s.contains( "<rewritten>" + p.getArtifactId() + "</rewritten>" ) );
+        }
+
+        // Every failure is reported rather than just the first.
+        FileUtils.deleteDirectory( new File( root, "a" ) );
+        FileUtils.deleteDirectory( new File( root, "b" ) );
+        try
+        {
+            parallelIO.rewritePOMs( new HashSet<>( projects ) );
+            fail( "Expected rewrite failure" );
+        }
+        catch ( ManipulationException e )
+        {
+            assertTrue( e.getMessage(), e.getMessage().contains( "Failed to rewrite 2 POMs" ) );
+            assertEquals( 1, e.getSuppressed().length );
+        }
+    }
+
+    private void writeModule( File dir, String artifactId, String parent, String... modules )
+                    throws Exception
+    {
+        StringBuilder sb = new StringBuilder( "<project>\n<modelVersion>4.0.0</modelVersion>\n" );
+        if ( parent != null )
+        {
+            sb.append( "<parent><groupId>org.foo</groupId><artifactId>" ).append( parent )
+              .append( "</artifactId><version>1.0</version><relativePath>../pom.xml</relativePath></parent>\n" );
+        }
+        sb.append( "<groupId>org.foo</groupId><artifactId>" ).append( artifactId )
+          .append( "</artifactId><version>1.0</version>\n" );
+        if ( modules.length > 0 )
+        {
+            sb.append( "<packaging>pom</packaging>\n<modules>\n" );
+            for ( String module : modules )
+            {
+                sb.append( "<module>" ).append( module ).append( "</module>\n" );
+            }
+            sb.append( "</modules>\n" );
+        }
+        sb.append( "</project>\n" );
+        FileUtils.writeStringToFile( new File( dir, "pom.xml" ), sb.toString(), StandardCharsets.UTF_8 );
+    }
+
     @Test
     public void testRewritePOMs()
                     throws Exception
@@ -26,12 +26,15 @@ import org.apache.maven.settings.Profile;
 import org.apache.maven.settings.Repository;
 import org.apache.maven.settings.Settings;
 import org.commonjava.maven.galley.model.Location;
+import org.commonjava.maven.galley.util.LocationUtils;
 import org.junit.Test;
 
 import java.io.File;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -202,4 +205,29 @@ public class MavenLocationExpanderTest
         assertThat( loc.getUri(), equalTo( remote.getUrl() ) );
 
     }
+
+    @Test
+    public void httpAttributesAreApplied()
+                    throws Exception
+    {
+        final ArtifactRepositoryPolicy policy = new ArtifactRepositoryPolicy();
+        final ArtifactRepository remote =
+                        new MavenArtifactRepository( "remote", "http:///repo.maven.apache.org/maven2",
+                                                     new DefaultRepositoryLayout(), policy, policy );
+
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put( Location.MAX_CONNECTIONS, 4 );
+        attributes.put( Location.CONNECTION_TIMEOUT_SECONDS, 15 );
+
+        final MavenLocationExpander ex =
+                        new MavenLocationExpander( Collections.emptyList(), Collections.singletonList( remote ),
+                                                   null, new DefaultMirrorSelector(), new Settings(),
+                                                   Collections.emptyList(), attributes );
+
+        final List<Location> result = ex.expand( MavenLocationExpander.EXPANSION_TARGET );
+
+        assertThat( result.size(), equalTo( 1 ) );
+        assertThat( LocationUtils.getMaxConnections( result.get( 0 ) ), equalTo( 4 ) );
+        assertThat( LocationUtils.getTimeoutSeconds( result.get( 0 ) ), equalTo( 15 ) );
+    }
 }
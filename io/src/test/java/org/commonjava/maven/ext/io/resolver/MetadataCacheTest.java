@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.resolver;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.commonjava.maven.atlas.ident.ref.ProjectRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+import org.commonjava.maven.galley.maven.GalleyMavenException;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MetadataCacheTest
+{
+    private static final ProjectRef A = new SimpleProjectRef( "org.foo", "a" );
+
+    private static final ProjectRef B = new SimpleProjectRef( "org.foo", "b" );
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private final List<ProjectRef> loaded = Collections.synchronizedList( new ArrayList<>() );
+
+    private final ExecutorService executor = Executors.newFixedThreadPool( 2 );
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testVersionsAreSortedAndResolvedOnce() throws Exception
+    {
+        final MetadataCache cache = new MetadataCache( this::load, null, 0, executor );
+
+        assertEquals( Arrays.asList( "1.0", "1.0.redhat-00001", "1.0.redhat-00002", "1.1" ), toString(
+                        cache.getVersions( A ) ) );
+        // Any version of the GA shares the metadata.
+        cache.getVersions( new SimpleProjectVersionRef( "org.foo", "a", "2.0" ) );
+
+        assertEquals( Collections.singletonList( A ), loaded );
+    }
+
+    @Test
+    public void testPrefetch() throws Exception
+    {
+        final CountDownLatch started = new CountDownLatch( 2 );
+        final CountDownLatch release = new CountDownLatch( 1 );
+        final MetadataCache cache = new MetadataCache( ref -> {
+            started.countDown();
+            try
+            {
+                release.await();
+            }
+            catch ( InterruptedException e )
+            {
+                throw new IllegalStateException( e );
+            }
+            return load( ref );
+        }, null, 0, executor );
+
+        cache.prefetch( Arrays.asList( A, B, A ) );
+        // Both prefetches are in flight at once.
+        assertTrue( started.await( 10, TimeUnit.SECONDS ) );
+        release.countDown();
+
+        assertEquals( 4, cache.getVersions( B ).size() );
+        assertEquals( 4, cache.getVersions( A ).size() );
+        assertEquals( 2, loaded.size() );
+    }
+
+    @Test
+    public void testFailuresAreNotCached() throws Exception
+    {
+        final int[] failures = { 2 };
+        final MetadataCache cache = new MetadataCache( ref -> {
+            if ( failures[0]-- > 0 )
+            {
+                throw new GalleyMavenException( "Failure" );
+            }
+            return load( ref );
+        }, null, 0, executor );
+
+        // The first failure is in the prefetch, which is repeated.
+        cache.prefetch( Collections.singletonList( A ) );
+        try
+        {
+            cache.getVersions( A );
+            fail( "Failed to propagate GalleyMavenException" );
+        }
+        catch ( GalleyMavenException e )
+        {
+            assertEquals( "Failure", e.getMessage() );
+        }
+        assertEquals( 4, cache.getVersions( A ).size() );
+    }
+
+    @Test
+    public void testPersistentCache() throws Exception
+    {
+        final File cacheDir = temp.newFolder();
+
+        new MetadataCache( this::load, cacheDir, 60, executor ).getVersions( A );
+        assertEquals( 4, new MetadataCache( this::load, cacheDir, 60, executor ).getVersions( A ).size() );
+        assertEquals( 1, loaded.size() );
+
+        // Expired
+        assertTrue( new File( cacheDir, "org.foo/a/versions.txt" ).setLastModified( 0 ) );
+        new MetadataCache( this::load, cacheDir, 60, executor ).getVersions( A );
+        assertEquals( 2, loaded.size() );
+    }
+
+    @Test
+    public void testReadVersions() throws Exception
+    {
+        final String metadata = "<metadata><groupId>org.foo</groupId><artifactId>a</artifactId><versioning>"
+                        + "<versions><version>1.0</version><version> 1.1 </version></versions></versioning></metadata>";
+
+        assertEquals( Arrays.asList( "1.0", "1.1" ), MetadataCache.readVersions(
+                        new ByteArrayInputStream( metadata.getBytes( StandardCharsets.UTF_8 ) ) ) );
+    }
+
+    @Test( expected = SAXException.class )
+    public void testReadVersionsRejectsDoctype() throws Exception
+    {
+        final String metadata = "<?xml version=\"1.0\"?><!DOCTYPE metadata [<!ENTITY v SYSTEM \"file:///etc/passwd\">]>"
+                        + "<metadata><versioning><versions><version>&v;</version></versions></versioning></metadata>";
+
+        MetadataCache.readVersions( new ByteArrayInputStream( metadata.getBytes( StandardCharsets.UTF_8 ) ) );
+    }
+
+    private List<String> load( ProjectRef ref )
+    {
+        loaded.add( ref );
+        return Arrays.asList( "1.1", "1.0.redhat-00002", "1.0", "1.0.redhat-00001", "1.0" );
+    }
+
+    private static List<String> toString( List<ArtifactVersion> versions )
+    {
+        return versions.stream().map( ArtifactVersion::toString ).collect( Collectors.toList() );
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.resolver;
+
+import org.commonjava.maven.atlas.ident.ref.ArtifactRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+import org.commonjava.maven.galley.TransferException;
+import org.commonjava.maven.galley.cache.FileCacheProvider;
+import org.commonjava.maven.galley.event.NoOpFileEventManager;
+import org.commonjava.maven.galley.io.HashedLocationPathGenerator;
+import org.commonjava.maven.galley.io.NoOpTransferDecorator;
+import org.commonjava.maven.galley.model.ConcreteResource;
+import org.commonjava.maven.galley.model.Location;
+import org.commonjava.maven.galley.model.SimpleLocation;
+import org.commonjava.maven.galley.model.Transfer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class ParallelArtifactResolverTest
+{
+    private static final Location LOCAL = new SimpleLocation( "local", "file:///local" );
+
+    private static final Location A = new SimpleLocation( "a", "http://a.example.com" );
+
+    private static final Location B = new SimpleLocation( "b", "http://b.example.com" );
+
+    private static final Location C = new SimpleLocation( "c", "http://c.example.com" );
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final List<String> retrieved = Collections.synchronizedList( new ArrayList<>() );
+
+    private final Map<Location, Set<String>> hosted = new HashMap<>();
+
+    private FileCacheProvider cache;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        cache = new FileCacheProvider( temp.newFolder(), new HashedLocationPathGenerator(), new NoOpFileEventManager(),
+                                       new NoOpTransferDecorator() );
+        Arrays.asList( LOCAL, A, B, C ).forEach( l -> hosted.put( l, new HashSet<>() ) );
+    }
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testHighestPriorityHitIsReturned() throws Exception
+    {
+        hosted.get( B ).add( "bar" );
+        hosted.get( C ).add( "bar" );
+
+        // Each remote repository waits until all have been queried, so they must be queried concurrently.
+        final CountDownLatch started = new CountDownLatch( 3 );
+        final ParallelArtifactResolver resolver =
+                        new ParallelArtifactResolver( Arrays.asList( LOCAL, A, B, C ), ( location, ref ) -> {
+                            if ( location != LOCAL )
+                            {
+                                started.countDown();
+                                await( started );
+                            }
+                            return retrieve( location, ref );
+                        }, executor );
+
+        assertEquals( B, resolver.resolve( pom( "bar" ) ).getLocation() );
+        assertEquals( "local", retrieved.get( 0 ) );
+        assertEquals( 0, started.getCount() );
+
+        hosted.get( LOCAL ).add( "bar" );
+        retrieved.clear();
+        assertEquals( LOCAL, resolver.resolve( pom( "bar" ) ).getLocation() );
+        assertEquals( Collections.singletonList( "local" ), retrieved );
+    }
+
+    @Test
+    public void testMissingRepositoriesAreQueriedLast() throws Exception
+    {
+        hosted.get( C ).add( "bar" );
+        hosted.get( A ).add( "baz" );
+        final ParallelArtifactResolver resolver =
+                        new ParallelArtifactResolver( Arrays.asList( A, B, C ), this::retrieve, executor );
+
+        assertEquals( C, resolver.resolve( pom( "bar" ) ).getLocation() );
+
+        // A and B lack org.foo so are skipped...
+        retrieved.clear();
+        assertNull( resolver.resolve( pom( "qux" ) ) );
+        assertEquals( "c", retrieved.get( 0 ) );
+        assertEquals( 3, retrieved.size() );
+
+        // ...unless no other repository has the artifact.
+        retrieved.clear();
+        assertEquals( A, resolver.resolve( pom( "baz" ) ).getLocation() );
+        assertEquals( "c", retrieved.get( 0 ) );
+    }
+
+    @Test
+    public void testFailureIsReportedIfNotFound() throws Exception
+    {
+        hosted.get( C ).add( "bar" );
+        final ParallelArtifactResolver resolver =
+                        new ParallelArtifactResolver( Arrays.asList( A, B, C ), ( location, ref ) -> {
+                            if ( location == A )
+                            {
+                                throw new TransferException( "Failure" );
+                            }
+                            return retrieve( location, ref );
+                        }, executor );
+
+        assertEquals( C, resolver.resolve( pom( "bar" ) ).getLocation() );
+        try
+        {
+            resolver.resolve( pom( "baz" ) );
+            fail( "Failed to propagate TransferException" );
+        }
+        catch ( TransferException e )
+        {
+            assertEquals( "Failure", e.getMessage() );
+        }
+    }
+
+    private Transfer retrieve( Location location, ArtifactRef ref ) throws TransferException
+    {
+        retrieved.add( location.getName() );
+
+        final Transfer transfer = cache.getTransfer( new ConcreteResource( location, ref.getArtifactId() ) );
+        if ( hosted.get( location ).contains( ref.getArtifactId() ) )
+        {
+            final File file = transfer.getDetachedFile();
+            try
+            {
+                Files.createDirectories( file.getParentFile().toPath() );
+                Files.write( file.toPath(), new byte[] { 0 } );
+            }
+            catch ( IOException e )
+            {
+                throw new TransferException( "Unable to write {}", e, file );
+            }
+        }
+        return transfer;
+    }
+
+    private static void await( CountDownLatch latch ) throws TransferException
+    {
+        try
+        {
+            if ( !latch.await( 10, TimeUnit.SECONDS ) )
+            {
+                throw new TransferException( "Repositories were not queried concurrently" );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            throw new TransferException( "Interrupted", e );
+        }
+    }
+
+    private static ArtifactRef pom( String artifactId )
+    {
+        return new SimpleProjectVersionRef( "org.foo", artifactId, "1.0" ).asPomArtifact();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.rest;
+
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.ext.io.rest.handler.SpyFailJettyHandler;
+import org.commonjava.maven.ext.io.rest.rule.MockServer;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.commonjava.maven.ext.io.rest.Translator.ADAPTIVE_PARTITION;
+import static org.commonjava.maven.ext.io.rest.Translator.DEFAULT_CONNECTION_TIMEOUT_SEC;
+import static org.commonjava.maven.ext.io.rest.Translator.DEFAULT_SOCKET_TIMEOUT_SEC;
+import static org.commonjava.maven.ext.io.rest.Translator.RETRY_DURATION_SEC;
+import static org.commonjava.maven.ext.io.rest.VersionTranslatorTest.loadALotOfGAVs;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AdaptiveSplitTest
+{
+    private static List<ProjectVersionRef> aLotOfGavs;
+
+    private final SpyFailJettyHandler handler = new SpyFailJettyHandler();
+
+    @Rule
+    public MockServer mockServer = new MockServer( handler );
+
+    @BeforeClass
+    public static void startUp() throws IOException
+    {
+        aLotOfGavs = loadALotOfGAVs();
+        assertTrue( aLotOfGavs.size() >= 800 );
+    }
+
+    @Test
+    public void testChunkSizeIsLearned() throws RestException
+    {
+        handler.setStatusCode( HttpServletResponse.SC_GATEWAY_TIMEOUT );
+        handler.setFailAbove( 50 );
+
+        final DefaultTranslator versionTranslator = new DefaultTranslator(
+                        mockServer.getUrl(), ADAPTIVE_PARTITION, 1, false, "", Collections.emptyMap(),
+                        DEFAULT_CONNECTION_TIMEOUT_SEC, DEFAULT_SOCKET_TIMEOUT_SEC, RETRY_DURATION_SEC );
+
+        versionTranslator.lookupVersions( aLotOfGavs.subList( 0, 400 ) );
+
+        List<List<Map<String, Object>>> requestData = handler.getRequestData();
+        assertEquals( AdaptiveChunkSizer.INITIAL_CHUNK_SIZE, requestData.get( 0 ).size() );
+        assertEquals( 400, requestData.stream().filter( r -> r.size() <= 50 ).mapToInt( List::size ).sum() );
+
+        // The learned size is used by the next lookup.
+        requestData.clear();
+        versionTranslator.lookupProjectVersions( aLotOfGavs.subList( 400, 800 ) );
+
+        assertTrue( requestData.get( 0 ).size() < AdaptiveChunkSizer.INITIAL_CHUNK_SIZE );
+        assertEquals( 400, requestData.stream().filter( r -> r.size() <= 50 ).mapToInt( List::size ).sum() );
+        assertTrue( requestData.stream().filter( r -> r.size() > 50 ).count() < 5 );
+    }
+
+    @Test
+    public void testSplitStopsAtMinimum()
+    {
+        handler.setStatusCode( HttpServletResponse.SC_GATEWAY_TIMEOUT );
+        handler.setFailAbove( 10 );
+
+        final DefaultTranslator versionTranslator = new DefaultTranslator(
+                        mockServer.getUrl(), ADAPTIVE_PARTITION, 32, false, "", Collections.emptyMap(),
+                        DEFAULT_CONNECTION_TIMEOUT_SEC, DEFAULT_SOCKET_TIMEOUT_SEC, RETRY_DURATION_SEC );
+
+        try
+        {
+            versionTranslator.lookupVersions( aLotOfGavs.subList( 0, AdaptiveChunkSizer.INITIAL_CHUNK_SIZE ) );
+            fail( "Failed to throw RestException" );
+        }
+        catch ( RestException e )
+        {
+            // Chunks of the minimum size can not be split further.
+        }
+
+        assertEquals( 32, handler.getRequestData().stream().mapToInt( List::size ).min().getAsInt() );
+    }
+
+    @Test
+    public void testChunkSizer()
+    {
+        final AdaptiveChunkSizer sizer = new AdaptiveChunkSizer( 100, 4, 200, 10 );
+        final long fast = TimeUnit.SECONDS.toNanos( 1 );
+
+        // Grows only for chunks of at least the current size.
+        sizer.success( 50, fast );
+        assertEquals( 100, sizer.getChunkSize() );
+        sizer.success( 100, fast );
+        assertEquals( 125, sizer.getChunkSize() );
+        for ( int i = 0; i < 10; i++ )
+        {
+            sizer.success( sizer.getChunkSize(), fast );
+        }
+        assertEquals( 200, sizer.getChunkSize() );
+
+        // Shrinks to what would have been processed within the target.
+        sizer.success( 200, TimeUnit.SECONDS.toNanos( 20 ) );
+        assertEquals( 100, sizer.getChunkSize() );
+
+        // Halves on failure, down to the minimum.
+        sizer.failure( 100 );
+        assertEquals( 50, sizer.getChunkSize() );
+        sizer.failure( 10 );
+        assertEquals( 5, sizer.getChunkSize() );
+        sizer.failure( 5 );
+        assertEquals( 4, sizer.getChunkSize() );
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+import org.commonjava.maven.ext.common.util.JSONUtils.InternalObjectMapper;
+import org.jboss.da.lookup.model.MavenLatestRequest;
+import org.jboss.da.lookup.model.MavenLookupRequest;
+import org.jboss.da.model.rest.GAV;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LookupCodecTest
+{
+    private static final List<ProjectVersionRef> GAVS = Arrays.asList(
+                    new SimpleProjectVersionRef( "org.foo", "bar", "1.0" ),
+                    new SimpleProjectVersionRef( "org.foo", "baz", "2.0.Final" ) );
+
+    private final InternalObjectMapper mapper = new InternalObjectMapper( new ObjectMapper() );
+
+    @Test
+    public void testWriteRequest() throws IOException
+    {
+        final MavenLookupRequest expected = MavenLookupRequest.builder()
+                                                              .mode( "PERSISTENT" )
+                                                              .brewPullActive( true )
+                                                              .artifacts( new HashSet<>( Arrays.asList(
+                                                                              new GAV( "org.foo", "bar", "1.0" ),
+                                                                              new GAV( "org.foo", "baz", "2.0.Final" ) ) ) )
+                                                              .build();
+
+        String request = new String( LookupCodec.writeRequest( GAVS, "PERSISTENT", true ), StandardCharsets.UTF_8 );
+        assertEquals( expected, mapper.readValue( request, MavenLookupRequest.class ) );
+
+        request = new String( LookupCodec.writeRequest( GAVS, "", null ), StandardCharsets.UTF_8 );
+        assertEquals( expected.getArtifacts(), mapper.readValue( request, MavenLatestRequest.class ).getArtifacts() );
+        assertTrue( !request.contains( "brewPullActive" ) );
+    }
+
+    @Test
+    public void testReadResponse() throws IOException
+    {
+        final String response = "[ {\"groupId\":\"org.foo\",\"artifactId\":\"bar\",\"version\":\"1.0\","
+                        + "\"bestMatchVersion\":\"1.0.redhat-00001\",\"latestVersion\":\"1.0.redhat-00002\","
+                        + "\"availableVersions\":[\"1.0.redhat-00001\"],\"extra\":{\"a\":[1,2]}},"
+                        + "{\"groupId\":\"org.foo\",\"artifactId\":\"baz\",\"version\":\"2.0.Final\","
+                        + "\"bestMatchVersion\":null,\"latestVersion\":\"\"},"
+                        + "{\"groupId\":\"org.foo\",\"artifactId\":\"bar\",\"version\":\"1.0\","
+                        + "\"bestMatchVersion\":\"1.0.redhat-00003\"} ]";
+
+        Map<ProjectVersionRef, String> result = read( response, true );
+        assertEquals( 1, result.size() );
+        assertEquals( "1.0.redhat-00001", result.get( GAVS.get( 0 ) ) );
+
+        result = read( response, false );
+        assertEquals( 1, result.size() );
+        assertEquals( "1.0.redhat-00002", result.get( GAVS.get( 0 ) ) );
+
+        assertTrue( read( "", true ).isEmpty() );
+        assertTrue( read( "[]", true ).isEmpty() );
+    }
+
+    @Test
+    public void testReadMalformedResponse()
+    {
+        for ( String response : Arrays.asList( "{\"errorType\":\"x\"}", "[ {\"groupId\":\"org.foo\"} ]",
+                                               "[ \"org.foo\" ]", "[ {\"groupId\":" ) )
+        {
+            try
+            {
+                read( response, true );
+                fail( "Parsed malformed response " + response );
+            }
+            catch ( IOException e )
+            {
+                // Pass
+            }
+        }
+    }
+
+    private static Map<ProjectVersionRef, String> read( String response, boolean lookup ) throws IOException
+    {
+        return LookupCodec.readResponse( new ByteArrayInputStream( response.getBytes( StandardCharsets.UTF_8 ) ),
+                                         lookup );
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.rest;
+
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PipelinedTranslatorTest
+{
+    private static final ProjectVersionRef A = new SimpleProjectVersionRef( "org.foo", "a", "1.0" );
+
+    private static final ProjectVersionRef B = new SimpleProjectVersionRef( "org.foo", "b", "1.0" );
+
+    private static final ProjectVersionRef C = new SimpleProjectVersionRef( "org.foo", "c", "1.0" );
+
+    @Test
+    public void testPrefetchedResultsAreUsed() throws Exception
+    {
+        final RecordingTranslator delegate = new RecordingTranslator();
+        final PipelinedTranslator translator = new PipelinedTranslator( delegate );
+
+        translator.prefetchVersions( Arrays.asList( A, B ) );
+        translator.prefetchProjectVersions( Collections.singletonList( A ) );
+        // Both prefetches are in flight at once.
+        assertTrue( delegate.started.await( 10, TimeUnit.SECONDS ) );
+        delegate.release.countDown();
+
+        // Only the GAV that was not prefetched is sent, and only the GAVs requested are returned.
+        Map<ProjectVersionRef, String> result = translator.lookupVersions( Arrays.asList( A, C ) );
+        assertEquals( 2, result.size() );
+        assertEquals( "1.0.redhat-00001", result.get( A ) );
+        assertEquals( "1.0.redhat-00001", result.get( C ) );
+
+        result = translator.lookupProjectVersions( Collections.singletonList( A ) );
+        assertEquals( "1.0.latest-00001", result.get( A ) );
+
+        assertEquals( Arrays.asList( new HashSet<>( Arrays.asList( A, B ) ), Collections.singleton( C ) ),
+                      delegate.versionRequests );
+        assertEquals( Collections.singletonList( Collections.singleton( A ) ), delegate.projectVersionRequests );
+    }
+
+    @Test
+    public void testFailedPrefetchIsRepeated() throws Exception
+    {
+        final RecordingTranslator delegate = new RecordingTranslator();
+        final PipelinedTranslator translator = new PipelinedTranslator( delegate );
+        delegate.release.countDown();
+        delegate.failures = 1;
+
+        translator.prefetchVersions( Arrays.asList( A, B ) );
+        assertEquals( "1.0.redhat-00001", translator.lookupVersions( Collections.singletonList( A ) ).get( A ) );
+        assertEquals( Arrays.asList( new HashSet<>( Arrays.asList( A, B ) ), Collections.singleton( A ) ),
+                      delegate.versionRequests );
+
+        delegate.failures = 1;
+        try
+        {
+            translator.lookupVersions( Collections.singletonList( C ) );
+            fail( "Failed to propagate RestException" );
+        }
+        catch ( RestException e )
+        {
+            assertEquals( "Failure", e.getMessage() );
+        }
+    }
+
+    @Test
+    public void testShutdownStopsPrefetches() throws Exception
+    {
+        final RecordingTranslator delegate = new RecordingTranslator();
+        final PipelinedTranslator translator = new PipelinedTranslator( delegate );
+
+        translator.prefetchVersions( Collections.singletonList( A ) );
+        translator.prefetchProjectVersions( Collections.singletonList( A ) );
+        assertTrue( delegate.started.await( 10, TimeUnit.SECONDS ) );
+        assertEquals( new HashSet<>( Arrays.asList( "pme-rest-prefetch-1", "pme-rest-prefetch-2" ) ),
+                      delegate.threads );
+
+        // The interrupted prefetch is repeated by the lookup that requires it.
+        translator.shutdown();
+        delegate.release.countDown();
+        assertEquals( "1.0.redhat-00001", translator.lookupVersions( Collections.singletonList( A ) ).get( A ) );
+        assertEquals( Arrays.asList( Collections.singleton( A ), Collections.singleton( A ) ),
+                      delegate.versionRequests );
+    }
+
+    private static class RecordingTranslator
+        implements Translator
+    {
+        private final CountDownLatch started = new CountDownLatch( 2 );
+
+        private final CountDownLatch release = new CountDownLatch( 1 );
+
+        private final List<Object> versionRequests = Collections.synchronizedList( new ArrayList<>() );
+
+        private final List<Object> projectVersionRequests = Collections.synchronizedList( new ArrayList<>() );
+
+        private final Set<String> threads = Collections.synchronizedSet( new HashSet<>() );
+
+        private volatile int failures;
+
+        @Override
+        public Map<ProjectVersionRef, String> lookupVersions( List<ProjectVersionRef> projects ) throws RestException
+        {
+            versionRequests.add( new HashSet<>( projects ) );
+            return lookup( projects, "redhat" );
+        }
+
+        @Override
+        public Map<ProjectVersionRef, String> lookupProjectVersions( List<ProjectVersionRef> projects )
+                        throws RestException
+        {
+            projectVersionRequests.add( new HashSet<>( projects ) );
+            return lookup( projects, "latest" );
+        }
+
+        private Map<ProjectVersionRef, String> lookup( List<ProjectVersionRef> projects, String suffix )
+                        throws RestException
+        {
+            threads.add( Thread.currentThread().getName() );
+            started.countDown();
+            try
+            {
+                release.await();
+            }
+            catch ( InterruptedException e )
+            {
+                throw new RestException( "Interrupted", e );
+            }
+            if ( failures > 0 )
+            {
+                failures--;
+                throw new RestException( "Failure" );
+            }
+            final Map<ProjectVersionRef, String> result = new HashMap<>();
+            projects.forEach( p -> result.put( p, p.getVersionString() + '.' + suffix + "-00001" ) );
+            return result;
+        }
+    }
+}
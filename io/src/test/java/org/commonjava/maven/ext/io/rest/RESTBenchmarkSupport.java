@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.rest;
+
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+import org.commonjava.maven.ext.io.rest.handler.DASimulatorJettyHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Shared support for the REST benchmarks. The benchmarks are not run by the normal build (their names do not match
+ * the surefire test patterns) and are run explicitly, e.g.
+ * <pre>
+ *     mvn test -Dtest=TranslatorBenchmark -DbenchmarkSizes=1000,10000
+ * </pre>
+ * Each result is logged and appended to <code>target/benchmarks/rest-benchmark.csv</code> so that runs may be
+ * compared over time.
+ */
+public final class RESTBenchmarkSupport
+{
+    public static final String BENCHMARK_SIZES = "benchmarkSizes";
+
+    private static final String DEFAULT_SIZES = "1000,10000,50000";
+
+    private static final File RESULTS = new File( "target" + File.separator + "benchmarks", "rest-benchmark.csv" );
+
+    private static final Logger logger = LoggerFactory.getLogger( RESTBenchmarkSupport.class );
+
+    private RESTBenchmarkSupport()
+    {
+    }
+
+    /**
+     * @return the number of GAVs to benchmark with, from the {@link #BENCHMARK_SIZES} property.
+     */
+    public static List<Integer> sizes()
+    {
+        return Arrays.stream( System.getProperty( BENCHMARK_SIZES, DEFAULT_SIZES ).split( "," ) )
+                     .map( String::trim )
+                     .map( Integer::valueOf )
+                     .collect( Collectors.toList() );
+    }
+
+    /**
+     * Generates a repeatable set of distinct GAVs, spread over groups as a large build would be.
+     *
+     * @param count the number of GAVs
+     * @return the GAVs
+     */
+    public static List<ProjectVersionRef> generateGAVs( int count )
+    {
+        final List<ProjectVersionRef> result = new ArrayList<>( count );
+        for ( int i = 0; i < count; i++ )
+        {
+            result.add( new SimpleProjectVersionRef( "org.benchmark.group" + ( i % 97 ), "artifact-" + i,
+                                                     ( i % 5 + 1 ) + "." + ( i % 13 ) + ".0" ) );
+        }
+        return result;
+    }
+
+    /**
+     * Logs the result of a benchmark run and appends it to the results file.
+     *
+     * @param benchmark the benchmark name
+     * @param scenario the scenario within the benchmark
+     * @param gavs the number of GAVs looked up
+     * @param nanos the elapsed time
+     * @param simulator the simulator, for its statistics
+     * @throws IOException if the results cannot be written
+     */
+    public static void record( String benchmark, String scenario, int gavs, long nanos,
+                               DASimulatorJettyHandler simulator ) throws IOException
+    {
+        final long millis = TimeUnit.NANOSECONDS.toMillis( nanos );
+        final long rate = millis == 0 ? gavs : gavs * 1000L / millis;
+
+        logger.info( "{} {} : {} GAVs in {} ms ({} GAVs/s) ; {} requests, {} failures, peak concurrency {}",
+                     benchmark, scenario, gavs, millis, rate, simulator.getRequests(), simulator.getFailures(),
+                     simulator.getPeakConcurrency() );
+
+        Files.createDirectories( RESULTS.getParentFile().toPath() );
+        final boolean header = !RESULTS.exists();
+        final StringBuilder line = new StringBuilder();
+        if ( header )
+        {
+            line.append( "timestamp,benchmark,scenario,gavs,millis,gavsPerSecond,requests,failures,peakConcurrency" )
+                .append( System.lineSeparator() );
+        }
+        line.append( String.join( ",", Instant.now().toString(), benchmark, scenario, String.valueOf( gavs ),
+                                  String.valueOf( millis ), String.valueOf( rate ),
+                                  simulator.getRequests().toString(), simulator.getFailures().toString(),
+                                  simulator.getPeakConcurrency().toString() ) )
+            .append( System.lineSeparator() );
+        Files.write( RESULTS.toPath(), line.toString().getBytes( StandardCharsets.UTF_8 ), StandardOpenOption.CREATE,
+                     StandardOpenOption.APPEND );
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.rest;
+
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.atlas.ident.ref.SimpleProjectVersionRef;
+import org.commonjava.maven.ext.io.rest.handler.SpyFailJettyHandler;
+import org.commonjava.maven.ext.io.rest.rule.MockServer;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.commonjava.maven.ext.io.rest.Translator.DEFAULT_CONCURRENCY;
+import static org.commonjava.maven.ext.io.rest.Translator.DEFAULT_CONNECTION_TIMEOUT_SEC;
+import static org.commonjava.maven.ext.io.rest.Translator.DEFAULT_SOCKET_TIMEOUT_SEC;
+import static org.commonjava.maven.ext.io.rest.Translator.RETRY_DURATION_SEC;
+import static org.commonjava.maven.ext.io.rest.VersionTranslatorTest.loadALotOfGAVs;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RestCacheTest
+{
+    private static List<ProjectVersionRef> aLotOfGavs;
+
+    private final SpyFailJettyHandler handler = new SpyFailJettyHandler();
+
+    @Rule
+    public MockServer mockServer = new MockServer( handler );
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File cacheFile;
+
+    @BeforeClass
+    public static void startUp() throws IOException
+    {
+        aLotOfGavs = loadALotOfGAVs();
+        assertTrue( aLotOfGavs.size() >= 30 );
+    }
+
+    @Before
+    public void before() throws IOException
+    {
+        handler.setStatusCode( HttpServletResponse.SC_OK );
+        cacheFile = new File( temp.newFolder(), "rest-cache.json" );
+    }
+
+    private DefaultTranslator translator( RestCache cache )
+    {
+        return new DefaultTranslator( mockServer.getUrl(), 0, Translator.CHUNK_SPLIT_COUNT, false, "",
+                                      Collections.emptyMap(), DEFAULT_CONNECTION_TIMEOUT_SEC,
+                                      DEFAULT_SOCKET_TIMEOUT_SEC, RETRY_DURATION_SEC, DEFAULT_CONCURRENCY, cache,
+                                      Translator.DEFAULT_ADAPTIVE_TARGET_SEC );
+    }
+
+    @Test
+    public void testOnlyMissesAreSent() throws RestException
+    {
+        translator( new RestCache( cacheFile, 3600, 1000 ) ).lookupVersions( aLotOfGavs.subList( 0, 20 ) );
+
+        assertEquals( 1, handler.getRequestData().size() );
+        assertEquals( 20, handler.getRequestData().get( 0 ).size() );
+        assertTrue( cacheFile.exists() );
+
+        // A new cache instance reads the persisted entries.
+        translator( new RestCache( cacheFile, 3600, 1000 ) ).lookupVersions( aLotOfGavs.subList( 10, 30 ) );
+
+        assertEquals( 2, handler.getRequestData().size() );
+        assertEquals( 10, handler.getRequestData().get( 1 ).size() );
+
+        translator( new RestCache( cacheFile, 3600, 1000 ) ).lookupVersions( aLotOfGavs.subList( 0, 30 ) );
+
+        assertEquals( 2, handler.getRequestData().size() );
+    }
+
+    @Test
+    public void testCachedVersionsReturned() throws RestException
+    {
+        final ProjectVersionRef gav = SimpleProjectVersionRef.parse( "org.foo:bar:1.0" );
+        final RestCache cache = new RestCache( cacheFile, 3600, 1000 );
+        final DefaultTranslator translator = translator( cache );
+
+        cache.update( mockServer.getUrl() + '/' + DefaultTranslator.Endpoint.LOOKUP_GAVS + "||false",
+                      Collections.singletonList( gav ), Collections.singletonMap( gav, "1.0.redhat-1" ) );
+
+        final Map<ProjectVersionRef, String> result = translator.lookupVersions( Collections.singletonList( gav ) );
+
+        assertEquals( Collections.singletonMap( gav, "1.0.redhat-1" ), result );
+        assertTrue( handler.getRequestData().isEmpty() );
+
+        // The cache is scoped by endpoint.
+        translator.lookupProjectVersions( Collections.singletonList( gav ) );
+        assertEquals( 1, handler.getRequestData().size() );
+    }
+
+    @Test
+    public void testExpiryAndEviction() throws RestException
+    {
+        translator( new RestCache( cacheFile, 3600, 1000 ) ).lookupVersions( aLotOfGavs.subList( 0, 10 ) );
+        // Everything has expired.
+        translator( new RestCache( cacheFile, -1, 1000 ) ).lookupVersions( aLotOfGavs.subList( 0, 10 ) );
+
+        assertEquals( 2, handler.getRequestData().size() );
+
+        // Only five of the ten entries are retained.
+        translator( new RestCache( cacheFile, 3600, 5 ) ).lookupVersions( aLotOfGavs.subList( 0, 10 ) );
+        translator( new RestCache( cacheFile, 3600, 5 ) ).lookupVersions( aLotOfGavs.subList( 0, 10 ) );
+
+        assertEquals( 4, handler.getRequestData().size() );
+        assertEquals( 5, handler.getRequestData().get( 3 ).size() );
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.rest;
+
+import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
+import org.commonjava.maven.ext.io.rest.handler.DASimulatorJettyHandler;
+import org.commonjava.maven.ext.io.rest.rule.MockServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.commonjava.maven.ext.io.rest.RESTBenchmarkSupport.generateGAVs;
+import static org.commonjava.maven.ext.io.rest.RESTBenchmarkSupport.record;
+import static org.commonjava.maven.ext.io.rest.RESTBenchmarkSupport.sizes;
+import static org.commonjava.maven.ext.io.rest.Translator.ADAPTIVE_PARTITION;
+import static org.commonjava.maven.ext.io.rest.Translator.AUTO_PARTITION;
+import static org.commonjava.maven.ext.io.rest.Translator.DEFAULT_CONNECTION_TIMEOUT_SEC;
+import static org.commonjava.maven.ext.io.rest.Translator.DEFAULT_SOCKET_TIMEOUT_SEC;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Throughput of {@link DefaultTranslator} against the DA simulator for each partitioning strategy, with and without
+ * injected faults. See {@link RESTBenchmarkSupport} for how to run it.
+ */
+public class TranslatorBenchmark
+{
+    private final DASimulatorJettyHandler simulator = new DASimulatorJettyHandler();
+
+    @Rule
+    public MockServer mockServer = new MockServer( simulator );
+
+    @Before
+    public void setUp() throws RestException
+    {
+        // Roughly a lightly loaded server: a fixed cost per request and a smaller cost per GAV.
+        simulator.setRequestLatencyMillis( 20 );
+        simulator.setGavLatencyMicros( 50 );
+        simulator.setAvailableVersions( 5 );
+
+        new DefaultTranslator( mockServer.getUrl(), 100, 1, false, "", Collections.emptyMap(),
+                               DEFAULT_CONNECTION_TIMEOUT_SEC, DEFAULT_SOCKET_TIMEOUT_SEC, 0 ).lookupVersions(
+                        generateGAVs( 1000 ) );
+    }
+
+    @Test
+    public void benchmarkPartitioning() throws RestException, IOException
+    {
+        for ( int size : sizes() )
+        {
+            run( "fixed", size, 500, 1 );
+            run( "fixed-concurrent", size, 500, 4 );
+            run( "auto", size, AUTO_PARTITION, 1 );
+            run( "adaptive", size, ADAPTIVE_PARTITION, 1 );
+            run( "adaptive-concurrent", size, ADAPTIVE_PARTITION, 4 );
+        }
+    }
+
+    @Test
+    public void benchmarkFaults() throws RestException, IOException
+    {
+        for ( int size : sizes() )
+        {
+            // Large requests time out at the gateway.
+            simulator.setFailAbove( 200 );
+            simulator.setFailureStatus( HttpServletResponse.SC_GATEWAY_TIMEOUT );
+            run( "gateway-timeout-fixed", size, 500, 4 );
+            run( "gateway-timeout-adaptive", size, ADAPTIVE_PARTITION, 4 );
+            simulator.setFailAbove( -1 );
+
+            // Large requests stall until the client times out.
+            simulator.setStallAbove( 200 );
+            simulator.setStallMillis( 2000 );
+            run( "stalled-adaptive", size, ADAPTIVE_PARTITION, 4, 1 );
+            simulator.setStallAbove( -1 );
+        }
+    }
+
+    private void run( String scenario, int size, int restMaxSize, int concurrency )
+                    throws RestException, IOException
+    {
+        run( scenario, size, restMaxSize, concurrency, DEFAULT_SOCKET_TIMEOUT_SEC );
+    }
+
+    private void run( String scenario, int size, int restMaxSize, int concurrency, int socketTimeout )
+                    throws RestException, IOException
+    {
+        final List<ProjectVersionRef> gavs = generateGAVs( size );
+        final DefaultTranslator translator = new DefaultTranslator( mockServer.getUrl(), restMaxSize, 1, false, "",
+                                                                    Collections.emptyMap(),
+                                                                    DEFAULT_CONNECTION_TIMEOUT_SEC,
+                                                                    socketTimeout, 0, concurrency, null,
+                                                                    Translator.DEFAULT_ADAPTIVE_TARGET_SEC );
+        simulator.reset();
+
+        final long start = System.nanoTime();
+        final Map<ProjectVersionRef, String> result = translator.lookupVersions( gavs );
+        final long elapsed = System.nanoTime() - start;
+
+        assertEquals( size, result.size() );
+        record( "DefaultTranslator", scenario, size, elapsed, simulator );
+    }
+}
@@ -193,6 +193,21 @@ public class VersionTranslatorTest
         }
     }
 
+    @Test
+    public void testTranslateVersionsConcurrently() throws RestException
+    {
+        Translator translator = new DefaultTranslator( mockServer.getUrl(), 32, Translator.CHUNK_SPLIT_COUNT, false,
+                                                       "", Collections.emptyMap(), DEFAULT_CONNECTION_TIMEOUT_SEC,
+                                                       DEFAULT_SOCKET_TIMEOUT_SEC, RETRY_DURATION_SEC, 4, null,
+                                                       Translator.DEFAULT_ADAPTIVE_TARGET_SEC );
+
+        Map<ProjectVersionRef, String> expectedResult = versionTranslator.lookupVersions( aLotOfGavs );
+        Map<ProjectVersionRef, String> actualResult = translator.lookupVersions( aLotOfGavs );
+
+        assertEquals( expectedResult.size(), aLotOfGavs.stream().distinct().count() );
+        assertEquals( expectedResult, actualResult );
+    }
+
     static List<ProjectVersionRef> loadALotOfGAVs() throws IOException {
         List<ProjectVersionRef> result = new ArrayList<>();
         String result1;
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2012 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.maven.ext.io.rest.handler;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.Getter;
+import lombok.Setter;
+import org.commonjava.maven.ext.io.rest.DefaultTranslator.Endpoint;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process simulator of the Dependency Analyser lookup endpoints for load and fault testing of the REST client.
+ * Every GAV is aligned to <code>version.redhat-00001</code>.
+ * <p>
+ * The simulator can be configured with:
+ * <ul>
+ *   <li>a latency per request and per GAV</li>
+ *   <li>the payload size, as a number of additional available versions returned for each GAV</li>
+ *   <li>error injection: requests larger than a size, or a random proportion of requests, fail with a status such
+ *   as 503 or 504 ; requests larger than a size may also stall so that the client times out</li>
+ *   <li>a limit on the concurrent requests, above which requests are rejected with 503</li>
+ * </ul>
+ * It records the number of requests, GAVs, failures and the peak number of concurrent requests. Random failures are
+ * seeded so that runs are repeatable.
+ */
+public class DASimulatorJettyHandler extends AbstractHandler implements Handler
+{
+    public static final String SUFFIX = "redhat-00001";
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final Logger logger = LoggerFactory.getLogger( DASimulatorJettyHandler.class );
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    @Getter
+    private final AtomicInteger peakConcurrency = new AtomicInteger();
+
+    @Getter
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Getter
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Getter
+    private final AtomicLong gavs = new AtomicLong();
+
+    private Random random = new Random( 0 );
+
+    /**
+     * Fixed latency of each request.
+     */
+    @Setter
+    private long requestLatencyMillis;
+
+    /**
+     * Additional latency for each GAV in a request.
+     */
+    @Setter
+    private long gavLatencyMicros;
+
+    /**
+     * Number of additional available versions returned for each GAV, to increase the payload.
+     */
+    @Setter
+    private int availableVersions;
+
+    /**
+     * If positive, the number of concurrent requests above which requests are rejected with 503.
+     */
+    @Setter
+    private int maxConcurrency;
+
+    /**
+     * If non-negative, requests with more GAVs than this fail with {@link #failureStatus}.
+     */
+    @Setter
+    private int failAbove = -1;
+
+    /**
+     * The proportion (between 0 and 1) of requests that fail with {@link #failureStatus}.
+     */
+    @Setter
+    private double failureRate;
+
+    @Setter
+    private int failureStatus = HttpServletResponse.SC_GATEWAY_TIMEOUT;
+
+    /**
+     * If non-negative, requests with more GAVs than this stall for {@link #stallMillis} before responding.
+     */
+    @Setter
+    private int stallAbove = -1;
+
+    @Setter
+    private long stallMillis;
+
+    /**
+     * Clears the recorded statistics and reseeds the random failures.
+     */
+    public void reset()
+    {
+        peakConcurrency.set( 0 );
+        requests.set( 0 );
+        failures.set( 0 );
+        gavs.set( 0 );
+        synchronized ( this )
+        {
+            random = new Random( 0 );
+        }
+    }
+
+    @Override
+    public void handle( String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response )
+                    throws IOException
+    {
+        if ( !"POST".equals( request.getMethod() ) || !target.contains( Endpoint.LOOKUP_GAVS.getEndpoint() ) )
+        {
+            logger.info( "Unable to handle {} {}", request.getMethod(), target );
+            return;
+        }
+        baseRequest.setHandled( true );
+        requests.incrementAndGet();
+
+        final int current = active.incrementAndGet();
+        peakConcurrency.accumulateAndGet( current, Math::max );
+        try
+        {
+            if ( maxConcurrency > 0 && current > maxConcurrency )
+            {
+                failures.incrementAndGet();
+                response.setStatus( HttpServletResponse.SC_SERVICE_UNAVAILABLE );
+                return;
+            }
+
+            final List<String[]> artifacts = readArtifacts( request );
+            gavs.addAndGet( artifacts.size() );
+
+            sleep( TimeUnit.MILLISECONDS.toMicros( requestLatencyMillis ) + gavLatencyMicros * artifacts.size() );
+
+            if ( stallAbove >= 0 && artifacts.size() > stallAbove )
+            {
+                sleep( TimeUnit.MILLISECONDS.toMicros( stallMillis ) );
+            }
+            if ( ( failAbove >= 0 && artifacts.size() > failAbove ) || randomFailure() )
+            {
+                failures.incrementAndGet();
+                response.setStatus( failureStatus );
+                return;
+            }
+
+            response.setStatus( HttpServletResponse.SC_OK );
+            response.setContentType( "application/json" );
+            writeResults( response, artifacts, target.contains( Endpoint.LOOKUP_LATEST.getEndpoint() ) );
+        }
+        finally
+        {
+            active.decrementAndGet();
+        }
+    }
+
+    private synchronized boolean randomFailure()
+    {
+        return failureRate > 0 && random.nextDouble() < failureRate;
+    }
+
+    private static List<String[]> readArtifacts( HttpServletRequest request ) throws IOException
+    {
+        final List<String[]> result = new ArrayList<>();
+
+        try ( JsonParser parser = FACTORY.createParser( request.getInputStream() ) )
+        {
+            JsonToken token;
+            while ( ( token = parser.nextToken() ) != null )
+            {
+                if ( token == JsonToken.FIELD_NAME && "artifacts".equals( parser.getCurrentName() ) )
+                {
+                    parser.nextToken();
+                    while ( parser.nextToken() == JsonToken.START_OBJECT )
+                    {
+                        final String[] gav = new String[3];
+                        while ( parser.nextToken() == JsonToken.FIELD_NAME )
+                        {
+                            final String field = parser.getCurrentName();
+                            parser.nextToken();
+                            switch ( field )
+                            {
+                                case "groupId":
+                                    gav[0] = parser.getText();
+                                    break;
+                                case "artifactId":
+                                    gav[1] = parser.getText();
+                                    break;
+                                case "version":
+                                    gav[2] = parser.getText();
+                                    break;
+                                default:
+                                    parser.skipChildren();
+                            }
+                        }
+                        result.add( gav );
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void writeResults( HttpServletResponse response, List<String[]> artifacts, boolean latest )
+                    throws IOException
+    {
+        try ( JsonGenerator generator = FACTORY.createGenerator( response.getOutputStream() ) )
+        {
+            generator.writeStartArray();
+            for ( String[] gav : artifacts )
+            {
+                final String version = gav[2] + '.' + SUFFIX;
+
+                generator.writeStartObject();
+                generator.writeStringField( "groupId", gav[0] );
+                generator.writeStringField( "artifactId", gav[1] );
+                generator.writeStringField( "version", gav[2] );
+                generator.writeStringField( latest ? "latestVersion" : "bestMatchVersion", version );
+                generator.writeArrayFieldStart( "availableVersions" );
+                generator.writeString( version );
+                for ( int i = 0; i < availableVersions; i++ )
+                {
+                    generator.writeString( gav[2] + ".redhat-" + String.format( "%05d", i + 2 ) );
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static void sleep( long micros )
+    {
+        if ( micros > 0 )
+        {
+            try
+            {
+                TimeUnit.MICROSECONDS.sleep( micros );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
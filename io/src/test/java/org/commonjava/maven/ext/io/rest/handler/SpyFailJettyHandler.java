@@ -31,7 +31,7 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Jetty handler that records requests and always fails with HTTP error 504.
+ * Jetty handler that records requests and fails with HTTP error 504 (optionally only for large requests).
  *
  * @author Jakub Senko <jsenko@redhat.com>
  */
@@ -49,6 +49,8 @@ public class SpyFailJettyHandler extends AbstractHandler implements Handler
 
     private int responseCode = HttpServletResponse.SC_GATEWAY_TIMEOUT;
 
+    private int failAbove = -1;
+
     @Override public void handle( String target, Request baseRequest, HttpServletRequest request,
                                   HttpServletResponse response )
                     throws IOException
@@ -88,7 +90,8 @@ public class SpyFailJettyHandler extends AbstractHandler implements Handler
 
             requestData.add(requestBody);
 
-            response.setStatus( responseCode );
+            response.setStatus( failAbove >= 0 && requestBody.size() <= failAbove ?
+                                                HttpServletResponse.SC_OK : responseCode );
             baseRequest.setHandled( true );
 
         }
@@ -106,4 +109,12 @@ public class SpyFailJettyHandler extends AbstractHandler implements Handler
     {
         this.responseCode = responseCode;
     }
+
+    /**
+     * @param failAbove if non-negative, requests of up to this many GAVs succeed and only larger ones fail.
+     */
+    public void setFailAbove( int failAbove )
+    {
+        this.failAbove = failAbove;
+    }
 }